@@ -3,9 +3,11 @@
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 /**
  * A non-blocking counterpart to the Hibernate {@link org.hibernate.Session}
@@ -99,6 +101,22 @@ public interface RxSession {
 	 */
 	CompletionStage<RxSession> persist(Object entity);
 
+	/**
+	 * Asynchronously persist the given transient instances, as if by
+	 * calling {@link #persist(Object)} for each of them, but obtaining
+	 * all the generated identifiers for a given entity from the
+	 * database in as few round trips as possible.
+	 *
+	 * <pre>
+	 * {@code session.persistAll(newBooks).thenAccept(v -> session.flush());}
+	 * </pre>
+	 *
+	 * @param entities transient instances of persistent classes
+	 *
+	 * @see #persist(Object)
+	 */
+	CompletionStage<RxSession> persistAll(Collection<?> entities);
+
 	/**
 	 * Asynchronously remove a persistent instance from the datastore. The
 	 * argument may be an instance associated with the receiving session or
@@ -211,6 +229,31 @@ public interface RxSession {
 	 * @return the flush mode
 	 */
 	FlushMode getFlushMode();
+
+	/**
+	 * Change the default for entities and proxies loaded into this
+	 * session from modifiable to read-only mode, or from read-only
+	 * to modifiable mode.
+	 *
+	 * Queries executed by a read-only session may be served by a
+	 * read replica of the database, when one is configured.
+	 *
+	 * @param readOnly {@code true}, the default for loaded entities
+	 *                 is read-only; {@code false}, the default for
+	 *                 loaded entities is modifiable
+	 *
+	 * @see org.hibernate.Session#setDefaultReadOnly(boolean)
+	 */
+	RxSession setDefaultReadOnly(boolean readOnly);
+
+	/**
+	 * @return {@code true}, the default for loaded entities is
+	 *         read-only; {@code false}, the default for loaded
+	 *         entities is modifiable
+	 *
+	 * @see org.hibernate.Session#isDefaultReadOnly()
+	 */
+	boolean isDefaultReadOnly();
 	/**
 	 * Remove this instance from the session cache. Changes to the instance
 	 * will not be synchronized with the database. This operation cascades
@@ -314,7 +357,27 @@ public interface RxSession {
 //	Filter getEnabledFilter(String filterName);
 
 	/**
-	 * Close the reactive session.
+	 * Perform the given work within the scope of a database transaction.
+	 * The transaction is executed on the single connection held by this
+	 * session. If the {@code CompletionStage} returned by the work completes
+	 * normally, the session is flushed (unless the flush mode is
+	 * {@link FlushMode#MANUAL}) and the transaction is committed. Otherwise,
+	 * the transaction is rolled back. If a transaction is already in
+	 * progress, the work simply joins it.
+	 *
+	 * <pre>
+	 * {@code session.withTransaction( s -> s.persist(newBook) );}
+	 * </pre>
+	 *
+	 * @param work a function which accepts this session and returns the
+	 *             result of the work via a {@code CompletionStage}
+	 *
+	 * @return the result of the work via a {@code CompletionStage}
+	 */
+	<T> CompletionStage<T> withTransaction(Function<RxSession, CompletionStage<T>> work);
+
+	/**
+	 * Close the reactive session, releasing its connection.
 	 */
 	void close();
 
@@ -3,12 +3,14 @@
 import org.hibernate.CacheMode;
 import org.hibernate.FlushMode;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -26,6 +28,7 @@ public class MockRxSession implements RxSession {
 
 	private Consumer persistFunction = obj -> {};
 		private Consumer removeFunction = obj -> {};
+		private boolean defaultReadOnly;
 
 		/**
 		 * Assign the functions that simulate the access to a source for CRUD.
@@ -84,6 +87,11 @@ public CompletionStage<RxSession> persist(Object entity) {
 		return CompletableFuture.runAsync( () -> persistFunction.accept( entity ) ).thenApply( v-> this );
 	}
 
+	@Override
+	public CompletionStage<RxSession> persistAll(Collection<?> entities) {
+		return CompletableFuture.runAsync( () -> entities.forEach( persistFunction ) ).thenApply( v-> this );
+	}
+
 	@Override
 	public CompletionStage<RxSession> remove(Object entity) {
 		return CompletableFuture.runAsync( () -> removeFunction.accept( entity ) ).thenApply( v-> this );
@@ -114,6 +122,17 @@ public FlushMode getFlushMode() {
 		return FlushMode.AUTO;
 	}
 
+	@Override
+	public RxSession setDefaultReadOnly(boolean readOnly) {
+		this.defaultReadOnly = readOnly;
+		return this;
+	}
+
+	@Override
+	public boolean isDefaultReadOnly() {
+		return defaultReadOnly;
+	}
+
 	@Override
 	public CompletionStage<RxSession> flush() {
 		return CompletableFuture.completedFuture( this );
@@ -159,6 +178,11 @@ public CacheMode getCacheMode() {
 		return null;
 	}
 
+	@Override
+	public <T> CompletionStage<T> withTransaction(Function<RxSession, CompletionStage<T>> work) {
+		return work.apply( this );
+	}
+
 	@Override
 	public void close() {}
 
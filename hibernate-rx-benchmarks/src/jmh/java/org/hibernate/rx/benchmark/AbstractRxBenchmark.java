@@ -0,0 +1,111 @@
+package org.hibernate.rx.benchmark;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQL9Dialect;
+import org.hibernate.rx.RxSession;
+import org.hibernate.rx.RxSessionFactory;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.service.InMemoryConnectionPoolProvider;
+import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+
+/**
+ * Support for benchmarks of reactive sessions. Each benchmark runs
+ * either against the {@link InMemoryConnectionPoolProvider in-memory
+ * database}, which measures the cost of Hibernate Rx itself, or
+ * against a local PostgreSQL database, the same one used by the
+ * tests, unless {@code hibernate.connection.url} is given as a
+ * system property.
+ * <p>
+ * Each operation runs in a new session, and waits for the result,
+ * so that the allocation reported by {@code gc.alloc.rate.norm} is
+ * the allocation of a whole unit of work.
+ */
+public abstract class AbstractRxBenchmark {
+
+	public static final String IN_MEMORY = "in-memory";
+	public static final String POSTGRESQL = "postgresql";
+
+	private static final String DEFAULT_URL =
+			"jdbc:postgresql://localhost:5432/hibernate-rx?user=hibernate-rx&password=hibernate-rx";
+
+	private SessionFactory sessionFactory;
+	private RxConnectionPoolProvider poolProvider;
+	private boolean inMemory;
+
+	/**
+	 * Build a session factory for the given entities, with a new
+	 * schema, for the database given by the benchmark parameter.
+	 */
+	protected void createSessionFactory(String database, Class<?>... entityClasses) {
+		Configuration configuration = new Configuration();
+		for ( Class<?> entityClass : entityClasses ) {
+			configuration.addAnnotatedClass( entityClass );
+		}
+		switch ( database ) {
+			case IN_MEMORY:
+				inMemory = true;
+				configuration.setProperty( AvailableSettings.HBM2DDL_AUTO, "none" );
+				configuration.setProperty( AvailableSettings.DIALECT, PostgreSQL9Dialect.class.getName() );
+				configuration.setProperty( RxSettings.CONNECTION_POOL_PROVIDER, InMemoryConnectionPoolProvider.class.getName() );
+				break;
+			case POSTGRESQL:
+				configuration.setProperty( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+				if ( configuration.getProperty( AvailableSettings.URL ) == null ) {
+					configuration.setProperty( AvailableSettings.URL, DEFAULT_URL );
+				}
+				break;
+			default:
+				throw new IllegalArgumentException( "Unknown database: " + database );
+		}
+
+		StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+				.applySettings( configuration.getProperties() )
+				.build();
+		sessionFactory = configuration.buildSessionFactory( registry );
+		poolProvider = registry.getService( RxConnectionPoolProvider.class );
+	}
+
+	@TearDown
+	public void closeSessionFactory() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+
+	/**
+	 * Delete every row of the given tables, which must be listed
+	 * children first.
+	 */
+	protected void deleteAll(String... tables) {
+		if ( inMemory ) {
+			( (InMemoryConnectionPoolProvider) poolProvider ).getDatabase().clear();
+		}
+		else {
+			for ( String table : tables ) {
+				poolProvider.getConnection().update( "delete from " + table )
+						.toCompletableFuture().join();
+			}
+		}
+	}
+
+	/**
+	 * Do some work in a new session, and wait for the result.
+	 */
+	protected <T> T inSession(Function<RxSession, CompletionStage<T>> work) {
+		RxSession session = sessionFactory.unwrap( RxSessionFactory.class ).openRxSession();
+		try {
+			return work.apply( session ).toCompletableFuture().join();
+		}
+		finally {
+			session.close();
+		}
+	}
+}
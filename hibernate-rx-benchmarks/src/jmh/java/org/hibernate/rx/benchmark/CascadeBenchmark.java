@@ -0,0 +1,121 @@
+package org.hibernate.rx.benchmark;
+
+import org.hibernate.rx.RxSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Benchmarks of operations which cascade across a graph of entities,
+ * like the graph in {@code CascadeTest}: a node, with its parent, and
+ * its elements. Loading the graph requires a join, so these run only
+ * against a real database.
+ */
+@State(Scope.Benchmark)
+public class CascadeBenchmark extends AbstractRxBenchmark {
+
+	private static final int ELEMENTS = 3;
+
+	@Param({ POSTGRESQL })
+	public String database;
+
+	private Node detached;
+	private int merges;
+
+	@Setup
+	public void setUp() {
+		createSessionFactory( database, Node.class, Element.class );
+	}
+
+	@Setup(Level.Iteration)
+	public void insertGraph() {
+		deleteAll( "BenchmarkElement", "BenchmarkNode" );
+		detached = graph();
+		inSession( session -> session.persist( detached ).thenCompose( RxSession::flush ) );
+	}
+
+	private static Node graph() {
+		Node node = new Node( "Child" );
+		node.parent = new Node( "Parent" );
+		for ( int i = 0; i < ELEMENTS; i++ ) {
+			node.elements.add( new Element( node ) );
+		}
+		return node;
+	}
+
+	@Benchmark
+	public RxSession persistGraph() {
+		final Node node = graph();
+		return inSession( session -> session.persist( node ).thenCompose( RxSession::flush ) );
+	}
+
+	@Benchmark
+	public Optional<Node> findGraph() {
+		return inSession( session -> session.find( Node.class, detached.id ) );
+	}
+
+	@Benchmark
+	public Node mergeDetachedGraph() {
+		// make both nodes dirty, so that each merge cascades an update
+		detached.string = "Child " + merges;
+		detached.parent.string = "Parent " + merges++;
+		return inSession( session -> session.merge( detached )
+				.thenCompose( node -> session.flush().thenApply( s -> node ) ) );
+	}
+
+	@Entity
+	@Table(name = "BenchmarkElement")
+	public static class Element {
+		@Id @GeneratedValue Integer id;
+
+		@ManyToOne
+		Node node;
+
+		public Element(Node node) {
+			this.node = node;
+		}
+
+		Element() {}
+	}
+
+	@Entity
+	@Table(name = "BenchmarkNode")
+	public static class Node {
+		@Id @GeneratedValue Integer id;
+
+		String string;
+
+		@ManyToOne(fetch = FetchType.LAZY,
+				cascade = {CascadeType.PERSIST,
+						CascadeType.MERGE,
+						CascadeType.REMOVE})
+		Node parent;
+
+		@OneToMany(fetch = FetchType.EAGER,
+				cascade = {CascadeType.PERSIST,
+						CascadeType.REMOVE},
+				mappedBy = "node")
+		List<Element> elements = new ArrayList<>();
+
+		public Node(String string) {
+			this.string = string;
+		}
+
+		Node() {}
+	}
+}
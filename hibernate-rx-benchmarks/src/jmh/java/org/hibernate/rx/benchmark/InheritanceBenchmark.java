@@ -0,0 +1,109 @@
+package org.hibernate.rx.benchmark;
+
+import org.hibernate.rx.RxSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.Table;
+import java.util.Optional;
+
+/**
+ * Benchmarks of polymorphic loads of an instance of a subclass, for
+ * the joined and union subclass inheritance mapping strategies. These
+ * require joins and unions, so they run only against a real database.
+ *
+ * @see SingleTableInheritanceBenchmark
+ */
+@State(Scope.Benchmark)
+public class InheritanceBenchmark extends AbstractRxBenchmark {
+
+	private static final int ID = 1;
+
+	@Param({ POSTGRESQL })
+	public String database;
+
+	@Setup
+	public void setUp() {
+		createSessionFactory(
+				database,
+				JoinedBook.class, JoinedSpellBook.class,
+				UnionBook.class, UnionSpellBook.class
+		);
+		inSession( session -> session.persist( new JoinedSpellBook( ID, "Necronomicon", true ) )
+				.thenCompose( s -> s.persist( new UnionSpellBook( ID, "Necronomicon", true ) ) )
+				.thenCompose( RxSession::flush ) );
+	}
+
+	@Benchmark
+	public Optional<JoinedBook> loadJoined() {
+		return inSession( session -> session.find( JoinedBook.class, ID ) );
+	}
+
+	@Benchmark
+	public Optional<UnionBook> loadUnion() {
+		return inSession( session -> session.find( UnionBook.class, ID ) );
+	}
+
+	@Entity
+	@Table(name = "BenchmarkJoinedBook")
+	@Inheritance(strategy = InheritanceType.JOINED)
+	public static class JoinedBook {
+		@Id Integer id;
+		String title;
+
+		public JoinedBook(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+
+		JoinedBook() {}
+	}
+
+	@Entity
+	@Table(name = "BenchmarkJoinedSpellBook")
+	public static class JoinedSpellBook extends JoinedBook {
+		boolean forbidden;
+
+		public JoinedSpellBook(Integer id, String title, boolean forbidden) {
+			super( id, title );
+			this.forbidden = forbidden;
+		}
+
+		JoinedSpellBook() {}
+	}
+
+	@Entity
+	@Table(name = "BenchmarkUnionBook")
+	@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+	public static class UnionBook {
+		@Id Integer id;
+		String title;
+
+		public UnionBook(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+
+		UnionBook() {}
+	}
+
+	@Entity
+	@Table(name = "BenchmarkUnionSpellBook")
+	public static class UnionSpellBook extends UnionBook {
+		boolean forbidden;
+
+		public UnionSpellBook(Integer id, String title, boolean forbidden) {
+			super( id, title );
+			this.forbidden = forbidden;
+		}
+
+		UnionSpellBook() {}
+	}
+}
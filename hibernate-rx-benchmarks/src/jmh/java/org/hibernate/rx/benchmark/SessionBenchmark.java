@@ -0,0 +1,115 @@
+package org.hibernate.rx.benchmark;
+
+import org.hibernate.rx.RxSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Benchmarks of the basic operations of a reactive session on an
+ * entity mapped to a single table.
+ */
+@State(Scope.Benchmark)
+public class SessionBenchmark extends AbstractRxBenchmark {
+
+	private static final int ROWS = 100;
+	private static final int BATCH = 10;
+
+	@Param({ IN_MEMORY, POSTGRESQL })
+	public String database;
+
+	private int nextId;
+
+	@Setup
+	public void setUp() {
+		createSessionFactory( database, GuineaPig.class );
+	}
+
+	@Setup(Level.Iteration)
+	public void insertRows() {
+		deleteAll( "BenchmarkPig" );
+		final List<GuineaPig> pigs = new ArrayList<>();
+		for ( int id = 0; id < ROWS; id++ ) {
+			pigs.add( new GuineaPig( id, "Pig " + id ) );
+		}
+		inSession( session -> session.persistAll( pigs ).thenCompose( RxSession::flush ) );
+		nextId = ROWS;
+	}
+
+	private int randomId() {
+		return ThreadLocalRandom.current().nextInt( ROWS );
+	}
+
+	@Benchmark
+	public RxSession persistAndFlush() {
+		final int id = nextId++;
+		return inSession( session -> session.persist( new GuineaPig( id, "Pig " + id ) )
+				.thenCompose( RxSession::flush ) );
+	}
+
+	@Benchmark
+	public Optional<GuineaPig> findById() {
+		return inSession( session -> session.find( GuineaPig.class, randomId() ) );
+	}
+
+	@Benchmark
+	public List<GuineaPig> findMultipleIds() {
+		final Object[] ids = new Object[BATCH];
+		final int first = randomId();
+		for ( int i = 0; i < BATCH; i++ ) {
+			ids[i] = ( first + i ) % ROWS;
+		}
+		return inSession( session -> session.find( GuineaPig.class, ids ) );
+	}
+
+	@Benchmark
+	public GuineaPig mergeDetached() {
+		final int id = randomId();
+		final GuineaPig detached = new GuineaPig( id, "Merged pig " + id );
+		return inSession( session -> session.merge( detached )
+				.thenCompose( pig -> session.flush().thenApply( s -> pig ) ) );
+	}
+
+	@Entity
+	@Table(name = "BenchmarkPig")
+	public static class GuineaPig {
+		@Id
+		private Integer id;
+		private String name;
+
+		public GuineaPig() {
+		}
+
+		public GuineaPig(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
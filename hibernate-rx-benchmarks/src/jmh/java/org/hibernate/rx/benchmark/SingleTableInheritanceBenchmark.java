@@ -0,0 +1,73 @@
+package org.hibernate.rx.benchmark;
+
+import org.hibernate.rx.RxSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.persistence.DiscriminatorValue;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.Table;
+import java.util.Optional;
+
+/**
+ * Benchmark of a polymorphic load of an instance of a subclass, for
+ * the single table inheritance mapping strategy. Unlike the other
+ * strategies, this needs no joins, so it also runs against the
+ * in-memory database.
+ *
+ * @see InheritanceBenchmark
+ */
+@State(Scope.Benchmark)
+public class SingleTableInheritanceBenchmark extends AbstractRxBenchmark {
+
+	private static final int ID = 1;
+
+	@Param({ IN_MEMORY, POSTGRESQL })
+	public String database;
+
+	@Setup
+	public void setUp() {
+		createSessionFactory( database, SingleTableBook.class, SingleTableSpellBook.class );
+		inSession( session -> session.persist( new SingleTableSpellBook( ID, "Necronomicon", true ) )
+				.thenCompose( RxSession::flush ) );
+	}
+
+	@Benchmark
+	public Optional<SingleTableBook> loadSingleTable() {
+		return inSession( session -> session.find( SingleTableBook.class, ID ) );
+	}
+
+	@Entity
+	@Table(name = "BenchmarkSingleTableBook")
+	@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+	public static class SingleTableBook {
+		@Id Integer id;
+		String title;
+
+		public SingleTableBook(Integer id, String title) {
+			this.id = id;
+			this.title = title;
+		}
+
+		SingleTableBook() {}
+	}
+
+	@Entity
+	@DiscriminatorValue("S")
+	public static class SingleTableSpellBook extends SingleTableBook {
+		boolean forbidden;
+
+		public SingleTableSpellBook(Integer id, String title, boolean forbidden) {
+			super( id, title );
+			this.forbidden = forbidden;
+		}
+
+		SingleTableSpellBook() {}
+	}
+}
@@ -4,13 +4,17 @@
 import org.hibernate.event.internal.MergeContext;
 import org.hibernate.internal.util.collections.IdentitySet;
 import org.hibernate.rx.engine.spi.RxActionQueue;
+import org.hibernate.rx.engine.spi.RxBatch;
+import org.hibernate.rx.service.RxConnection;
 
 import javax.persistence.LockModeType;
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 /**
  * A Hibernate {@link Session} backing the user-visible
@@ -31,12 +35,44 @@ public interface RxSessionInternal extends Session {
 
 	RxActionQueue getRxActionQueue();
 
+	/**
+	 * The reactive connection held by this session for the duration
+	 * of its unit of work, checked out of the pool the first time
+	 * this method is called, and released when the session is closed.
+	 */
+	CompletionStage<RxConnection> getRxConnection();
+
+	/**
+	 * A reactive connection for a read-only query, which may be sent
+	 * to a read replica, unless a transaction is in progress on the
+	 * {@link #getRxConnection() connection} held by this session.
+	 */
+	CompletionStage<RxConnection> getRxReadConnection();
+
+	/**
+	 * The batch of DML statements waiting to be sent to the
+	 * database via the {@link #getRxConnection() connection}.
+	 */
+	RxBatch getRxBatch();
+
+	<T> CompletionStage<T> rxWithTransaction(Function<RxSession, CompletionStage<T>> work);
+
 	<T> CompletionStage<Optional<T>> rxFetch(T association);
 
 	CompletionStage<Void> rxPersist(Object entity);
 
 	CompletionStage<Void> rxPersist(Object object, IdentitySet copiedAlready);
 
+	CompletionStage<Void> rxPersistAll(Collection<?> entities);
+
+	/**
+	 * Obtain and forget the identifier generated in advance for
+	 * the given entity by {@link #rxPersistAll(Collection)}.
+	 *
+	 * @return the identifier, or null if there is none
+	 */
+	Object removeGeneratedId(Object entity);
+
 	CompletionStage<Void> rxPersistOnFlush(Object entity, IdentitySet copiedAlready);
 
 	CompletionStage<Void> rxRemove(Object entity);
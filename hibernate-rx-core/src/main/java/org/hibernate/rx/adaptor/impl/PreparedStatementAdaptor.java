@@ -1,42 +1,137 @@
 package org.hibernate.rx.adaptor.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.axle.sqlclient.Tuple;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.sqlclient.impl.ArrayTuple;
+import org.hibernate.engine.jdbc.BinaryStream;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
-import java.util.Arrays;
 import java.util.Calendar;
 
 /**
  * Collects parameter bindings from Hibernate core code
  * that expects a JDBC {@link PreparedStatement}.
+ * <p>
+ * The parameters are written directly into the {@link ArrayTuple}
+ * which is eventually passed to the Vert.x client, so that, when
+ * the adaptor is created with the right capacity, binding the
+ * parameters of a statement allocates no intermediate arrays.
+ * <p>
+ * Binary values are wrapped in a {@link Buffer} without copying
+ * them, and binary streams are read directly into a buffer of the
+ * given length.
  */
 public class PreparedStatementAdaptor implements PreparedStatement {
 
-	static final Object[] NO_PARAMS = new Object[0];
+	private static final int DEFAULT_CAPACITY = 10;
 
-	Object[] params = NO_PARAMS;
-	int size = 0;
+	private ArrayTuple params;
+
+	public PreparedStatementAdaptor() {
+		this( DEFAULT_CAPACITY );
+	}
+
+	/**
+	 * @param capacity the expected number of parameters
+	 */
+	public PreparedStatementAdaptor(int capacity) {
+		params = new ArrayTuple( capacity );
+	}
 
 	void put(int parameterIndex, Object parameter) {
-		if ( params.length <= parameterIndex ) {
-			params = Arrays.copyOf(params, 4 + parameterIndex * 2);
-		}
-		params[parameterIndex-1] = parameter;
-		if ( size < parameterIndex ) {
-			size = parameterIndex;
+		while ( params.size() < parameterIndex ) {
+			params.add( null );
 		}
+		params.set( parameterIndex - 1, parameter );
 	}
 
 	void clear() {
-		params = NO_PARAMS;
+		params = new ArrayTuple( params.size() );
 	}
 
 	public Object[] getParametersAsArray() {
-		return Arrays.copyOf(params, size);
+		return params.toArray();
+	}
+
+	/**
+	 * The bound parameters, as a tuple which may be passed directly
+	 * to the Vert.x client. The tuple is not copied, so the adaptor
+	 * should not be used to bind any further parameters.
+	 */
+	public Tuple getParametersAsTuple() {
+		return Tuple.newInstance( params );
+	}
+
+	/**
+	 * Read the given stream directly into a buffer. A Hibernate
+	 * {@link BinaryStream}, for example, the stream of a
+	 * {@link org.hibernate.engine.jdbc.BlobProxy}, is backed by an
+	 * array, which is wrapped without copying it.
+	 *
+	 * @param length the length of the stream, or -1 if unknown
+	 */
+	private static Buffer buffer(InputStream stream, long length) throws SQLException {
+		if ( stream == null ) {
+			return null;
+		}
+		if ( length > Integer.MAX_VALUE ) {
+			throw new SQLException( "binary parameter is too large: " + length + " bytes" );
+		}
+		if ( stream instanceof BinaryStream ) {
+			byte[] bytes = ( (BinaryStream) stream ).getBytes();
+			int size = length < 0 ? bytes.length : (int) Math.min( length, bytes.length );
+			return Buffer.buffer( Unpooled.wrappedBuffer( bytes, 0, size ) );
+		}
+		ByteBuf byteBuf = length < 0 ? Unpooled.buffer() : Unpooled.buffer( (int) length );
+		try {
+			if ( length < 0 ) {
+				while ( byteBuf.writeBytes( stream, 8192 ) >= 0 ) {
+					// read until the end of the stream
+				}
+			}
+			else {
+				for ( int remaining = (int) length; remaining > 0; ) {
+					int read = byteBuf.writeBytes( stream, remaining );
+					if ( read < 0 ) {
+						break;
+					}
+					remaining -= read;
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new SQLException( "error reading binary parameter", e );
+		}
+		return Buffer.buffer( byteBuf );
+	}
+
+	/**
+	 * Read the given character stream into a string.
+	 *
+	 * @param length the length of the stream, or -1 if unknown
+	 */
+	private static String string(Reader reader, long length) throws SQLException {
+		if ( reader == null ) {
+			return null;
+		}
+		StringBuilder string = new StringBuilder( length < 0 ? 256 : (int) Math.min( length, Integer.MAX_VALUE ) );
+		char[] chars = new char[8192];
+		try {
+			for ( int read; ( read = reader.read( chars ) ) >= 0; ) {
+				string.append( chars, 0, read );
+			}
+		}
+		catch (IOException e) {
+			throw new SQLException( "error reading character parameter", e );
+		}
+		return string.toString();
 	}
 
 	@Override
@@ -101,7 +196,7 @@ public void setString(int parameterIndex, String x) {
 
 	@Override
 	public void setBytes(int parameterIndex, byte[] x) {
-		put( parameterIndex, Buffer.buffer(x) );
+		put( parameterIndex, Buffer.buffer( Unpooled.wrappedBuffer(x) ) );
 	}
 
 	@Override
@@ -130,8 +225,8 @@ public void setUnicodeStream(int parameterIndex, InputStream x, int length) {
 	}
 
 	@Override
-	public void setBinaryStream(int parameterIndex, InputStream x, int length) {
-		throw new UnsupportedOperationException();
+	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		put( parameterIndex, buffer( x, length ) );
 	}
 
 	@Override
@@ -161,8 +256,8 @@ public void addBatch() {
 	}
 
 	@Override
-	public void setCharacterStream(int parameterIndex, Reader reader, int length) {
-		throw new UnsupportedOperationException();
+	public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+		put( parameterIndex, string( reader, length ) );
 	}
 
 	@Override
@@ -171,13 +266,13 @@ public void setRef(int parameterIndex, Ref x) {
 	}
 
 	@Override
-	public void setBlob(int parameterIndex, Blob x) {
-		put( parameterIndex, x );
+	public void setBlob(int parameterIndex, Blob x) throws SQLException {
+		put( parameterIndex, x == null ? null : buffer( x.getBinaryStream(), x.length() ) );
 	}
 
 	@Override
-	public void setClob(int parameterIndex, Clob x) {
-		put( parameterIndex, x );
+	public void setClob(int parameterIndex, Clob x) throws SQLException {
+		put( parameterIndex, x == null ? null : x.getSubString( 1, (int) x.length() ) );
 	}
 
 	@Override
@@ -236,18 +331,18 @@ public void setNCharacterStream(int parameterIndex, Reader value, long length) {
 	}
 
 	@Override
-	public void setNClob(int parameterIndex, NClob value) {
-		put( parameterIndex,value );
+	public void setNClob(int parameterIndex, NClob value) throws SQLException {
+		put( parameterIndex, value == null ? null : value.getSubString( 1, (int) value.length() ) );
 	}
 
 	@Override
-	public void setClob(int parameterIndex, Reader reader, long length) {
-		throw new UnsupportedOperationException();
+	public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		put( parameterIndex, string( reader, length ) );
 	}
 
 	@Override
-	public void setBlob(int parameterIndex, InputStream inputStream, long length) {
-		throw new UnsupportedOperationException();
+	public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+		put( parameterIndex, buffer( inputStream, length ) );
 	}
 
 	@Override
@@ -271,13 +366,13 @@ public void setAsciiStream(int parameterIndex, InputStream x, long length) {
 	}
 
 	@Override
-	public void setBinaryStream(int parameterIndex, InputStream x, long length) {
-		throw new UnsupportedOperationException();
+	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		put( parameterIndex, buffer( x, length ) );
 	}
 
 	@Override
-	public void setCharacterStream(int parameterIndex, Reader reader, long length) {
-		throw new UnsupportedOperationException();
+	public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+		put( parameterIndex, string( reader, length ) );
 	}
 
 	@Override
@@ -286,13 +381,13 @@ public void setAsciiStream(int parameterIndex, InputStream x) {
 	}
 
 	@Override
-	public void setBinaryStream(int parameterIndex, InputStream x) {
-		throw new UnsupportedOperationException();
+	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+		put( parameterIndex, buffer( x, -1 ) );
 	}
 
 	@Override
-	public void setCharacterStream(int parameterIndex, Reader reader) {
-		throw new UnsupportedOperationException();
+	public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+		put( parameterIndex, string( reader, -1 ) );
 	}
 
 	@Override
@@ -301,13 +396,13 @@ public void setNCharacterStream(int parameterIndex, Reader value) {
 	}
 
 	@Override
-	public void setClob(int parameterIndex, Reader reader) {
-		throw new UnsupportedOperationException();
+	public void setClob(int parameterIndex, Reader reader) throws SQLException {
+		put( parameterIndex, string( reader, -1 ) );
 	}
 
 	@Override
-	public void setBlob(int parameterIndex, InputStream inputStream) {
-		throw new UnsupportedOperationException();
+	public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+		put( parameterIndex, buffer( inputStream, -1 ) );
 	}
 
 	@Override
@@ -1,13 +1,18 @@
 package org.hibernate.rx.adaptor.impl;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
 import io.vertx.axle.core.buffer.Buffer;
 import io.vertx.axle.sqlclient.Row;
 import io.vertx.axle.sqlclient.RowIterator;
 import io.vertx.axle.sqlclient.RowSet;
 import org.hibernate.cfg.NotYetImplementedException;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.hibernate.engine.jdbc.ClobProxy;
 
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.StringReader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.*;
@@ -15,6 +20,7 @@
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Calendar;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 /**
@@ -26,6 +32,7 @@ public class ResultSetAdaptor implements ResultSet {
 	private final RowIterator<Row> iterator;
 	private Row row;
 	private boolean wasNull;
+	private Map<String[][], int[]> columnIndexes;
 
 	public ResultSetAdaptor(RowSet<Row> rows) {
 		this.iterator = rows.iterator();
@@ -40,6 +47,91 @@ public boolean next() {
 		return false;
 	}
 
+	/**
+	 * The current row, for code which reads values directly
+	 * from the row, instead of via this adaptor.
+	 */
+	public Row getRow() {
+		return row;
+	}
+
+	/**
+	 * The positions in the current row of the given aliases, one
+	 * per property, or {@code -1} for a property which is not
+	 * mapped to exactly one column. The positions are determined
+	 * only once per result set for each array of aliases, since
+	 * the aliases of a given loader are always held in the same
+	 * array, and every row of the result set has the same columns.
+	 */
+	public int[] getColumnIndexes(String[][] aliases) {
+		if ( columnIndexes == null ) {
+			columnIndexes = new IdentityHashMap<>( 4 );
+		}
+		int[] indexes = columnIndexes.get( aliases );
+		if ( indexes == null ) {
+			indexes = new int[aliases.length];
+			for ( int i = 0; i < aliases.length; i++ ) {
+				indexes[i] = aliases[i] != null && aliases[i].length == 1
+						? row.getColumnIndex( aliases[i][0] )
+						: -1;
+			}
+			columnIndexes.put( aliases, indexes );
+		}
+		return indexes;
+	}
+
+	/**
+	 * The array which backs the given buffer, if the buffer is a heap
+	 * buffer which exactly fills its array, or null otherwise. The
+	 * array may be shared safely, since the rows of the result set
+	 * are read only once, and only via this adaptor.
+	 */
+	private static byte[] backingArray(ByteBuf byteBuf) {
+		return byteBuf.hasArray()
+				&& byteBuf.arrayOffset() + byteBuf.readerIndex() == 0
+				&& byteBuf.array().length == byteBuf.readableBytes()
+				? byteBuf.array()
+				: null;
+	}
+
+	/**
+	 * The content of the given buffer, without copying it, unless
+	 * it isn't backed by an array of exactly the right size.
+	 */
+	private byte[] bytes(Buffer buffer) {
+		if ( wasNull = buffer == null ) {
+			return null;
+		}
+		byte[] bytes = backingArray( buffer.getDelegate().getByteBuf() );
+		return bytes == null ? buffer.getBytes() : bytes;
+	}
+
+	/**
+	 * A stream which reads the given buffer directly. The stream reads
+	 * a duplicate of the buffer, so that reading it doesn't advance the
+	 * reader index of the buffer held by the row, and the same column
+	 * may be read again.
+	 */
+	private InputStream binaryStream(Buffer buffer) {
+		return (wasNull=buffer==null) ? null : new ByteBufInputStream( buffer.getDelegate().getByteBuf().duplicate() );
+	}
+
+	/**
+	 * A {@link Blob} which wraps the given buffer. When the buffer is
+	 * backed by an array, the blob wraps the array, so that Hibernate
+	 * can obtain the bytes of the blob without copying them.
+	 */
+	private Blob blob(Buffer buffer) {
+		if ( wasNull = buffer == null ) {
+			return null;
+		}
+		ByteBuf byteBuf = buffer.getDelegate().getByteBuf();
+		byte[] bytes = backingArray( byteBuf );
+		return bytes == null
+				? BlobProxy.generateProxy( new ByteBufInputStream( byteBuf.duplicate() ), byteBuf.readableBytes() )
+				: BlobProxy.generateProxy( bytes );
+	}
+
 	@Override
 	public void close() {
 	}
@@ -104,8 +196,7 @@ public BigDecimal getBigDecimal(int columnIndex, int scale) {
 
 	@Override
 	public byte[] getBytes(int columnIndex) {
-		Buffer buffer = row.getBuffer(columnIndex);
-		return (wasNull=buffer==null) ? null : buffer.getBytes();
+		return bytes( row.getBuffer(columnIndex) );
 	}
 
 	@Override
@@ -138,7 +229,7 @@ public InputStream getUnicodeStream(int columnIndex) {
 
 	@Override
 	public InputStream getBinaryStream(int columnIndex) {
-		throw new NotYetImplementedException( "This type hasn't been implemented yet" );
+		return binaryStream( row.getBuffer(columnIndex) );
 	}
 
 	@Override
@@ -196,8 +287,7 @@ public BigDecimal getBigDecimal(String columnLabel, int scale) {
 
 	@Override
 	public byte[] getBytes(String columnLabel) {
-		Buffer buffer = row.getBuffer(columnLabel);
-		return (wasNull=buffer==null) ? null : buffer.getBytes();
+		return bytes( row.getBuffer(columnLabel) );
 	}
 
 	@Override
@@ -230,7 +320,7 @@ public InputStream getUnicodeStream(String columnLabel) {
 
 	@Override
 	public InputStream getBinaryStream(String columnLabel) {
-		throw new NotYetImplementedException( "This type hasn't been implemented yet" );
+		return binaryStream( row.getBuffer(columnLabel) );
 	}
 
 	@Override
@@ -270,12 +360,14 @@ public int findColumn(String columnLabel) {
 
 	@Override
 	public Reader getCharacterStream(int columnIndex) {
-		throw new NotYetImplementedException( "This type hasn't been implemented yet" );
+		String string = row.getString(columnIndex);
+		return (wasNull=string==null) ? null : new StringReader(string);
 	}
 
 	@Override
 	public Reader getCharacterStream(String columnLabel) {
-		throw new NotYetImplementedException( "This type hasn't been implemented yet" );
+		String string = row.getString(columnLabel);
+		return (wasNull=string==null) ? null : new StringReader(string);
 	}
 
 	@Override
@@ -637,12 +729,13 @@ public Ref getRef(int columnIndex) {
 
 	@Override
 	public Blob getBlob(int columnIndex) {
-		throw new UnsupportedOperationException();
+		return blob( row.getBuffer(columnIndex) );
 	}
 
 	@Override
 	public Clob getClob(int columnIndex) {
-		throw new UnsupportedOperationException();
+		String string = row.getString(columnIndex);
+		return (wasNull=string==null) ? null : ClobProxy.generateProxy(string);
 	}
 
 	@Override
@@ -662,12 +755,13 @@ public Ref getRef(String columnLabel) {
 
 	@Override
 	public Blob getBlob(String columnLabel) {
-		throw new UnsupportedOperationException();
+		return blob( row.getBuffer(columnLabel) );
 	}
 
 	@Override
 	public Clob getClob(String columnLabel) {
-		throw new UnsupportedOperationException();
+		String string = row.getString(columnLabel);
+		return (wasNull=string==null) ? null : ClobProxy.generateProxy(string);
 	}
 
 	@Override
@@ -0,0 +1,154 @@
+package org.hibernate.rx.cfg;
+
+/**
+ * Configuration properties specific to Hibernate RX, in addition
+ * to those defined by {@link org.hibernate.cfg.AvailableSettings}.
+ */
+public interface RxSettings {
+
+	/**
+	 * An existing Vert.x instance, either an {@link io.vertx.core.Vertx}
+	 * or an {@link io.vertx.axle.core.Vertx}, to be used by the
+	 * connection pool, instead of a new instance created by Hibernate.
+	 * An instance supplied this way is never closed by Hibernate. The
+	 * event loop and worker pool settings are ignored if it's present.
+	 */
+	String VERTX_INSTANCE = "hibernate.rx.vertx.instance";
+
+	/**
+	 * The number of event loop threads of the Vert.x instance created
+	 * by Hibernate. By default, Vert.x's own default is used.
+	 */
+	String VERTX_EVENT_LOOP_POOL_SIZE = "hibernate.rx.vertx.event_loop_pool_size";
+
+	/**
+	 * The number of worker threads of the Vert.x instance created by
+	 * Hibernate. By default, Vert.x's own default is used.
+	 */
+	String VERTX_WORKER_POOL_SIZE = "hibernate.rx.vertx.worker_pool_size";
+
+	/**
+	 * The maximum number of requests for a connection which may wait
+	 * for a connection to become available, or {@code -1} for no limit.
+	 * By default, there is no limit.
+	 */
+	String POOL_MAX_WAIT_QUEUE_SIZE = "hibernate.rx.pool.max_wait_queue_size";
+
+	/**
+	 * A comma-separated list of JDBC URLs of read replicas of the
+	 * database given by {@link org.hibernate.cfg.AvailableSettings#URL}.
+	 * Queries executed by read-only sessions, or with the hint
+	 * {@link org.hibernate.jpa.QueryHints#HINT_READONLY}, without
+	 * pessimistic locks, and outside of a transaction, are sent to
+	 * one of the replicas. By default, there are no replicas.
+	 */
+	String REPLICA_URLS = "hibernate.rx.replica.urls";
+
+	/**
+	 * The strategy for choosing a replica for each query, either
+	 * {@code round_robin} or {@code least_in_flight}. The default
+	 * is {@code round_robin}.
+	 */
+	String REPLICA_BALANCING = "hibernate.rx.replica.balancing";
+
+	/**
+	 * {@link org.hibernate.rx.service.RxConnectionListener Listeners}
+	 * to be notified of connection checkouts and statement executions,
+	 * either instances, or a comma-separated list of class names.
+	 */
+	String CONNECTION_LISTENERS = "hibernate.rx.connection.listeners";
+
+	/**
+	 * If enabled, the SQL log includes the values of the parameters
+	 * bound to each statement. Disabled by default.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#SHOW_SQL
+	 */
+	String SQL_LOG_PARAMETERS = "hibernate.rx.sql_log.parameters";
+
+	/**
+	 * The execution time, in milliseconds, above which a statement is
+	 * logged to the category {@code org.hibernate.SQL_SLOW}. If set,
+	 * statements which execute more quickly are not logged, even if
+	 * {@link org.hibernate.cfg.AvailableSettings#SHOW_SQL} is enabled.
+	 * By default, there is no threshold.
+	 */
+	String SQL_LOG_SLOW_QUERY_THRESHOLD = "hibernate.rx.sql_log.slow_query_threshold";
+
+	/**
+	 * The number of log entries which may be waiting to be written,
+	 * beyond which further entries are dropped. The default is 1024.
+	 */
+	String SQL_LOG_BUFFER_SIZE = "hibernate.rx.sql_log.buffer_size";
+
+	/**
+	 * The maximum number of requests for a dedicated connection which
+	 * may wait for a connection to become available. Further requests
+	 * are rejected immediately with an
+	 * {@link org.hibernate.rx.service.RxConnectionRejectedException}.
+	 * By default, there is no limit.
+	 */
+	String ADMISSION_MAX_PENDING = "hibernate.rx.admission.max_pending";
+
+	/**
+	 * The number of the {@link #ADMISSION_MAX_PENDING waiting requests}
+	 * which are reserved for sessions which are flushing, so that reads
+	 * are rejected first when the pool is overloaded. The default is 0.
+	 */
+	String ADMISSION_RESERVED_FOR_WRITES = "hibernate.rx.admission.reserved_for_writes";
+
+	/**
+	 * The time, in milliseconds, after which a request for a dedicated
+	 * connection which is still waiting is rejected with an
+	 * {@link org.hibernate.rx.service.RxConnectionRejectedException}.
+	 * By default, there is no timeout.
+	 */
+	String ADMISSION_TIMEOUT = "hibernate.rx.admission.timeout";
+
+	/**
+	 * If enabled, a flush within a transaction sends the statements
+	 * of consecutive insert, update, and delete actions for entities
+	 * mapped to a single table without waiting for the result of each
+	 * statement before sending the next. The results are verified in
+	 * order as they arrive. The statements are still executed in
+	 * order, but the flush takes closer to a single round trip than
+	 * one round trip per statement. This is useful with PostgreSQL,
+	 * whose client pipelines statements on a connection. Disabled by
+	 * default.
+	 */
+	String FLUSH_PIPELINING = "hibernate.rx.flush.pipelining";
+
+	/**
+	 * The JDBC URL of the database of each tenant, for sessions with a
+	 * tenant identifier: either a URL template in which the placeholder
+	 * {@code {tenant}} is replaced by the percent-encoded tenant
+	 * identifier, or an instance of
+	 * {@code java.util.function.Function<String,String>} from tenant
+	 * identifier to URL. A separate pool is created for
+	 * each tenant when it is first needed. If not set, all sessions
+	 * share the pool for {@link org.hibernate.cfg.AvailableSettings#URL}.
+	 */
+	String TENANT_URL = "hibernate.rx.tenant.url";
+
+	/**
+	 * The maximum number of tenants which have pools at the same time.
+	 * When another tenant needs a pool, the pool of the least recently
+	 * used tenant is closed. The default is 16.
+	 */
+	String TENANT_MAX_POOLS = "hibernate.rx.tenant.max_pools";
+
+	/**
+	 * The maximum size of the pool of each tenant. By default, the
+	 * same as {@link org.hibernate.cfg.AvailableSettings#POOL_SIZE}.
+	 */
+	String TENANT_POOL_SIZE = "hibernate.rx.tenant.pool_size";
+
+	/**
+	 * The {@link org.hibernate.rx.service.initiator.RxConnectionPoolProvider}
+	 * to use, either an instance, a class, or a class name. The class
+	 * must have a public no-argument constructor. By default, a pool
+	 * of connections to the database given by
+	 * {@link org.hibernate.cfg.AvailableSettings#URL} is used.
+	 */
+	String CONNECTION_POOL_PROVIDER = "hibernate.rx.connection.pool_provider";
+}
@@ -23,6 +23,10 @@
  */
 public class RxEntityDeleteAction extends EntityDeleteAction implements RxExecutable {
 
+	private boolean veto;
+	private Object currentVersion;
+	private Object ck;
+
 	public RxEntityDeleteAction(
 			Serializable id,
 			Object[] state,
@@ -41,68 +45,91 @@ public void execute() throws HibernateException {
 
 	@Override
 	public CompletionStage<Void> rxExecute() throws HibernateException {
+		CompletionStage<?> deleteStep = RxUtil.nullFuture();
+		if ( beforeDelete() ) {
+			deleteStep = ( (RxEntityPersister) getPersister() )
+					.deleteRx( getId(), currentVersion, getInstance(), getSession() );
+		}
+		return deleteStep.thenAccept( deleteAR -> afterDelete() );
+	}
+
+	/**
+	 * The work which happens before the row is deleted: invoking
+	 * the pre-delete listeners, and locking the cached item. Split
+	 * out from {@link #rxExecute()} so that the action queue may
+	 * delete several rows with a single statement.
+	 *
+	 * @return {@code true} if the row must be deleted, or
+	 *         {@code false} if the deletion was vetoed or
+	 *         will be handled by a foreign key constraint
+	 */
+	public boolean beforeDelete() {
 		final Serializable id = getId();
 		final EntityPersister persister = getPersister();
 		final SharedSessionContractImplementor session = getSession();
-		final Object instance = getInstance();
 
-		final boolean veto = preDelete();
+		veto = preDelete();
 
-		Object version = getVersion();
+		currentVersion = getVersion();
 		if ( persister.isVersionPropertyGenerated() ) {
 			// we need to grab the version value from the entity, otherwise
 			// we have issues with generated-version entities that may have
 			// multiple actions queued during the same flush
-			version = persister.getVersion( instance );
+			currentVersion = persister.getVersion( getInstance() );
 		}
 
-		final Object ck;
 		if ( persister.canWriteToCache() ) {
 			final EntityDataAccess cache = persister.getCacheAccessStrategy();
 			ck = cache.generateCacheKey( id, persister, session.getFactory(), session.getTenantIdentifier() );
-			setLock( cache.lockItem( session, ck, version ) );
+			setLock( cache.lockItem( session, ck, currentVersion ) );
 		}
 		else {
 			ck = null;
 		}
 
-		CompletionStage<?> deleteStep = RxUtil.nullFuture();
-		if ( !isCascadeDeleteEnabled() && !veto ) {
-			deleteStep = ((RxEntityPersister) persister).deleteRx( id, version, instance, session );
+		return !isCascadeDeleteEnabled() && !veto;
+	}
+
+	/**
+	 * The work which happens after the row is deleted.
+	 *
+	 * @see #beforeDelete()
+	 */
+	public void afterDelete() {
+		final Serializable id = getId();
+		final EntityPersister persister = getPersister();
+		final SharedSessionContractImplementor session = getSession();
+		final Object instance = getInstance();
+
+		// After actually deleting a row, record the fact that the instance no longer
+		// exists on the database (needed for identity-column key generation), and
+		// remove it from the session cache
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		final EntityEntry entry = persistenceContext.removeEntry( instance );
+		if ( entry == null ) {
+			throw new AssertionFailure( "possible non-threadsafe access to session" );
+		}
+		entry.postDelete();
+
+		persistenceContext.removeEntity( entry.getEntityKey() );
+		persistenceContext.removeProxy( entry.getEntityKey() );
+
+		if ( persister.canWriteToCache() ) {
+			persister.getCacheAccessStrategy().remove( session, ck );
 		}
 
-		return deleteStep.thenAccept( deleteAR -> {
-			//postDelete:
-			// After actually deleting a row, record the fact that the instance no longer
-			// exists on the database (needed for identity-column key generation), and
-			// remove it from the session cache
-			final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
-			final EntityEntry entry = persistenceContext.removeEntry( instance );
-			if ( entry == null ) {
-				throw new AssertionFailure( "possible non-threadsafe access to session" );
-			}
-			entry.postDelete();
-
-			persistenceContext.removeEntity( entry.getEntityKey() );
-			persistenceContext.removeProxy( entry.getEntityKey() );
-
-			if ( persister.canWriteToCache() ) {
-				persister.getCacheAccessStrategy().remove( session, ck );
-			}
-
-			persistenceContext.getNaturalIdHelper().removeSharedNaturalIdCrossReference(
-					persister,
-					id,
-					getNaturalIdValues()
-			);
-
-			postDelete();
-
-			final StatisticsImplementor statistics = getSession().getFactory().getStatistics();
-			if ( statistics.isStatisticsEnabled() && !veto ) {
-				statistics.deleteEntity( getPersister().getEntityName() );
-			}
-		} );
+		persistenceContext.getNaturalIdHelper().removeSharedNaturalIdCrossReference(
+				persister,
+				id,
+				getNaturalIdValues()
+		);
+
+		postDelete();
+
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		if ( statistics.isStatisticsEnabled() && !veto ) {
+			statistics.deleteEntity( persister.getEntityName() );
+		}
 	}
 
 }
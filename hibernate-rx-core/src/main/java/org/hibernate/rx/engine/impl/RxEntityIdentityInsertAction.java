@@ -16,6 +16,7 @@
 import org.hibernate.rx.util.impl.RxUtil;
 import org.hibernate.stat.spi.StatisticsImplementor;
 
+import java.io.Serializable;
 import java.util.concurrent.CompletionStage;
 
 /**
@@ -35,49 +36,70 @@ public void execute() throws HibernateException {
 
 	@Override
 	public CompletionStage<Void> rxExecute() throws HibernateException {
-		nullifyTransientReferencesIfNotAlready();
+		if ( beforeInsert() ) {
+			return ((RxEntityPersister) getPersister()).insertRx( getState(), getInstance(), getSession() )
+					.thenAccept( this::afterInsert );
+		}
+		else {
+			return RxUtil.nullFuture();
+		}
+	}
 
-		final EntityPersister persister = getPersister();
-		final SharedSessionContractImplementor session = getSession();
-		final Object instance = getInstance();
+	/**
+	 * The part of {@link #rxExecute()} which happens before the
+	 * row is inserted. If the insertion is vetoed, this action is
+	 * complete when this method returns.
+	 *
+	 * @return {@code true} if the row should be inserted
+	 */
+	public boolean beforeInsert() {
+		nullifyTransientReferencesIfNotAlready();
 
 		setVeto( preInsert() );
 
 		// Don't need to lock the cache here, since if someone
 		// else inserted the same pk first, the insert would fail
 
-		if ( !isVeto() ) {
-			return ((RxEntityPersister) persister).insertRx( getState(), instance, session )
-				.thenAccept( generatedId -> {
-					setGeneratedId(generatedId);
-					if (persister.hasInsertGeneratedProperties()) {
-						persister.processInsertGeneratedProperties(generatedId, instance, getState(), session);
-					}
-					//need to do that here rather than in the save event listener to let
-					//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-					persister.setIdentifier(instance, generatedId, session);
-					final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
-					persistenceContext.registerInsertedKey(getPersister(), generatedId);
-					EntityKey entityKey = session.generateEntityKey(generatedId, persister);
-					setEntityKey( entityKey );
-					persistenceContext.checkUniqueness(entityKey, getInstance());
-
-					postInsert();
-
-					final StatisticsImplementor statistics = session.getFactory().getStatistics();
-					if ( statistics.isStatisticsEnabled() && !isVeto() ) {
-						statistics.insertEntity( getPersister().getEntityName() );
-					}
-
-					markExecuted();
-				});
-		}
-		else {
+		if ( isVeto() ) {
 			postInsert();
 			markExecuted();
-			return RxUtil.nullFuture();
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * The part of {@link #rxExecute()} which happens after the
+	 * row is inserted.
+	 *
+	 * @param generatedId the identifier generated by the database
+	 */
+	public void afterInsert(Serializable generatedId) {
+		final EntityPersister persister = getPersister();
+		final SharedSessionContractImplementor session = getSession();
+		final Object instance = getInstance();
+
+		setGeneratedId(generatedId);
+		if (persister.hasInsertGeneratedProperties()) {
+			persister.processInsertGeneratedProperties(generatedId, instance, getState(), session);
+		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier(instance, generatedId, session);
+		final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+		persistenceContext.registerInsertedKey(getPersister(), generatedId);
+		EntityKey entityKey = session.generateEntityKey(generatedId, persister);
+		setEntityKey( entityKey );
+		persistenceContext.checkUniqueness(entityKey, getInstance());
+
+		postInsert();
+
+		final StatisticsImplementor statistics = session.getFactory().getStatistics();
+		if ( statistics.isStatisticsEnabled() && !isVeto() ) {
+			statistics.insertEntity( getPersister().getEntityName() );
 		}
 
+		markExecuted();
 	}
 
 }
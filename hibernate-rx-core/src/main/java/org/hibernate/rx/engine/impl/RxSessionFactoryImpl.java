@@ -15,6 +15,9 @@
 import org.hibernate.rx.boot.impl.RxSessionFactoryBuilderImpl;
 import org.hibernate.rx.engine.spi.RxSessionBuilderImplementor;
 import org.hibernate.rx.impl.RxSessionBuilderDelegator;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
@@ -45,6 +48,8 @@ public RxSessionFactoryImpl(SessionFactoryImpl delegate) {
 				this,
 				delegate.getServiceRegistry().getService( JndiService.class )
 		);
+		delegate.getServiceRegistry().getService( RxConnectionPoolProvider.class )
+				.addListener( new StatisticsListener( delegate.getStatistics() ) );
 	}
 
 
@@ -99,4 +104,32 @@ public <T> T unwrap(Class<T> type) {
 		throw new PersistenceException( "Hibernate cannot unwrap EntityManagerFactory as '" + type.getName() + "'" );
 	}
 
+	/**
+	 * Reports connection checkouts and statement executions to the
+	 * {@link StatisticsImplementor statistics} of the session factory,
+	 * as the JDBC coordinator does for JDBC connections and statements.
+	 */
+	private static final class StatisticsListener implements RxConnectionListener {
+		private final StatisticsImplementor statistics;
+
+		StatisticsListener(StatisticsImplementor statistics) {
+			this.statistics = statistics;
+		}
+
+		@Override
+		public void connectionAcquired(long waitNanos) {
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.connect();
+			}
+		}
+
+		@Override
+		public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.prepareStatement();
+				statistics.closeStatement();
+			}
+		}
+	}
+
 }
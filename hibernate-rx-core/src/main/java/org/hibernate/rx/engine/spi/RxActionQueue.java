@@ -21,7 +21,11 @@
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.rx.RxSessionInternal;
+import org.hibernate.rx.cfg.RxSettings;
 import org.hibernate.rx.engine.impl.*;
+import org.hibernate.rx.persister.entity.impl.RxEntityPersister;
 import org.hibernate.rx.util.impl.RxUtil;
 import org.hibernate.type.*;
 
@@ -185,6 +189,9 @@ ExecutableList<RxEntityDeleteAction> init(RxActionQueue instance) {
 	private AfterTransactionCompletionProcessQueue afterTransactionProcesses;
 	private BeforeTransactionCompletionProcessQueue beforeTransactionProcesses;
 
+	//send the statements of a flush without waiting for each result
+	private final boolean pipelining;
+
 	/**
 	 * Constructs an action queue bound to the given session.
 	 *
@@ -193,6 +200,11 @@ ExecutableList<RxEntityDeleteAction> init(RxActionQueue instance) {
 	public RxActionQueue(SessionImplementor session) {
 		this.session = session;
 		isTransactionCoordinatorShared = false;
+		pipelining = ConfigurationHelper.getBoolean(
+				RxSettings.FLUSH_PIPELINING,
+				session.getFactory().getProperties(),
+				false
+		);
 	}
 
 	private static String[] convertTimestampSpaces(Serializable[] spaces) {
@@ -644,23 +656,14 @@ private <E extends RxExecutable> CompletionStage<Void> executeActions(
 		// todo : consider ways to improve the double iteration of Executables here:
 		//		1) we explicitly iterate list here to perform Executable#execute()
 		//		2) ExecutableList#getQuerySpaces also iterates the Executables to collect query spaces.
-		CompletionStage<Void> ret = RxUtil.nullFuture();
-		for ( E e : list ) {
-			ret = ret.thenCompose( v -> e.rxExecute().whenComplete( (v2, x) -> {
-				if ( e.getBeforeTransactionCompletionProcess() != null ) {
-					if ( beforeTransactionProcesses == null ) {
-						beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
-					}
-					beforeTransactionProcesses.register( e.getBeforeTransactionCompletionProcess() );
-				}
-				if ( e.getAfterTransactionCompletionProcess() != null ) {
-					if ( afterTransactionProcesses == null ) {
-						afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
-					}
-					afterTransactionProcesses.register( e.getAfterTransactionCompletionProcess() );
-				}
-			} ) );
-		}
+		final List<List<RxExecutable>> units = coalesce( list );
+		CompletionStage<Void> ret = pipelining
+				? rxBatch().execute()
+						.thenCompose( v -> ( (RxSessionInternal) session ).getRxConnection() )
+						.thenCompose( connection -> connection.isTransactionInProgress()
+								? executePipelined( units, 0 )
+								: executeSequentially( units ) )
+				: executeSequentially( units );
 		return ret.whenComplete( (v, x) -> {
 			if ( session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled() ) {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
@@ -669,12 +672,200 @@ private <E extends RxExecutable> CompletionStage<Void> executeActions(
 				Set<Serializable> propertySpaces = list.getQuerySpaces();
 				invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
 			}
-		} ).thenRun( () -> {
+		} ).thenCompose( v -> {
 			list.clear();
-			session.getJdbcCoordinator().executeBatch();
+			return rxBatch().execute();
+		} ).whenComplete( (v, x) -> {
+			if ( x != null ) {
+				// discard any statements which were never sent
+				rxBatch().clear();
+			}
 		} );
 	}
 
+	/**
+	 * Divide the given actions into units which are executed together.
+	 * Consecutive deletions or identity insertions of the same entity
+	 * are coalesced into a single statement per table, and every other
+	 * action is executed alone.
+	 */
+	private List<List<RxExecutable>> coalesce(ExecutableList<? extends RxExecutable> list) {
+		final int batchSize = session.getConfiguredJdbcBatchSize();
+		List<List<RxExecutable>> units = new ArrayList<>( list.size() );
+		List<RxExecutable> group = null;
+		for ( RxExecutable e : list ) {
+			if ( batchSize > 1 && isCoalescable( e ) ) {
+				if ( group != null
+						&& ( group.size() == batchSize || !isSameGroup( group.get( 0 ), e ) ) ) {
+					group = null;
+				}
+				if ( group == null ) {
+					group = new ArrayList<>( batchSize );
+					units.add( group );
+				}
+				group.add( e );
+			}
+			else {
+				group = null;
+				units.add( Collections.singletonList( e ) );
+			}
+		}
+		return units;
+	}
+
+	private CompletionStage<Void> executeSequentially(List<List<RxExecutable>> units) {
+		CompletionStage<Void> ret = RxUtil.nullFuture();
+		for ( List<RxExecutable> unit : units ) {
+			ret = ret.thenCompose( v -> executeCoalesced( unit ) );
+		}
+		return ret;
+	}
+
+	/**
+	 * Execute the given units, starting from the given index, sending
+	 * the statements of each pipelinable unit without waiting for the
+	 * statements already sent to complete. The connection must already
+	 * be available, so that each statement is written to it as soon as
+	 * its action executes, and the statements are executed in order. A
+	 * unit which isn't pipelinable is only executed once the statements
+	 * already sent have completed, since it might depend on them.
+	 */
+	private CompletionStage<Void> executePipelined(List<List<RxExecutable>> units, int from) {
+		CompletionStage<Void> results = RxUtil.nullFuture();
+		rxBatch().beginPipelining();
+		for ( int i = from; i < units.size(); i++ ) {
+			List<RxExecutable> unit = units.get( i );
+			if ( !isPipelinable( unit.get( 0 ) ) ) {
+				CompletionStage<Void> sent = awaitPipelined( results );
+				int next = i + 1;
+				return sent.thenCompose( v -> executeCoalesced( unit ) )
+						.thenCompose( v -> executePipelined( units, next ) );
+			}
+			CompletionStage<Void> result = executeCoalesced( unit );
+			// verify the results in the order the statements were sent
+			results = results.thenCompose( v -> result );
+		}
+		return awaitPipelined( results );
+	}
+
+	private CompletionStage<Void> awaitPipelined(CompletionStage<Void> results) {
+		CompletionStage<Void> batched = rxBatch().endPipelining();
+		return results.thenCompose( v -> batched );
+	}
+
+	private static boolean isPipelinable(RxExecutable executable) {
+		if ( executable instanceof RxEntityRegularInsertAction
+				|| executable instanceof RxEntityUpdateAction
+				|| executable instanceof RxEntityDeleteAction ) {
+			return ( (RxEntityPersister) ( (EntityAction) executable ).getPersister() ).isPipelinedWriteSupported();
+		}
+		return false;
+	}
+
+	private static boolean isCoalescable(RxExecutable executable) {
+		if ( executable instanceof RxEntityDeleteAction ) {
+			return ( (RxEntityPersister) ( (RxEntityDeleteAction) executable ).getPersister() ).isCoalescedDeleteSupported();
+		}
+		if ( executable instanceof RxEntityIdentityInsertAction ) {
+			return ( (RxEntityPersister) ( (RxEntityIdentityInsertAction) executable ).getPersister() ).isMultiRowIdentityInsertSupported();
+		}
+		return false;
+	}
+
+	private static boolean isSameGroup(RxExecutable first, RxExecutable executable) {
+		return first.getClass() == executable.getClass()
+				&& ( (EntityAction) first ).getPersister() == ( (EntityAction) executable ).getPersister();
+	}
+
+	private CompletionStage<Void> executeCoalesced(List<RxExecutable> actions) {
+		if ( actions.size() == 1 ) {
+			RxExecutable action = actions.get( 0 );
+			return action.rxExecute().whenComplete( (v, x) -> registerCompletionProcesses( action ) );
+		}
+		else if ( actions.get( 0 ) instanceof RxEntityDeleteAction ) {
+			List<RxEntityDeleteAction> deletions = new ArrayList<>( actions.size() );
+			actions.forEach( action -> deletions.add( (RxEntityDeleteAction) action ) );
+			return executeDeletions( deletions );
+		}
+		else {
+			List<RxEntityIdentityInsertAction> insertions = new ArrayList<>( actions.size() );
+			actions.forEach( action -> insertions.add( (RxEntityIdentityInsertAction) action ) );
+			return executeIdentityInsertions( insertions );
+		}
+	}
+
+	/**
+	 * Execute the given deletions of instances of the same entity,
+	 * deleting all their rows with one statement per table.
+	 */
+	private CompletionStage<Void> executeDeletions(List<RxEntityDeleteAction> deletions) {
+		List<Serializable> ids = new ArrayList<>( deletions.size() );
+		for ( RxEntityDeleteAction delete : deletions ) {
+			if ( delete.beforeDelete() ) {
+				ids.add( delete.getId() );
+			}
+		}
+
+		CompletionStage<?> deleteStep = RxUtil.nullFuture();
+		if ( !ids.isEmpty() ) {
+			RxEntityPersister persister = (RxEntityPersister) deletions.get( 0 ).getPersister();
+			deleteStep = persister.deleteRx( ids.toArray( new Serializable[0] ), session );
+		}
+		return deleteStep
+				.thenAccept( v -> deletions.forEach( RxEntityDeleteAction::afterDelete ) )
+				.whenComplete( (v, x) -> deletions.forEach( this::registerCompletionProcesses ) );
+	}
+
+	/**
+	 * Execute the given insertions of instances of the same entity
+	 * with identity columns, inserting all their rows with a single
+	 * multi-row statement.
+	 */
+	private CompletionStage<Void> executeIdentityInsertions(List<RxEntityIdentityInsertAction> insertions) {
+		List<RxEntityIdentityInsertAction> inserted = new ArrayList<>( insertions.size() );
+		List<Object[]> states = new ArrayList<>( insertions.size() );
+		List<Object> instances = new ArrayList<>( insertions.size() );
+		for ( RxEntityIdentityInsertAction insert : insertions ) {
+			if ( insert.beforeInsert() ) {
+				inserted.add( insert );
+				states.add( insert.getState() );
+				instances.add( insert.getInstance() );
+			}
+		}
+
+		CompletionStage<Void> insertStep = RxUtil.nullFuture();
+		if ( !inserted.isEmpty() ) {
+			RxEntityPersister persister = (RxEntityPersister) insertions.get( 0 ).getPersister();
+			insertStep = persister.insertRx( states, instances, session )
+					.thenAccept( ids -> {
+						for ( int i = 0; i < ids.size(); i++ ) {
+							inserted.get( i ).afterInsert( ids.get( i ) );
+						}
+					} );
+		}
+		return insertStep
+				.whenComplete( (v, x) -> insertions.forEach( this::registerCompletionProcesses ) );
+	}
+
+	private void registerCompletionProcesses(RxExecutable executable) {
+		if ( executable.getBeforeTransactionCompletionProcess() != null ) {
+			if ( beforeTransactionProcesses == null ) {
+				beforeTransactionProcesses = new BeforeTransactionCompletionProcessQueue( session );
+			}
+			beforeTransactionProcesses.register( executable.getBeforeTransactionCompletionProcess() );
+		}
+		if ( executable.getAfterTransactionCompletionProcess() != null ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			afterTransactionProcesses.register( executable.getAfterTransactionCompletionProcess() );
+		}
+	}
+
+	private RxBatch rxBatch() {
+		return ( (RxSessionInternal) session ).getRxBatch();
+	}
+
 	/**
 	 * @param executable The action to execute
 	 */
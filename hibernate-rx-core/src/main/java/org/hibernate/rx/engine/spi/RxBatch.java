@@ -0,0 +1,160 @@
+package org.hibernate.rx.engine.spi;
+
+import io.vertx.axle.sqlclient.Tuple;
+import org.hibernate.JDBCException;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.rx.RxSessionInternal;
+import org.hibernate.rx.util.impl.RxUtil;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Accumulates DML statements sharing the same SQL, so that they
+ * may be sent to the database in a single round trip, using a
+ * Vert.x {@code preparedBatch}. The reactive counterpart to the
+ * JDBC {@link org.hibernate.engine.jdbc.batch.spi.Batch}.
+ *
+ * As with JDBC batching, adding a statement to the batch does not
+ * execute it. The batch is executed when it is full, when a
+ * statement with different SQL is added, before any other statement
+ * is executed by the session, and at the end of each phase of the
+ * flush. Row counts are verified against the {@link Expectation}
+ * when the batch is executed.
+ */
+public class RxBatch {
+
+	private final RxSessionInternal session;
+
+	private String sql;
+	private Expectation expectation;
+	private List<Tuple> parameters = new ArrayList<>();
+
+	//the results of statements sent while pipelining, or null
+	private CompletionStage<Void> pipelined;
+
+	public RxBatch(RxSessionInternal session) {
+		this.session = session;
+	}
+
+	public boolean isEmpty() {
+		return parameters.isEmpty();
+	}
+
+	/**
+	 * Add a statement to the batch, first executing the current
+	 * batch if it has different SQL, and then executing the batch
+	 * if it has reached the given size.
+	 */
+	public CompletionStage<Void> add(String sql, Tuple parameters, Expectation expectation, int batchSize) {
+		CompletionStage<Void> ret = isEmpty()
+				|| sql.equals( this.sql ) && expectation == this.expectation
+				? RxUtil.nullFuture()
+				: execute();
+
+		this.sql = sql;
+		this.expectation = expectation;
+		this.parameters.add( parameters );
+
+		if ( this.parameters.size() >= batchSize ) {
+			Statements full = takeStatements();
+			ret = ret.thenCompose( v -> send( full ) );
+		}
+		return ret;
+	}
+
+	/**
+	 * Start pipelining: from now on, executing the batch sends its
+	 * statements without waiting for their results, so that the
+	 * statements which follow may be sent immediately. The results
+	 * are verified in order, and returned by {@link #endPipelining()}.
+	 */
+	public void beginPipelining() {
+		pipelined = RxUtil.nullFuture();
+	}
+
+	/**
+	 * Send the statements currently in the batch, and stop
+	 * pipelining.
+	 *
+	 * @return a stage which completes when every statement sent
+	 *         while pipelining has completed, and fails with the
+	 *         first failure, if any
+	 */
+	public CompletionStage<Void> endPipelining() {
+		execute();
+		CompletionStage<Void> results = pipelined;
+		pipelined = null;
+		return results == null ? RxUtil.nullFuture() : results;
+	}
+
+	/**
+	 * Execute the statements currently in the batch, if any.
+	 */
+	public CompletionStage<Void> execute() {
+		return isEmpty() ? RxUtil.nullFuture() : send( takeStatements() );
+	}
+
+	/**
+	 * Discard the statements currently in the batch.
+	 */
+	public void clear() {
+		takeStatements();
+		pipelined = null;
+	}
+
+	private Statements takeStatements() {
+		Statements statements = new Statements( sql, expectation, parameters );
+		sql = null;
+		expectation = null;
+		parameters = new ArrayList<>();
+		return statements;
+	}
+
+	/**
+	 * Execute the given statements, or, if pipelining, send them
+	 * and verify their results later.
+	 */
+	private CompletionStage<Void> send(Statements statements) {
+		CompletionStage<Void> result = execute( statements );
+		if ( pipelined == null ) {
+			return result;
+		}
+		pipelined = pipelined.thenCompose( v -> result );
+		return RxUtil.nullFuture();
+	}
+
+	private CompletionStage<Void> execute(Statements statements) {
+		return session.getRxConnection()
+				.thenCompose( connection -> statements.parameters.size() == 1
+						? connection.update( statements.sql, statements.parameters.get(0) )
+								.thenApply( count -> new int[] { count } )
+						: connection.updateBatch( statements.sql, statements.parameters ) )
+				.thenAccept( rowCounts -> {
+					boolean batched = rowCounts.length > 1;
+					for ( int i = 0; i < rowCounts.length; i++ ) {
+						try {
+							statements.expectation.verifyOutcome( rowCounts[i], null, batched ? i : -1 );
+						}
+						catch (SQLException e) {
+							//can't actually occur!
+							throw new JDBCException( "error while verifying result count", e );
+						}
+					}
+				} );
+	}
+
+	private static class Statements {
+		private final String sql;
+		private final Expectation expectation;
+		private final List<Tuple> parameters;
+
+		private Statements(String sql, Expectation expectation, List<Tuple> parameters) {
+			this.sql = sql;
+			this.expectation = expectation;
+			this.parameters = parameters;
+		}
+	}
+}
@@ -142,9 +142,16 @@ protected CompletionStage<Void> rxSaveWithGeneratedId(
 
 		EntityPersister persister = source.getEntityPersister( entityName, entity );
 		boolean autoincrement = persister.isIdentifierAssignedByInsert();
-		return ((RxEntityPersister) persister)
-				.getRxIdentifierGenerator()
-				.generate( source )
+		final CompletionStage<? extends Optional<?>> generatedId;
+		Object pregeneratedId = ( (RxSessionInternal) source ).removeGeneratedId( entity );
+		if ( pregeneratedId != null ) {
+			// obtained in advance by RxSession.persistAll()
+			generatedId = RxUtil.completedFuture( Optional.of( pregeneratedId ) );
+		}
+		else {
+			generatedId = ( (RxEntityPersister) persister ).getRxIdentifierGenerator().generate( source );
+		}
+		return generatedId
 				.thenCompose( id ->
 						rxPerformSave(
 								entity,
@@ -1,82 +1,43 @@
 package org.hibernate.rx.impl;
 
-import io.vertx.axle.mysqlclient.MySQLClient;
-import io.vertx.axle.sqlclient.*;
-import org.hibernate.rx.RxSession;
-import org.hibernate.rx.service.RxConnection;
+import io.vertx.axle.sqlclient.Pool;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.util.impl.RxUtil;
 
-import java.util.Optional;
 import java.util.concurrent.CompletionStage;
-import java.util.function.Consumer;
 
 /**
- * A reactive connection based on Vert.x's {@link Pool}.
+ * A reactive connection based on Vert.x's {@link Pool}. Each
+ * statement is dispatched to whichever pooled connection is
+ * available, so transactions are not supported.
+ *
+ * @see SqlClientConnection
  */
-public class PoolConnection implements RxConnection {
+public class PoolConnection extends SqlClientAdaptor {
 
-	private final Pool pool;
-	private final boolean showSQL;
-
-	public PoolConnection(Pool pool, boolean showSQL) {
-		this.pool = pool;
-		this.showSQL = showSQL;
-	}
-
-	@Override
-	public CompletionStage<Void> inTransaction(
-			Consumer<RxSession> consumer,
-			RxSession delegate) {
-		// Not used at the moment
-		// Just an idea
-//		return CompletableFuture.runAsync( () -> {
-//			pool.getConnection( res -> {
-//				if (res.succeeded()) {
-//					// Transaction must use a connection
-//					SqlConnection conn = res.result();
-//
-//					// Begin the transaction
-//					Transaction tx = conn.begin();
-//
-//					// Commit the transaction
-//					tx.commit(ar -> {
-//						consumer.accept( delegate );
-//					});
-//				}
-//			});
-//		} );
-		return null;
-	}
-
-	@Override
-	public CompletionStage<Integer> update(String sql) {
-		return preparedQuery( sql ).thenApply(SqlResult::rowCount);
+	public PoolConnection(Pool pool, SqlStatementLogger sqlLogger, RxConnectionListener listener) {
+		super( pool, sqlLogger, listener );
 	}
 
 	@Override
-	public CompletionStage<Integer> update(String sql, Tuple parameters) {
-		return preparedQuery( sql, parameters ).thenApply(SqlResult::rowCount);
+	public CompletionStage<Void> beginTransaction() {
+		return RxUtil.failedFuture( new UnsupportedOperationException(
+				"transactions require a dedicated connection" ) );
 	}
 
 	@Override
-	public CompletionStage<Optional<Integer>> updateReturning(String sql, Tuple parameters) {
-		return preparedQuery( sql, parameters )
-				.thenApply( rows -> Optional.ofNullable( rows.property(MySQLClient.LAST_INSERTED_ID) ) );
+	public CompletionStage<Void> commitTransaction() {
+		return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
 	}
 
 	@Override
-	public CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple parameters) {
-		if (showSQL) {
-			System.out.println(sql);
-		}
-		return pool.preparedQuery( sql, parameters );
+	public CompletionStage<Void> rollbackTransaction() {
+		return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
 	}
 
 	@Override
-	public CompletionStage<RowSet<Row>> preparedQuery(String sql) {
-		if (showSQL) {
-			System.out.println(sql);
-		}
-		return pool.preparedQuery( sql );
+	public boolean isTransactionInProgress() {
+		return false;
 	}
 
 	@Override
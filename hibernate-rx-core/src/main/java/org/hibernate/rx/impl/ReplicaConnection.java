@@ -0,0 +1,41 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.sqlclient.Pool;
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.RowSet;
+import io.vertx.axle.sqlclient.Tuple;
+import org.hibernate.rx.service.RxConnectionListener;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link PoolConnection} to a read replica, which keeps count of
+ * the statements in flight against the replica, allowing queries
+ * to be balanced across replicas.
+ *
+ * @see org.hibernate.rx.service.RxConnectionPoolProviderImpl#getReplicaConnection()
+ */
+public class ReplicaConnection extends PoolConnection {
+
+	private final AtomicInteger inFlight;
+
+	public ReplicaConnection(Pool pool, AtomicInteger inFlight, SqlStatementLogger sqlLogger, RxConnectionListener listener) {
+		super( pool, sqlLogger, listener );
+		this.inFlight = inFlight;
+	}
+
+	@Override
+	public CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple parameters) {
+		inFlight.incrementAndGet();
+		return super.preparedQuery( sql, parameters )
+				.whenComplete( (rows, x) -> inFlight.decrementAndGet() );
+	}
+
+	@Override
+	public CompletionStage<RowSet<Row>> preparedQuery(String sql) {
+		inFlight.incrementAndGet();
+		return super.preparedQuery( sql )
+				.whenComplete( (rows, x) -> inFlight.decrementAndGet() );
+	}
+}
@@ -6,17 +6,25 @@
 import io.vertx.axle.sqlclient.SqlResult;
 import io.vertx.axle.sqlclient.Tuple;
 import io.vertx.sqlclient.impl.ArrayTuple;
+import org.hibernate.HibernateException;
 import org.hibernate.JDBCException;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
 import org.hibernate.engine.spi.QueryParameters;
-import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.rx.RxSessionInternal;
 import org.hibernate.rx.adaptor.impl.PreparedStatementAdaptor;
 import org.hibernate.rx.adaptor.impl.ResultSetAdaptor;
+import org.hibernate.rx.service.RxConnection;
 import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
+import org.hibernate.rx.util.impl.RxUtil;
 import org.hibernate.type.Type;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -24,28 +32,71 @@
 import java.util.function.Function;
 
 /**
- * A facade which simplifies execution of SQL against an
- * {@link org.hibernate.rx.service.RxConnection} obtained
- * via the {@link RxConnectionPoolProvider} service.
+ * A facade which simplifies execution of SQL against the
+ * {@link RxConnection} held by a reactive session, or, for
+ * a session which is not reactive, against a connection
+ * obtained via the {@link RxConnectionPoolProvider} service.
  */
 public class RxQueryExecutor {
 
-	public CompletionStage<Integer> update(String sql, Object[] paramValues, SessionFactoryImplementor factory) {
-		RxConnectionPoolProvider poolProvider = factory
-				.getServiceRegistry()
-				.getService( RxConnectionPoolProvider.class );
+	public CompletionStage<Integer> update(String sql, Object[] paramValues, SharedSessionContractImplementor session) {
+		return update( sql, asTuple(paramValues), session );
+	}
 
-		return poolProvider.getConnection()
-				.preparedQuery( sql, asTuple(paramValues) ).thenApply(SqlResult::rowCount);
+	/**
+	 * Execute the statement with parameters already bound to a
+	 * tuple, for example, by a {@link PreparedStatementAdaptor}.
+	 */
+	public CompletionStage<Integer> update(String sql, Tuple parameters, SharedSessionContractImplementor session) {
+		return connection( session )
+				.thenCompose( connection -> connection.preparedQuery( sql, parameters ) )
+				.thenApply(SqlResult::rowCount);
 	}
 
-	public CompletionStage<Optional<Integer>> updateReturning(String sql, Object[] paramValues, SessionFactoryImplementor factory) {
-		RxConnectionPoolProvider poolProvider = factory
-				.getServiceRegistry()
-				.getService( RxConnectionPoolProvider.class );
+	/**
+	 * Execute the statement on the given connection, instead of on
+	 * the connection held by a session.
+	 */
+	public CompletionStage<Integer> update(String sql, Object[] paramValues, RxConnection connection) {
+		return connection.preparedQuery( sql, asTuple(paramValues) )
+				.thenApply(SqlResult::rowCount);
+	}
+
+	/**
+	 * Add the statement to the {@link org.hibernate.rx.engine.spi.RxBatch batch}
+	 * held by the given session, deferring its execution, and the
+	 * verification of its row count, until the batch is executed.
+	 */
+	public CompletionStage<Void> updateBatched(String sql, Object[] paramValues, Expectation expectation,
+											   int batchSize, SharedSessionContractImplementor session) {
+		return updateBatched( sql, asTuple(paramValues), expectation, batchSize, session );
+	}
 
-		return poolProvider.getConnection()
-				.preparedQuery( sql, asTuple(paramValues) )
+	public CompletionStage<Void> updateBatched(String sql, Tuple parameters, Expectation expectation,
+											   int batchSize, SharedSessionContractImplementor session) {
+		if ( session instanceof RxSessionInternal ) {
+			return ( (RxSessionInternal) session ).getRxBatch()
+					.add( sql, parameters, expectation, batchSize );
+		}
+		return update( sql, parameters, session )
+				.thenAccept( count -> {
+					try {
+						expectation.verifyOutcome( count, null, -1 );
+					}
+					catch (SQLException e) {
+						//can't actually occur!
+						throw new JDBCException( "error while verifying result count", e );
+					}
+				} );
+	}
+
+	public CompletionStage<Optional<Integer>> updateReturning(String sql, Object[] paramValues, SharedSessionContractImplementor session) {
+		return updateReturning( sql, asTuple(paramValues), session );
+	}
+
+	public CompletionStage<Optional<Integer>> updateReturning(String sql, Tuple parameters, SharedSessionContractImplementor session) {
+		return connection( session )
+				.thenCompose( connection -> connection.preparedQuery( sql, parameters ) )
 				.thenApply( rows -> {
 					RowIterator<Row> iterator = rows.iterator();
 					Integer id = iterator.hasNext() ?
@@ -55,13 +106,55 @@ public CompletionStage<Optional<Integer>> updateReturning(String sql, Object[] p
 				});
 	}
 
-	public CompletionStage<Optional<Long>> selectLong(String sql, Object[] paramValues, SessionFactoryImplementor factory) {
-		RxConnectionPoolProvider poolProvider = factory
-				.getServiceRegistry()
-				.getService(RxConnectionPoolProvider.class);
+	/**
+	 * Execute a multi-row insert, and return the identifiers
+	 * generated for the inserted rows, in order. These are either
+	 * the rows returned by a {@code returning} clause or, on MySQL,
+	 * successive identifiers starting from the first identifier
+	 * generated by the statement, since MySQL allocates identifiers
+	 * to the rows of a simple multi-row insert at intervals of
+	 * {@code auto_increment_increment}.
+	 */
+	public CompletionStage<List<Integer>> updateReturning(String sql, Tuple parameters, int rowCount,
+														  SharedSessionContractImplementor session) {
+		return connection( session )
+				.thenCompose( connection -> connection.preparedQuery( sql, parameters )
+						.thenCompose( rows -> {
+							List<Integer> ids = new ArrayList<>( rowCount );
+							for ( Row row : rows ) {
+								ids.add( row.getInteger(0) );
+							}
+							if ( !ids.isEmpty() ) {
+								return RxUtil.completedFuture( ids );
+							}
+							Integer first = rows.property(MySQLClient.LAST_INSERTED_ID);
+							return connection.getAutoIncrementIncrement().thenApply( increment -> {
+								for ( int i = 0; i < rowCount; i++ ) {
+									ids.add( first + i * increment );
+								}
+								return ids;
+							} );
+						} ) )
+				.thenApply( ids -> {
+					if ( ids.size() != rowCount ) {
+						throw new HibernateException( "expected " + rowCount + " generated identifiers, but got " + ids.size() );
+					}
+					return ids;
+				});
+	}
+
+	public CompletionStage<Optional<Long>> selectLong(String sql, Object[] paramValues, SharedSessionContractImplementor session) {
+		return connection( session )
+				.thenCompose( connection -> selectLong( sql, paramValues, connection ) );
+	}
 
-		return poolProvider.getConnection()
-				.preparedQuery( sql, asTuple( paramValues) ).thenApply(rowSet -> {
+	/**
+	 * Execute the query on the given connection, instead of on
+	 * the connection held by a session.
+	 */
+	public CompletionStage<Optional<Long>> selectLong(String sql, Object[] paramValues, RxConnection connection) {
+		return connection.preparedQuery( sql, asTuple( paramValues) )
+				.thenApply(rowSet -> {
 					for (Row row: rowSet) {
 						return Optional.ofNullable( row.getLong(0) );
 					}
@@ -69,24 +162,115 @@ public CompletionStage<Optional<Long>> selectLong(String sql, Object[] paramValu
 				});
 	}
 
+	/**
+	 * Execute a query which returns a single column of type
+	 * {@code long}, and return a list of the values.
+	 */
+	public CompletionStage<List<Long>> selectLongs(String sql, Object[] paramValues, SharedSessionContractImplementor session) {
+		return connection( session )
+				.thenCompose( connection -> connection.preparedQuery( sql, asTuple( paramValues) ) )
+				.thenApply(rowSet -> {
+					List<Long> result = new ArrayList<>();
+					for (Row row: rowSet) {
+						result.add( row.getLong(0) );
+					}
+					return result;
+				});
+	}
+
 	/**
 	 * @param transformer Convert the result of the query to a list of entities
 	 */
 	public CompletionStage<List<?>> execute(String sql, QueryParameters queryParameters,
 										 SessionImplementor session,
 										 Function<ResultSet, List<Object>> transformer) {
-		RxConnectionPoolProvider poolProvider = session.getSessionFactory()
+		return readConnection( queryParameters, session )
+				.thenCompose( connection -> connection.preparedQuery( sql, asTuple( queryParameters, session ) ) )
+				.thenApply( rowset -> transformer.apply( new ResultSetAdaptor(rowset) ) );
+	}
+
+	/**
+	 * Execute the query, binding the given parameter values as they
+	 * are, instead of the positional parameters of the given
+	 * {@link QueryParameters}.
+	 *
+	 * @param transformer Convert the result of the query to a list of entities
+	 */
+	public CompletionStage<List<?>> execute(String sql, Object[] paramValues,
+											 QueryParameters queryParameters,
+											 SessionImplementor session,
+											 Function<ResultSet, List<Object>> transformer) {
+		return readConnection( queryParameters, session )
+				.thenCompose( connection -> connection.preparedQuery( sql, asTuple( paramValues ) ) )
+				.thenApply( rowset -> transformer.apply( new ResultSetAdaptor(rowset) ) );
+	}
+
+	/**
+	 * The connection held by the given session, if it's a
+	 * reactive session, or a pooled connection otherwise.
+	 * Any batched statements held by the session are executed
+	 * first, so that statements are always executed in order.
+	 */
+	private static CompletionStage<RxConnection> connection(SharedSessionContractImplementor session) {
+		if ( session instanceof RxSessionInternal ) {
+			RxSessionInternal rxSession = (RxSessionInternal) session;
+			return rxSession.getRxBatch().execute()
+					.thenCompose( v -> rxSession.getRxConnection() );
+		}
+		RxConnectionPoolProvider poolProvider = session.getFactory()
 				.getServiceRegistry()
 				.getService( RxConnectionPoolProvider.class );
+		return RxUtil.completedFuture( poolProvider.getConnection( session.getTenantIdentifier() ) );
+	}
 
-		return poolProvider.getConnection()
-				.preparedQuery( sql, asTuple( queryParameters, session ) )
-				.thenApply( rowset -> transformer.apply( new ResultSetAdaptor(rowset) ) );
+	/**
+	 * A connection for the given query: a connection to a read
+	 * replica if the query {@link #isReplicaRead may be served by
+	 * a replica}, or the {@link #connection connection} used for
+	 * writes otherwise.
+	 */
+	private static CompletionStage<RxConnection> readConnection(QueryParameters queryParameters,
+																 SessionImplementor session) {
+		if ( !isReplicaRead( queryParameters, session ) ) {
+			return connection( session );
+		}
+		if ( session instanceof RxSessionInternal ) {
+			RxSessionInternal rxSession = (RxSessionInternal) session;
+			return rxSession.getRxBatch().execute()
+					.thenCompose( v -> rxSession.getRxReadConnection() );
+		}
+		RxConnectionPoolProvider poolProvider = session.getFactory()
+				.getServiceRegistry()
+				.getService( RxConnectionPoolProvider.class );
+		return RxUtil.completedFuture( poolProvider.getReplicaConnection() );
+	}
+
+	/**
+	 * May the given query be served by a read replica? That's
+	 * the case if it is read-only, either because of the hint
+	 * {@link org.hibernate.jpa.QueryHints#HINT_READONLY} or
+	 * because the session is read-only, and doesn't obtain any
+	 * lock stronger than {@link LockMode#READ}. The replicas
+	 * hold the data of the default tenant only.
+	 */
+	private static boolean isReplicaRead(QueryParameters queryParameters, SessionImplementor session) {
+		if ( session.getTenantIdentifier() != null ) {
+			return false;
+		}
+		final LockOptions lockOptions = queryParameters.getLockOptions();
+		if ( lockOptions != null && lockOptions.findGreatestLockMode().greaterThan( LockMode.READ ) ) {
+			return false;
+		}
+		if ( queryParameters.isReadOnlyInitialized() ) {
+			return queryParameters.isReadOnly();
+		}
+		final Boolean readOnly = session.getLoadQueryInfluencers().getReadOnly();
+		return readOnly != null ? readOnly : session.isDefaultReadOnly();
 	}
 
 	private Tuple asTuple(QueryParameters queryParameters, SessionImplementor session) {
-		PreparedStatementAdaptor adaptor = new PreparedStatementAdaptor();
 		Type[] types = queryParameters.getPositionalParameterTypes();
+		PreparedStatementAdaptor adaptor = new PreparedStatementAdaptor( types.length );
 		Object[] values = queryParameters.getPositionalParameterValues();
 		int n = 1;
 		for (int i = 0; i < types.length; i++) {
@@ -101,7 +285,7 @@ private Tuple asTuple(QueryParameters queryParameters, SessionImplementor sessio
 				throw new JDBCException("error binding parameters", e);
 			}
 		}
-		return asTuple( adaptor.getParametersAsArray() );
+		return adaptor.getParametersAsTuple();
 	}
 
 	private Tuple asTuple(Object[] values) {
@@ -7,10 +7,12 @@
 import org.hibernate.rx.RxSessionInternal;
 
 import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 
 /**
  * Implements the {@link RxSession} API. This delegating class is
@@ -77,6 +79,11 @@ public CompletionStage<RxSession> persist(Object entity) {
 		return delegate.rxPersist( entity ).thenApply( v-> this );
 	}
 
+	@Override
+	public CompletionStage<RxSession> persistAll(Collection<?> entities) {
+		return delegate.rxPersistAll( entities ).thenApply( v-> this );
+	}
+
 	@Override
 	public CompletionStage<RxSession> remove(Object entity) {
 		return delegate.rxRemove( entity ).thenApply( v-> this );
@@ -132,6 +139,17 @@ public RxSession setFlushMode(FlushMode flushMode) {
 		return this;
 	}
 
+	@Override
+	public RxSession setDefaultReadOnly(boolean readOnly) {
+		delegate.setDefaultReadOnly(readOnly);
+		return this;
+	}
+
+	@Override
+	public boolean isDefaultReadOnly() {
+		return delegate.isDefaultReadOnly();
+	}
+
 	public CacheMode getCacheMode() {
 		return delegate.getCacheMode();
 	}
@@ -186,6 +204,11 @@ public Filter getEnabledFilter(String filterName) {
 		return delegate.getEnabledFilter(filterName);
 	}*/
 
+	@Override
+	public <T> CompletionStage<T> withTransaction(Function<RxSession, CompletionStage<T>> work) {
+		return delegate.rxWithTransaction( work );
+	}
+
 	@Override
 	public void close() {
 		delegate.close();
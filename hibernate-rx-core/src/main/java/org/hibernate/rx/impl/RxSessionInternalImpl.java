@@ -22,13 +22,21 @@
 import org.hibernate.rx.RxSession;
 import org.hibernate.rx.RxSessionInternal;
 import org.hibernate.rx.engine.spi.RxActionQueue;
+import org.hibernate.rx.engine.spi.RxBatch;
 import org.hibernate.rx.event.spi.*;
 import org.hibernate.rx.persister.entity.impl.RxEntityPersister;
+import org.hibernate.rx.persister.entity.impl.RxIdentifierGenerator;
+import org.hibernate.rx.service.RxConnection;
+import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
 import org.hibernate.rx.util.impl.RxUtil;
 
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.LockModeType;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -46,6 +54,13 @@
 public class RxSessionInternalImpl extends SessionImpl implements RxSessionInternal, EventSource {
 
 	private transient RxActionQueue rxActionQueue = new RxActionQueue( this );
+	private transient RxBatch rxBatch = new RxBatch( this );
+
+	//the connection is obtained lazily, and held until the session is closed
+	private transient CompletionStage<RxConnection> connection;
+
+	//identifiers obtained in advance by rxPersistAll()
+	private transient Map<Object, Object> generatedIds;
 
 	public RxSessionInternalImpl(SessionFactoryImpl delegate, SessionCreationOptions options) {
 		super( delegate, options );
@@ -56,6 +71,88 @@ public RxActionQueue getRxActionQueue() {
 		return rxActionQueue;
 	}
 
+	@Override
+	public RxBatch getRxBatch() {
+		return rxBatch;
+	}
+
+	@Override
+	public CompletionStage<RxConnection> getRxConnection() {
+		if ( connection == null ) {
+			//a session which is writing gets priority over readers
+			boolean writing = getPersistenceContext().isFlushing()
+					|| rxActionQueue.hasAnyQueuedActions()
+					|| !rxBatch.isEmpty();
+			CompletionStage<RxConnection> opened = getFactory().getServiceRegistry()
+					.getService( RxConnectionPoolProvider.class )
+					.openConnection( getTenantIdentifier(), writing );
+			connection = opened;
+			//if the request was rejected, the next request may try again
+			opened.whenComplete( (c, x) -> {
+				if ( x != null && connection == opened ) {
+					connection = null;
+				}
+			} );
+			return opened;
+		}
+		return connection;
+	}
+
+	@Override
+	public CompletionStage<RxConnection> getRxReadConnection() {
+		final RxConnectionPoolProvider poolProvider = getFactory().getServiceRegistry()
+				.getService( RxConnectionPoolProvider.class );
+		//the replicas hold the data of the default tenant only
+		if ( !poolProvider.hasReplicas() || getTenantIdentifier() != null ) {
+			return getRxConnection();
+		}
+		if ( connection == null ) {
+			return RxUtil.completedFuture( poolProvider.getReplicaConnection() );
+		}
+		//reads within a transaction must see its writes and locks
+		return connection.thenApply( c -> c.isTransactionInProgress() ? c : poolProvider.getReplicaConnection() );
+	}
+
+	@Override
+	public <T> CompletionStage<T> rxWithTransaction(Function<RxSession, CompletionStage<T>> work) {
+		checkOpen();
+		return getRxConnection().thenCompose( connection -> {
+			if ( connection.isTransactionInProgress() ) {
+				//join the existing transaction
+				return work.apply( reactive() );
+			}
+			return connection.beginTransaction()
+					.thenCompose( v -> work.apply( reactive() ) )
+					.thenCompose( result -> flushBeforeCommit().thenApply( v -> result ) )
+					.handle( (result, e) -> e == null
+							? connection.commitTransaction().thenApply( v -> result )
+							: rollback( connection ).<T>handle( (v, x) -> RxUtil.rethrow( e ) ) )
+					.thenCompose( Function.identity() );
+		} );
+	}
+
+	private CompletionStage<Void> rollback(RxConnection connection) {
+		//discard any statements which were never sent
+		rxBatch.clear();
+		return connection.rollbackTransaction();
+	}
+
+	private CompletionStage<Void> flushBeforeCommit() {
+		return getHibernateFlushMode() == FlushMode.MANUAL
+				? RxUtil.nullFuture()
+				: doFlush();
+	}
+
+	@Override
+	public void close() throws HibernateException {
+		rxBatch.clear();
+		if ( connection != null ) {
+			connection.thenAccept( RxConnection::close );
+			connection = null;
+		}
+		super.close();
+	}
+
 	@Override
 	public RxSession reactive() {
 		return new RxSessionImpl( this );
@@ -102,6 +199,51 @@ public CompletionStage<Void> rxPersist(Object object, IdentitySet copiedAlready)
 		return firePersist( copiedAlready, new PersistEvent( null, object, this ) );
 	}
 
+	@Override
+	public CompletionStage<Void> rxPersistAll(Collection<?> entities) {
+		checkOpen();
+
+		// group the new instances by entity, and obtain
+		// all the identifiers for each entity at once
+		Map<RxEntityPersister, List<Object>> transientEntities = new LinkedHashMap<>();
+		for ( Object entity : entities ) {
+			EntityPersister persister = getEntityPersister( null, entity );
+			if ( !persister.isIdentifierAssignedByInsert()
+					&& persister.getIdentifier( entity, this ) == null ) {
+				transientEntities.computeIfAbsent( (RxEntityPersister) persister, p -> new ArrayList<>() )
+						.add( entity );
+			}
+		}
+
+		CompletionStage<Void> stage = RxUtil.nullFuture();
+		for ( Map.Entry<RxEntityPersister, List<Object>> entry : transientEntities.entrySet() ) {
+			stage = stage.thenCompose( v -> generateIds( entry.getKey(), entry.getValue() ) );
+		}
+		for ( Object entity : entities ) {
+			stage = stage.thenCompose( v -> rxPersist( entity ) );
+		}
+		// forget any identifiers which were not used
+		return stage.whenComplete( (v, x) -> generatedIds = null );
+	}
+
+	private CompletionStage<Void> generateIds(RxEntityPersister persister, List<Object> entities) {
+		RxIdentifierGenerator<?> generator = persister.getRxIdentifierGenerator();
+		return generator.generate( entities.size(), this )
+				.thenAccept( ids -> {
+					if ( generatedIds == null ) {
+						generatedIds = new IdentityHashMap<>();
+					}
+					for ( int i = 0; i < ids.size(); i++ ) {
+						generatedIds.put( entities.get( i ), ids.get( i ) );
+					}
+				} );
+	}
+
+	@Override
+	public Object removeGeneratedId(Object entity) {
+		return generatedIds == null ? null : generatedIds.remove( entity );
+	}
+
 	// Should be similar to firePersist
 	private CompletionStage<Void> firePersist(PersistEvent event) {
 		checkTransactionSynchStatus();
@@ -0,0 +1,105 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.mysqlclient.MySQLClient;
+import io.vertx.axle.sqlclient.*;
+import org.hibernate.rx.service.RxConnection;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.util.impl.RxUtil;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Executes the statements of a reactive connection via a Vert.x
+ * {@link SqlClient}, either a {@link Pool} or a single pooled
+ * {@link SqlConnection}, notifying the listener and logging each
+ * statement when it completes.
+ *
+ * @see PoolConnection
+ * @see SqlClientConnection
+ */
+abstract class SqlClientAdaptor implements RxConnection {
+
+	private final SqlClient client;
+	private final SqlStatementLogger sqlLogger;
+	final RxConnectionListener listener;
+
+	private volatile Integer autoIncrementIncrement;
+
+	SqlClientAdaptor(SqlClient client, SqlStatementLogger sqlLogger, RxConnectionListener listener) {
+		this.client = client;
+		this.sqlLogger = sqlLogger;
+		this.listener = listener;
+	}
+
+	@Override
+	public CompletionStage<Integer> update(String sql) {
+		return preparedQuery( sql ).thenApply(SqlResult::rowCount);
+	}
+
+	@Override
+	public CompletionStage<Integer> update(String sql, Tuple parameters) {
+		return preparedQuery( sql, parameters ).thenApply(SqlResult::rowCount);
+	}
+
+	@Override
+	public CompletionStage<int[]> updateBatch(String sql, List<Tuple> parameters) {
+		final long start = System.nanoTime();
+		return executed( sql, parameters, start, client.preparedBatch( sql, parameters ) ).thenApply( rows -> {
+			int[] rowCounts = new int[ parameters.size() ];
+			RowSet<Row> result = rows;
+			for ( int i = 0; i < rowCounts.length && result != null; i++ ) {
+				rowCounts[i] = result.rowCount();
+				result = result.next();
+			}
+			return rowCounts;
+		} );
+	}
+
+	@Override
+	public CompletionStage<Optional<Integer>> updateReturning(String sql, Tuple parameters) {
+		return preparedQuery( sql, parameters )
+				.thenApply( rows -> Optional.ofNullable( rows.property(MySQLClient.LAST_INSERTED_ID) ) );
+	}
+
+	@Override
+	public CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple parameters) {
+		final long start = System.nanoTime();
+		return executed( sql, parameters, start, client.preparedQuery( sql, parameters ) );
+	}
+
+	@Override
+	public CompletionStage<RowSet<Row>> preparedQuery(String sql) {
+		final long start = System.nanoTime();
+		return executed( sql, null, start, client.preparedQuery( sql ) );
+	}
+
+	/**
+	 * The value is read once, and then cached for the lifetime
+	 * of this object.
+	 */
+	@Override
+	public CompletionStage<Integer> getAutoIncrementIncrement() {
+		Integer increment = autoIncrementIncrement;
+		if ( increment != null ) {
+			return RxUtil.completedFuture( increment );
+		}
+		return RxConnection.super.getAutoIncrementIncrement()
+				.thenApply( value -> autoIncrementIncrement = value );
+	}
+
+	/**
+	 * Notify the listener, and log the statement, when it completes.
+	 */
+	private CompletionStage<RowSet<Row>> executed(String sql, Object parameters, long start,
+												  CompletionStage<RowSet<Row>> result) {
+		return result.whenComplete( (rows, x) -> {
+			long executionNanos = System.nanoTime() - start;
+			listener.statementExecuted( sql, executionNanos, x );
+			if ( sqlLogger.isEnabled() ) {
+				sqlLogger.log( sql, parameters, executionNanos, SqlStatementLogger.rowCount( rows ), x );
+			}
+		} );
+	}
+}
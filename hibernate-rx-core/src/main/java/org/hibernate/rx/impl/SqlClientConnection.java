@@ -0,0 +1,72 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.sqlclient.SqlConnection;
+import io.vertx.axle.sqlclient.Transaction;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.util.impl.RxUtil;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A reactive connection pinned to a single Vert.x
+ * {@link SqlConnection} checked out of the pool. All
+ * statements are executed on the same database connection,
+ * allowing them to participate in a transaction. Closing
+ * this object returns the connection to the pool.
+ *
+ * @see PoolConnection
+ */
+public class SqlClientConnection extends SqlClientAdaptor {
+
+	private final SqlConnection connection;
+
+	private Transaction transaction;
+
+	public SqlClientConnection(SqlConnection connection, SqlStatementLogger sqlLogger, RxConnectionListener listener) {
+		super( connection, sqlLogger, listener );
+		this.connection = connection;
+	}
+
+	@Override
+	public CompletionStage<Void> beginTransaction() {
+		if ( transaction != null ) {
+			return RxUtil.failedFuture( new IllegalStateException( "transaction already in progress" ) );
+		}
+		transaction = connection.begin();
+		return RxUtil.nullFuture();
+	}
+
+	@Override
+	public CompletionStage<Void> commitTransaction() {
+		if ( transaction == null ) {
+			return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
+		}
+		Transaction tx = transaction;
+		transaction = null;
+		return tx.commit();
+	}
+
+	@Override
+	public CompletionStage<Void> rollbackTransaction() {
+		if ( transaction == null ) {
+			return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
+		}
+		Transaction tx = transaction;
+		transaction = null;
+		return tx.rollback();
+	}
+
+	@Override
+	public boolean isTransactionInProgress() {
+		return transaction != null;
+	}
+
+	@Override
+	public void close() {
+		// an uncommitted transaction is rolled back
+		// when the connection is returned to the pool
+		transaction = null;
+		connection.close();
+		listener.connectionReleased();
+	}
+}
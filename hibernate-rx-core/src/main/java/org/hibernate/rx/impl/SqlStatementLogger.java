@@ -0,0 +1,228 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.RowSet;
+import io.vertx.axle.sqlclient.Tuple;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.util.impl.RingBuffer;
+import org.jboss.logging.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Logs the SQL statements executed by {@link PoolConnection}s and
+ * {@link SqlClientConnection}s, without blocking the event loop.
+ * <p>
+ * The event loop only adds an entry to a lock-free
+ * {@link RingBuffer}, and the entries are formatted and written by
+ * a dedicated daemon thread. If the buffer fills up, entries are
+ * dropped and {@link #getDroppedCount() counted}, rather than
+ * slowing down the event loop.
+ * <p>
+ * Statements are written to standard output if
+ * {@link AvailableSettings#SHOW_SQL} is enabled. Statements which
+ * take longer than {@link RxSettings#SQL_LOG_SLOW_QUERY_THRESHOLD}
+ * are logged to the category {@code org.hibernate.SQL_SLOW}, and,
+ * if a threshold is given, only those statements are written to
+ * standard output.
+ */
+public final class SqlStatementLogger implements AutoCloseable {
+
+	private static final Logger SLOW_LOG = Logger.getLogger( "org.hibernate.SQL_SLOW" );
+
+	public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+	private final boolean showSQL;
+	private final boolean logParameters;
+	private final long thresholdNanos;
+	private final boolean enabled;
+
+	private final RingBuffer<Entry> buffer;
+	private final LongAdder dropped = new LongAdder();
+	private final Thread writer;
+	private volatile boolean closed;
+	//set while the writer is parked, or about to park
+	private volatile boolean idle;
+
+	public SqlStatementLogger(Map configurationValues) {
+		showSQL = ConfigurationHelper.getBoolean( AvailableSettings.SHOW_SQL, configurationValues, false );
+		logParameters = ConfigurationHelper.getBoolean( RxSettings.SQL_LOG_PARAMETERS, configurationValues, false );
+		int thresholdMillis = ConfigurationHelper.getInt( RxSettings.SQL_LOG_SLOW_QUERY_THRESHOLD, configurationValues, -1 );
+		thresholdNanos = thresholdMillis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos( thresholdMillis );
+		enabled = showSQL || thresholdNanos >= 0;
+
+		if ( enabled ) {
+			int bufferSize = ConfigurationHelper.getInt( RxSettings.SQL_LOG_BUFFER_SIZE, configurationValues, DEFAULT_BUFFER_SIZE );
+			buffer = new RingBuffer<>( bufferSize );
+			writer = new Thread( this::drain, "hibernate-rx-sql-log" );
+			writer.setDaemon( true );
+			writer.start();
+		}
+		else {
+			buffer = null;
+			writer = null;
+		}
+	}
+
+	/**
+	 * Is any statement ever logged? If not, there's no need to
+	 * call {@link #log}.
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Log an executed statement, if it's slow enough. Called on the
+	 * event loop, and so it does nothing more than add an entry to
+	 * the buffer.
+	 *
+	 * @param parameters a {@link Tuple}, a list of tuples, or
+	 *                   {@code null}
+	 * @param rowCount the number of rows affected or returned, or
+	 *                 {@code -1} if the statement failed
+	 * @param failure the exception if the statement failed
+	 */
+	public void log(String sql, Object parameters, long executionNanos, int rowCount, Throwable failure) {
+		if ( !enabled || executionNanos < thresholdNanos ) {
+			return;
+		}
+		Entry entry = new Entry( sql, logParameters ? parameters : null, executionNanos, rowCount, failure );
+		if ( !buffer.offer( entry ) ) {
+			dropped.increment();
+		}
+		else if ( idle ) {
+			LockSupport.unpark( writer );
+		}
+	}
+
+	/**
+	 * The total number of rows affected or returned by a statement
+	 * or batch, or {@code -1} if there is no result.
+	 */
+	public static int rowCount(RowSet<Row> rows) {
+		int count = rows == null ? -1 : 0;
+		for ( RowSet<Row> result = rows; result != null; result = result.next() ) {
+			count += result.rowCount();
+		}
+		return count;
+	}
+
+	/**
+	 * The number of entries dropped because the buffer was full.
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	/**
+	 * Stop the writer thread, after writing any remaining entries.
+	 */
+	@Override
+	public void close() {
+		if ( writer != null && !closed ) {
+			closed = true;
+			LockSupport.unpark( writer );
+			try {
+				writer.join( TimeUnit.SECONDS.toMillis( 1 ) );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	/**
+	 * Write entries until the logger is closed, parking while the
+	 * buffer is empty. The writer announces that it's idle before
+	 * checking the buffer one last time, so that an entry added
+	 * concurrently is either seen by the writer, or else followed
+	 * by a call to {@code unpark()}.
+	 */
+	private void drain() {
+		while ( true ) {
+			Entry entry = buffer.poll();
+			if ( entry == null ) {
+				idle = true;
+				entry = buffer.poll();
+				if ( entry == null ) {
+					if ( closed ) {
+						return;
+					}
+					LockSupport.park( this );
+				}
+				idle = false;
+			}
+			if ( entry != null ) {
+				write( entry );
+			}
+		}
+	}
+
+	private void write(Entry entry) {
+		String message = entry.format();
+		if ( showSQL ) {
+			System.out.println( message );
+		}
+		if ( thresholdNanos >= 0 ) {
+			SLOW_LOG.info( message );
+		}
+	}
+
+	private static final class Entry {
+		final String sql;
+		final Object parameters;
+		final long executionNanos;
+		final int rowCount;
+		final Throwable failure;
+
+		Entry(String sql, Object parameters, long executionNanos, int rowCount, Throwable failure) {
+			this.sql = sql;
+			this.parameters = parameters;
+			this.executionNanos = executionNanos;
+			this.rowCount = rowCount;
+			this.failure = failure;
+		}
+
+		String format() {
+			StringBuilder message = new StringBuilder( sql );
+			if ( parameters instanceof Tuple ) {
+				message.append( " with parameters " );
+				append( message, (Tuple) parameters );
+			}
+			else if ( parameters instanceof List ) {
+				message.append( " with parameters " );
+				for ( Object tuple : (List<?>) parameters ) {
+					append( message, (Tuple) tuple );
+				}
+			}
+			message.append( " [" )
+					.append( TimeUnit.NANOSECONDS.toMicros( executionNanos ) / 1000.0 )
+					.append( " ms" );
+			if ( failure != null ) {
+				message.append( ", failed: " ).append( failure.getMessage() );
+			}
+			else {
+				message.append( ", " ).append( rowCount ).append( " rows" );
+			}
+			return message.append( ']' ).toString();
+		}
+
+		private static void append(StringBuilder message, Tuple tuple) {
+			message.append( '(' );
+			for ( int i = 0; i < tuple.size(); i++ ) {
+				if ( i > 0 ) {
+					message.append( ", " );
+				}
+				message.append( tuple.getValue( i ) );
+			}
+			message.append( ')' );
+		}
+	}
+}
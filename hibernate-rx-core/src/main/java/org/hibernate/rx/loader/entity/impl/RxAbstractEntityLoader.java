@@ -215,6 +215,29 @@ protected CompletionStage<List<?>> executeRxQueryStatement(
 		return new RxQueryExecutor().execute( sql, queryParameters, session, transformer );
 	}
 
+	/**
+	 * Execute the query, binding the given parameter values instead
+	 * of the positional parameters of the given {@link QueryParameters},
+	 * which must not involve any filters.
+	 */
+	protected CompletionStage<List<?>> executeRxQueryStatement(
+			String sqlStatement,
+			Object[] paramValues,
+			QueryParameters queryParameters,
+			List<AfterLoadAction> afterLoadActions,
+			SessionImplementor session,
+			Function<ResultSet, List<Object>> transformer) {
+
+		// Applying LIMIT clause.
+		final LimitHandler limitHandler = getLimitHandler( queryParameters.getRowSelection() );
+		String sql = limitHandler.processSql( sqlStatement, queryParameters.getRowSelection() );
+
+		// Adding locks and comments.
+		sql = preprocessSQL( sql, queryParameters, getFactory(), afterLoadActions );
+
+		return new RxQueryExecutor().execute( sql, paramValues, queryParameters, session, transformer );
+	}
+
 
 	@Override
 	public CompletionStage<Optional<Object>> load(Serializable id, Object optionalObject, SharedSessionContractImplementor session) {
@@ -3,6 +3,7 @@
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.engine.internal.BatchFetchQueueHelper;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
@@ -12,6 +13,7 @@
 import org.hibernate.event.spi.LoadEventListener;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.loader.entity.BatchingEntityLoader;
 import org.hibernate.loader.entity.CacheEntityLoaderHelper;
@@ -21,6 +23,7 @@
 import org.hibernate.persister.entity.MultiLoadOptions;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.rx.persister.entity.impl.RxAbstractEntityPersister;
 import org.hibernate.rx.sql.impl.Parameters;
 import org.hibernate.rx.util.impl.RxUtil;
 import org.hibernate.type.Type;
@@ -28,11 +31,15 @@
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
@@ -103,13 +110,7 @@ private CompletionStage<List<?>> performOrderedBatchLoad(
 			OuterJoinLoadable persister,
 			SessionImplementor session) {
 		final int batchSize =  idsInBatch.size();
-		final RxDynamicEntityLoader batchingLoader = new RxDynamicEntityLoader(
-				persister,
-				batchSize,
-				lockOptions,
-				session.getFactory(),
-				session.getLoadQueryInfluencers()
-		);
+		final RxDynamicEntityLoader batchingLoader = getLoader( persister, batchSize, lockOptions, session );
 
 		final Serializable[] idsInBatchArray = idsInBatch.toArray(new Serializable[0]);
 		QueryParameters qp = buildMultiLoadQueryParameters( persister, idsInBatchArray, lockOptions );
@@ -211,6 +212,11 @@ protected CompletionStage<List<?>> performUnorderedMultiLoad(
 		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
 			maxBatchSize = loadOptions.getBatchSize();
 		}
+		else if ( isArrayBindingSupported( persister, session.getFactory(), session.getLoadQueryInfluencers() ) ) {
+			// the ids are bound as a single parameter, so there's
+			// no need to split them into batches
+			maxBatchSize = numberOfIdsLeft;
+		}
 		else {
 			maxBatchSize = session.getJdbcServices().getJdbcEnvironment().getDialect()
 					.getDefaultBatchLoadSizingStrategy()
@@ -225,13 +231,7 @@ protected CompletionStage<List<?>> performUnorderedMultiLoad(
 		int idPosition = 0;
 		while ( numberOfIdsLeft > 0 ) {
 			int batchSize =  Math.min( numberOfIdsLeft, maxBatchSize );
-			final RxDynamicEntityLoader batchingLoader = new RxDynamicEntityLoader(
-					persister,
-					batchSize,
-					lockOptions,
-					session.getFactory(),
-					session.getLoadQueryInfluencers()
-			);
+			final RxDynamicEntityLoader batchingLoader = getLoader( persister, lockOptions, session );
 
 			Serializable[] idsInBatch = new Serializable[batchSize];
 			System.arraycopy( ids, idPosition, idsInBatch, 0, batchSize );
@@ -249,6 +249,46 @@ protected CompletionStage<List<?>> performUnorderedMultiLoad(
 		return stage.thenApply( v -> result  );
 	}
 
+	/**
+	 * Obtain a loader for the given lock options, from the cache
+	 * belonging to the given persister if possible. The loader
+	 * serves batches of any size.
+	 */
+	private static RxDynamicEntityLoader getLoader(
+			OuterJoinLoadable persister,
+			LockOptions lockOptions,
+			SessionImplementor session) {
+		final LoadQueryInfluencers influencers = session.getLoadQueryInfluencers();
+		if ( persister instanceof RxAbstractEntityPersister && LoaderCache.isCacheable( influencers, lockOptions ) ) {
+			return ( (RxAbstractEntityPersister) persister ).getDynamicLoaderCache()
+					.getLoader( persister, lockOptions.getLockMode(), influencers.getInternalFetchProfile() );
+		}
+		return new RxDynamicEntityLoader(
+				persister,
+				-1,
+				lockOptions,
+				session.getFactory(),
+				influencers
+		);
+	}
+
+	/**
+	 * Can the ids be bound to a single array-valued parameter, using
+	 * {@code = any($1)}, instead of being expanded into an {@code in}
+	 * list? This results in the same SQL for every batch size, so a
+	 * single prepared statement serves every batch. It's supported on
+	 * PostgreSQL for single-column ids, when there are no filters with
+	 * parameters of their own.
+	 */
+	private static boolean isArrayBindingSupported(
+			OuterJoinLoadable persister,
+			SessionFactoryImplementor factory,
+			LoadQueryInfluencers influencers) {
+		return factory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect
+				&& persister.getIdentifierColumnNames().length == 1
+				&& !influencers.hasEnabledFilters();
+	}
+
 	public static QueryParameters buildMultiLoadQueryParameters(
 			OuterJoinLoadable persister,
 			Serializable[] ids,
@@ -411,6 +451,11 @@ private CompletionStage<List<?>> performOrderedMultiLoad(
 		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
 			maxBatchSize = loadOptions.getBatchSize();
 		}
+		else if ( isArrayBindingSupported( persister, session.getFactory(), session.getLoadQueryInfluencers() ) ) {
+			// the ids are bound as a single parameter, so there's
+			// no need to split them into batches
+			maxBatchSize = ids.length;
+		}
 		else {
 			maxBatchSize = session.getJdbcServices().getJdbcEnvironment().getDialect().getDefaultBatchLoadSizingStrategy().determineOptimalBatchLoadSize(
 					persister.getIdentifierType().getColumnSpan( session.getFactory() ),
@@ -514,38 +559,123 @@ private CompletionStage<List<?>> performOrderedMultiLoad(
 		});
 	}
 
+	/**
+	 * A bounded cache of the loaders used by {@link #multiLoad} for
+	 * a single entity, keyed by lock mode and internal fetch profile,
+	 * so that the join walker runs, and the SQL template is rendered,
+	 * just once for each shape of query. The template doesn't depend
+	 * on the batch size, since the ids are only expanded into it when
+	 * the query is executed, if at all. Each
+	 * persister holds its own cache, and so the cache belongs to a
+	 * single session factory.
+	 * <p>
+	 * Loaders affected by enabled filters, fetch profiles, or entity
+	 * graphs are never cached, and neither are loaders for lock
+	 * options with anything more than a lock mode, that is, with a
+	 * timeout, a scope, follow-on locking, or lock modes for aliases.
+	 */
+	public static final class LoaderCache {
+		private static final int MAX_LOADERS = 64;
+
+		private final Map<LoaderKey, RxDynamicEntityLoader> loaders =
+				new BoundedConcurrentHashMap<>( MAX_LOADERS, 4, BoundedConcurrentHashMap.Eviction.LIRS );
+
+		static boolean isCacheable(LoadQueryInfluencers influencers, LockOptions lockOptions) {
+			return !influencers.hasEnabledFilters()
+					&& !influencers.hasEnabledFetchProfiles()
+					&& influencers.getEffectiveEntityGraph().getGraph() == null
+					&& lockOptions.getTimeOut() == LockOptions.WAIT_FOREVER
+					&& !lockOptions.getScope()
+					&& lockOptions.getFollowOnLocking() == null
+					&& lockOptions.getAliasLockCount() == 0;
+		}
+
+		RxDynamicEntityLoader getLoader(
+				OuterJoinLoadable persister,
+				LockMode lockMode,
+				String internalFetchProfile) {
+			final LoaderKey key = new LoaderKey( lockMode, internalFetchProfile );
+			RxDynamicEntityLoader loader = loaders.get( key );
+			if ( loader == null ) {
+				// don't hold on to the influencers of the session
+				final SessionFactoryImplementor factory = persister.getFactory();
+				final LoadQueryInfluencers influencers = new LoadQueryInfluencers( factory );
+				influencers.setInternalFetchProfile( internalFetchProfile );
+				loader = new RxDynamicEntityLoader( persister, -1, lockMode, factory, influencers );
+				// a concurrent caller might have built an equivalent loader,
+				// in which case it doesn't matter which one ends up cached
+				loaders.put( key, loader );
+			}
+			return loader;
+		}
+	}
+
+	private static final class LoaderKey {
+		private final LockMode lockMode;
+		private final String internalFetchProfile;
+
+		LoaderKey(LockMode lockMode, String internalFetchProfile) {
+			this.lockMode = lockMode;
+			this.internalFetchProfile = internalFetchProfile;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			LoaderKey key = (LoaderKey) o;
+			return lockMode == key.lockMode
+					&& Objects.equals( internalFetchProfile, key.internalFetchProfile );
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash( lockMode, internalFetchProfile );
+		}
+	}
+
 	private static class RxDynamicEntityLoader extends RxEntityLoader {
 		// todo : see the discussion on org.hibernate.loader.collection.DynamicBatchingCollectionInitializerBuilder.DynamicBatchingCollectionLoader
 
 		private final String sqlTemplate;
 		private final String alias;
+		private final boolean arrayBinding;
 
 		public RxDynamicEntityLoader(
 				OuterJoinLoadable persister,
 				int maxBatchSize,
-				LockOptions lockOptions,
+				LockMode lockMode,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers loadQueryInfluencers) {
-			this( persister, maxBatchSize, lockOptions.getLockMode(), factory, loadQueryInfluencers );
+			this( persister, maxBatchSize, new LockOptions( lockMode ), factory, loadQueryInfluencers );
 		}
 
 		public RxDynamicEntityLoader(
 				OuterJoinLoadable persister,
 				int maxBatchSize,
-				LockMode lockMode,
+				LockOptions lockOptions,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers loadQueryInfluencers) {
-			super( persister, -1, lockMode, factory, loadQueryInfluencers );
+			super( persister, -1, lockOptions, factory, loadQueryInfluencers );
 
+			final boolean arrayBinding = isArrayBindingSupported( persister, factory, loadQueryInfluencers );
 			EntityJoinWalker walker = new RxEntityJoinWalker(
 					persister,
 					persister.getIdentifierColumnNames(),
 					-1,
-					lockMode,
+					lockOptions,
 					factory,
 					loadQueryInfluencers) {
 				@Override
 				protected StringBuilder whereString(String alias, String[] columnNames, int batchSize) {
+					if ( arrayBinding ) {
+						return new StringBuilder( StringHelper.qualify( alias, columnNames[0] ) )
+								.append( " = any($1)" );
+					}
 					return buildBatchFetchRestrictionFragment(
 							alias,
 							columnNames,
@@ -558,13 +688,14 @@ protected StringBuilder whereString(String alias, String[] columnNames, int batc
 			initFromWalker( walker );
 			this.sqlTemplate = walker.getSQLString();
 			this.alias = walker.getAlias();
+			this.arrayBinding = arrayBinding;
 			postInstantiate();
 
 			if ( LOG.isDebugEnabled() ) {
 				LOG.debugf(
 						"SQL-template for dynamic entity [%s] batch-fetching [%s] : %s",
 						entityName,
-						lockMode,
+						lockOptions.getLockMode(),
 						sqlTemplate
 				);
 			}
@@ -585,14 +716,16 @@ public CompletionStage<List<?>> doEntityBatchFetch(
 				QueryParameters queryParameters,
 				Serializable[] ids) {
 			final JdbcServices jdbcServices = session.getJdbcServices();
-			final String sql = expandBatchIdPlaceholder(
-					sqlTemplate,
-					ids,
-					alias,
-					persister.getKeyColumnNames(),
-					jdbcServices.getJdbcEnvironment().getDialect(),
-					Parameters.createDialectParameterGenerator(getFactory())
-			);
+			final String sql = arrayBinding ?
+					sqlTemplate :
+					expandBatchIdPlaceholder(
+							sqlTemplate,
+							ids,
+							alias,
+							persister.getKeyColumnNames(),
+							jdbcServices.getJdbcEnvironment().getDialect(),
+							Parameters.createDialectParameterGenerator(getFactory())
+					);
 
 //			try {
 				final PersistenceContext persistenceContext = session.getPersistenceContextInternal();
@@ -635,43 +768,44 @@ private CompletionStage<List<?>> doTheLoad(
 				String sql,
 				QueryParameters queryParameters,
 				SessionImplementor session,
-				Object ids) {
+				Serializable[] ids) {
 			final RowSelection selection = queryParameters.getRowSelection();
 			final int maxRows = LimitHelper.hasMaxRows( selection ) ?
 					selection.getMaxRows() :
 					Integer.MAX_VALUE;
 
 			final List<AfterLoadAction> afterLoadActions = new ArrayList<>();
-			return executeRxQueryStatement( sql,
-					queryParameters,
-					false,
-					afterLoadActions,
-					session,
-					resultSet -> {
-						try {
-							return processResultSet(
-									resultSet,
-									queryParameters,
-									session,
-									false,
-									null,
-									maxRows,
-									afterLoadActions
-							);
-						}
-						catch (SQLException sqle) {
-							throw getFactory().getJdbcServices().getSqlExceptionHelper().convert(
-									sqle,
-									"could not load an entity batch: " + MessageHelper.infoString(
-											getEntityPersisters()[0],
-											ids,
-											session.getFactory()
-									),
-									sql
-							);
-						}
-					}
-			);
+			final Function<ResultSet, List<Object>> transformer = resultSet -> {
+				try {
+					return processResultSet(
+							resultSet,
+							queryParameters,
+							session,
+							false,
+							null,
+							maxRows,
+							afterLoadActions
+					);
+				}
+				catch (SQLException sqle) {
+					throw getFactory().getJdbcServices().getSqlExceptionHelper().convert(
+							sqle,
+							"could not load an entity batch: " + MessageHelper.infoString(
+									getEntityPersisters()[0],
+									ids,
+									session.getFactory()
+							),
+							sql
+					);
+				}
+			};
+			if ( arrayBinding ) {
+				Object[] paramValues = { Parameters.createArrayParameter( persister.getIdentifierType(), ids, session ) };
+				return executeRxQueryStatement( sql, paramValues, queryParameters, afterLoadActions, session, transformer );
+			}
+			else {
+				return executeRxQueryStatement( sql, queryParameters, false, afterLoadActions, session, transformer );
+			}
 		}
 	}
 }
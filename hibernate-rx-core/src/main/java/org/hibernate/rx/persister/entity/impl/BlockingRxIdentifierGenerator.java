@@ -0,0 +1,244 @@
+package org.hibernate.rx.persister.entity.impl;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.rx.util.impl.RxUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A reactive identifier generator which hands out identifiers from
+ * a block held in memory, and only goes back to the database when
+ * the block is exhausted. This is the reactive counterpart of the
+ * {@link org.hibernate.id.enhanced.Optimizer}s used by Hibernate's
+ * {@link org.hibernate.id.enhanced.SequenceStyleGenerator} and
+ * {@link org.hibernate.id.enhanced.TableGenerator}.
+ * <p>
+ * Identifiers are allocated from the current block without locking,
+ * so the generator may be shared by concurrent sessions. When the
+ * block is exhausted, concurrent requests for a new block are
+ * coalesced into a single request to the database.
+ *
+ * @see SequenceRxIdentifierGenerator
+ * @see TableRxIdentifierGenerator
+ */
+public abstract class BlockingRxIdentifierGenerator implements RxIdentifierGenerator<Long> {
+
+	private static final Block EXHAUSTED = new Block( 0, 0 );
+
+	private final StandardOptimizerDescriptor optimizer;
+	private final int incrementSize;
+	private final long initialValue;
+
+	private final AtomicReference<Block> block = new AtomicReference<>( EXHAUSTED );
+	private final AtomicReference<CompletableFuture<Void>> refill = new AtomicReference<>();
+
+	/**
+	 * @param optimizer the optimization strategy, or {@code null}
+	 *                  if each identifier must be obtained from the
+	 *                  database
+	 * @param incrementSize the number of identifiers represented
+	 *                      by each value obtained from the database
+	 * @param initialValue the first value of the database sequence
+	 */
+	protected BlockingRxIdentifierGenerator(
+			StandardOptimizerDescriptor optimizer,
+			int incrementSize,
+			long initialValue) {
+		this.optimizer = optimizer == null || incrementSize <= 1 ?
+				StandardOptimizerDescriptor.NONE :
+				optimizer;
+		this.incrementSize = this.optimizer == StandardOptimizerDescriptor.NONE ? 1 : incrementSize;
+		this.initialValue = initialValue;
+	}
+
+	/**
+	 * Obtain the next value from the underlying database sequence
+	 * or table.
+	 */
+	protected abstract CompletionStage<Long> nextHiValue(SharedSessionContractImplementor session);
+
+	/**
+	 * Obtain the given number of successive values from the
+	 * underlying database sequence or table. The default
+	 * implementation calls {@link #nextHiValue} repeatedly, but
+	 * subclasses should use a single round trip if they can.
+	 */
+	protected CompletionStage<List<Long>> nextHiValues(int count, SharedSessionContractImplementor session) {
+		List<Long> values = new ArrayList<>( count );
+		CompletionStage<Void> stage = RxUtil.nullFuture();
+		for ( int i = 0; i < count; i++ ) {
+			stage = stage.thenCompose( v -> nextHiValue( session ) ).thenAccept( values::add );
+		}
+		return stage.thenApply( v -> values );
+	}
+
+	public int getIncrementSize() {
+		return incrementSize;
+	}
+
+	/**
+	 * Should the value stored in the database advance by the whole
+	 * increment size each time a block is obtained, rather than by
+	 * one? This is the case for all but the hi-lo strategies.
+	 */
+	protected boolean applyIncrementSizeToSourceValues() {
+		return optimizer != StandardOptimizerDescriptor.HILO
+				&& optimizer != StandardOptimizerDescriptor.LEGACY_HILO;
+	}
+
+	@Override
+	public CompletionStage<Optional<Long>> generate(SharedSessionContractImplementor session) {
+		Block current = block.get();
+		long id = current.next.getAndIncrement();
+		if ( id < current.hi ) {
+			return RxUtil.completedFuture( Optional.of( id ) );
+		}
+		return refill( current, session ).thenCompose( v -> generate( session ) );
+	}
+
+	/**
+	 * Serve as many of the given number of identifiers as possible
+	 * from the block shared with other callers, and obtain enough
+	 * values from the database to cover the rest in a single
+	 * request. Any identifiers left over in the last new block
+	 * become the shared block.
+	 */
+	@Override
+	public CompletionStage<List<Long>> generate(int count, SharedSessionContractImplementor session) {
+		if ( count <= 0 ) {
+			return RxUtil.completedFuture( Collections.emptyList() );
+		}
+		List<Long> ids = new ArrayList<>( count );
+		Block current = block.get();
+		while ( true ) {
+			long next = current.next.get();
+			if ( next >= current.hi ) {
+				break;
+			}
+			long end = Math.min( next + count, current.hi );
+			if ( current.next.compareAndSet( next, end ) ) {
+				for ( long id = next; id < end; id++ ) {
+					ids.add( id );
+				}
+				break;
+			}
+		}
+		if ( ids.size() == count ) {
+			return RxUtil.completedFuture( ids );
+		}
+
+		final int rest = count - ids.size();
+		final int valueCount = ( rest + incrementSize - 1 ) / incrementSize;
+		return nextHiValues( valueCount, session ).thenCompose( values -> {
+			Block last = null;
+			for ( long value : values ) {
+				last = nextBlock( value );
+				long id = last.next.get();
+				while ( id < last.hi && ids.size() < count ) {
+					ids.add( id++ );
+				}
+				last.next.set( id );
+			}
+			if ( last != null && last.next.get() < last.hi ) {
+				// unless some other caller already replaced it
+				block.compareAndSet( current, last );
+			}
+			if ( ids.size() < count ) {
+				// the first block of a pooled sequence has just one id
+				return generate( count - ids.size(), session ).thenApply( more -> {
+					ids.addAll( more );
+					return ids;
+				} );
+			}
+			return RxUtil.completedFuture( ids );
+		} );
+	}
+
+	/**
+	 * Replace the given exhausted block, unless some other caller
+	 * has already replaced it, or is in the process of doing so.
+	 */
+	private CompletionStage<Void> refill(Block exhausted, SharedSessionContractImplementor session) {
+		while ( true ) {
+			CompletableFuture<Void> inFlight = refill.get();
+			if ( inFlight != null ) {
+				return inFlight;
+			}
+			if ( block.get() != exhausted ) {
+				return RxUtil.nullFuture();
+			}
+			CompletableFuture<Void> future = new CompletableFuture<>();
+			if ( refill.compareAndSet( null, future ) ) {
+				if ( block.get() != exhausted ) {
+					// replaced between our check and the CAS
+					refill.set( null );
+					future.complete( null );
+				}
+				else {
+					nextHiValue( session ).whenComplete( (value, x) -> {
+						if ( x == null ) {
+							block.set( nextBlock( value ) );
+						}
+						refill.set( null );
+						if ( x == null ) {
+							future.complete( null );
+						}
+						else {
+							future.completeExceptionally( x );
+						}
+					} );
+				}
+				return future;
+			}
+		}
+	}
+
+	/**
+	 * Interpret a value obtained from the database according to the
+	 * optimization strategy, following the same rules as the
+	 * corresponding implementations of
+	 * {@link org.hibernate.id.enhanced.Optimizer}.
+	 */
+	private Block nextBlock(long value) {
+		switch ( optimizer ) {
+			case HILO:
+				return new Block( value * incrementSize - incrementSize + 1, value * incrementSize + 1 );
+			case LEGACY_HILO:
+				// each value represents incrementSize+1 identifiers,
+				// but the very first value never yields the id 0
+				final long hi = value * ( incrementSize + 1 );
+				return new Block( hi + ( value == 0 ? 1 : 0 ), hi + incrementSize + 1 );
+			case POOLED:
+				// the value is the upper end of the block, but the very
+				// first value of the sequence is a block by itself
+				return new Block( Math.max( value - incrementSize + 1, initialValue ), value + 1 );
+			case POOLED_LO:
+			case POOLED_LOTL:
+				return new Block( value, value + incrementSize );
+			default:
+				return new Block( value, value + 1 );
+		}
+	}
+
+	/**
+	 * The identifiers from {@code lo} up to, but not including,
+	 * {@code hi}.
+	 */
+	private static final class Block {
+		final AtomicLong next;
+		final long hi;
+
+		Block(long lo, long hi) {
+			this.next = new AtomicLong( lo );
+			this.hi = hi;
+		}
+	}
+}
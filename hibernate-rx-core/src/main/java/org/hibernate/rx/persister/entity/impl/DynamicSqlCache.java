@@ -0,0 +1,116 @@
+package org.hibernate.rx.persister.entity.impl;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A bounded cache of the SQL statements generated for a single
+ * entity with dynamic inserts or dynamic updates, keyed by the
+ * table, and by the properties included in the statement, as a
+ * bitmask. Each persister holds its own cache, and so the cache
+ * belongs to a single session factory.
+ * <p>
+ * Reusing the same string for the same statement avoids the work
+ * of generating it again, and lets the database client reuse the
+ * statement it prepared.
+ */
+public final class DynamicSqlCache {
+	private static final int MAX_STATEMENTS = 128;
+
+	private static final int INSERT = 0;
+	private static final int IDENTITY_INSERT = 1;
+	private static final int UPDATE = 2;
+	private static final int UPDATE_BY_ROW_ID = 3;
+
+	private final Map<StatementKey, String> statements =
+			new BoundedConcurrentHashMap<>( MAX_STATEMENTS, 4, BoundedConcurrentHashMap.Eviction.LIRS );
+
+	/**
+	 * The insert statement for the given table, including the given
+	 * properties.
+	 */
+	String getInsertString(RxAbstractEntityPersister persister, boolean[] includeProperty, int j) {
+		final StatementKey key = new StatementKey( INSERT, j, includeProperty );
+		String sql = statements.get( key );
+		if ( sql == null ) {
+			sql = persister.delegate().generateInsertString( includeProperty, j );
+			// a concurrent caller might have generated the same statement,
+			// in which case it doesn't matter which one ends up cached
+			statements.put( key, sql );
+		}
+		return sql;
+	}
+
+	/**
+	 * The identity insert statement for the root table, including the
+	 * given properties, as rendered by
+	 * {@link RxAbstractEntityPersister#generateIdentityInsertString(String)}.
+	 */
+	String getIdentityInsertString(RxAbstractEntityPersister persister, boolean[] includeProperty) {
+		final StatementKey key = new StatementKey( IDENTITY_INSERT, 0, includeProperty );
+		String sql = statements.get( key );
+		if ( sql == null ) {
+			sql = persister.generateIdentityInsertString(
+					persister.delegate().generateInsertString( true, includeProperty )
+			);
+			statements.put( key, sql );
+		}
+		return sql;
+	}
+
+	/**
+	 * The update statement for the given table, including the given
+	 * properties. The statement must not depend on the old values of
+	 * the properties, as it does when the entity uses {@code all} or
+	 * {@code dirty} optimistic locking and the old values are known.
+	 */
+	String getUpdateString(RxAbstractEntityPersister persister, boolean[] includeProperty, int j, boolean useRowId) {
+		final StatementKey key = new StatementKey( useRowId ? UPDATE_BY_ROW_ID : UPDATE, j, includeProperty );
+		String sql = statements.get( key );
+		if ( sql == null ) {
+			sql = persister.delegate().generateUpdateString( includeProperty, j, null, useRowId );
+			statements.put( key, sql );
+		}
+		return sql;
+	}
+
+	private static final class StatementKey {
+		private final int statement;
+		private final int table;
+		private final long[] properties;
+		private final int hashCode;
+
+		StatementKey(int statement, int table, boolean[] includeProperty) {
+			this.statement = statement;
+			this.table = table;
+			this.properties = new long[ ( includeProperty.length + 63 ) >>> 6 ];
+			for ( int i = 0; i < includeProperty.length; i++ ) {
+				if ( includeProperty[i] ) {
+					properties[ i >>> 6 ] |= 1L << i;
+				}
+			}
+			this.hashCode = 31 * ( 31 * statement + table ) + Arrays.hashCode( properties );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			StatementKey key = (StatementKey) o;
+			return statement == key.statement
+					&& table == key.table
+					&& Arrays.equals( properties, key.properties );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -113,6 +113,30 @@ else if (identifierGenerator instanceof Assigned
 		}
 	}
 
+	/**
+	 * Determine the {@code increment_size} configured for a
+	 * {@link SequenceStyleGenerator} or {@link TableGenerator}.
+	 */
+	static int determineIncrementSize(Properties params) {
+		return ConfigurationHelper.getInt( SequenceStyleGenerator.INCREMENT_PARAM, params, SequenceStyleGenerator.DEFAULT_INCREMENT_SIZE );
+	}
+
+	/**
+	 * Determine the optimization strategy configured for a
+	 * {@link SequenceStyleGenerator} or {@link TableGenerator}, using
+	 * the same defaults as Hibernate. Returns {@code null} for a
+	 * custom {@link Optimizer}, which we don't support.
+	 */
+	static StandardOptimizerDescriptor determineOptimizer(Properties params) {
+		final int incrementSize = determineIncrementSize( params );
+		final String optimizerName = ConfigurationHelper.getString(
+				SequenceStyleGenerator.OPT_PARAM,
+				params,
+				OptimizerFactory.determineImplicitOptimizerName( incrementSize, params )
+		);
+		return StandardOptimizerDescriptor.fromExternalName( optimizerName );
+	}
+
 	/**
 	 * Determine the name of the sequence (or table if this resolves to a physical table)
 	 * to use.
@@ -0,0 +1,165 @@
+package org.hibernate.rx.persister.entity.impl;
+
+import io.vertx.axle.sqlclient.Row;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.mapping.Join;
+import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.rx.adaptor.impl.ResultSetAdaptor;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.BooleanType;
+import org.hibernate.type.DoubleType;
+import org.hibernate.type.FloatType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LocalDateTimeType;
+import org.hibernate.type.LocalDateType;
+import org.hibernate.type.LocalTimeType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+
+/**
+ * Hydrates the state of an entity directly from a Vert.x {@link Row},
+ * instead of via the {@link ResultSetAdaptor} and
+ * {@link Type#hydrate Type.hydrate()}, for properties of the basic
+ * types which map directly to a typed getter of {@code Row}. Other
+ * properties, for example, associations and components, are still
+ * hydrated by their {@code Type}.
+ * <p>
+ * The extractor for each property is chosen once, when the persister
+ * is created, and the position of each column in the row is determined
+ * once per result set, so that, for each row, each value is read with
+ * a single call to the row, without looking up the column by name.
+ *
+ * @see AbstractEntityPersister#hydrate
+ */
+final class RowHydrator {
+
+	@FunctionalInterface
+	private interface Extractor {
+		Object extract(Row row, int index);
+	}
+
+	private final Type[] types;
+	private final boolean[] laziness;
+	//null for properties which must be hydrated by their Type
+	private final Extractor[] extractors;
+	private final boolean supported;
+
+	RowHydrator(PersistentClass persistentClass, AbstractEntityPersister persister) {
+		types = persister.getPropertyTypes();
+		laziness = persister.getPropertyLaziness();
+		extractors = new Extractor[types.length];
+		for ( int i = 0; i < types.length; i++ ) {
+			extractors[i] = extractor( types[i] );
+		}
+		supported = isSupported( persistentClass );
+	}
+
+	/**
+	 * Direct hydration doesn't handle properties which are not
+	 * selected, that is, backrefs, nor properties which must be
+	 * read by a sequential select, since both need the special
+	 * handling of {@link AbstractEntityPersister#hydrate}.
+	 */
+	private static boolean isSupported(PersistentClass persistentClass) {
+		Iterator<?> properties = persistentClass.getPropertyClosureIterator();
+		while ( properties.hasNext() ) {
+			if ( !( (Property) properties.next() ).isSelectable() ) {
+				return false;
+			}
+		}
+		Iterator<?> joins = persistentClass.getRootClass().getSubclassJoinClosureIterator();
+		while ( joins.hasNext() ) {
+			if ( ( (Join) joins.next() ).isSequentialSelect() ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The extractor for a property of the given type, which reads
+	 * the same value as {@link Type#hydrate} would read via the
+	 * {@link ResultSetAdaptor}, or null if there is none.
+	 */
+	private static Extractor extractor(Type type) {
+		final Class<?> typeClass = type.getClass();
+		if ( typeClass == IntegerType.class ) {
+			return Row::getInteger;
+		}
+		if ( typeClass == LongType.class ) {
+			return Row::getLong;
+		}
+		if ( typeClass == StringType.class ) {
+			return Row::getString;
+		}
+		if ( typeClass == BooleanType.class ) {
+			return Row::getBoolean;
+		}
+		if ( typeClass == ShortType.class ) {
+			return Row::getShort;
+		}
+		if ( typeClass == DoubleType.class ) {
+			return Row::getDouble;
+		}
+		if ( typeClass == FloatType.class ) {
+			return Row::getFloat;
+		}
+		if ( typeClass == BigDecimalType.class ) {
+			return Row::getBigDecimal;
+		}
+		if ( typeClass == LocalDateType.class ) {
+			return Row::getLocalDate;
+		}
+		if ( typeClass == LocalDateTimeType.class ) {
+			return Row::getLocalDateTime;
+		}
+		if ( typeClass == LocalTimeType.class ) {
+			return Row::getLocalTime;
+		}
+		return null;
+	}
+
+	/**
+	 * Can the current row of the given result set be hydrated directly?
+	 */
+	boolean canHydrate(ResultSet resultSet) {
+		return supported && resultSet instanceof ResultSetAdaptor;
+	}
+
+	/**
+	 * Hydrate the state of the entity from the current row, with the
+	 * same result as {@link AbstractEntityPersister#hydrate}.
+	 */
+	Object[] hydrate(
+			ResultSet resultSet,
+			Object object,
+			String[][] suffixedPropertyColumns,
+			boolean allProperties,
+			SharedSessionContractImplementor session) throws SQLException {
+		final ResultSetAdaptor adaptor = (ResultSetAdaptor) resultSet;
+		final Row row = adaptor.getRow();
+		final int[] indexes = adaptor.getColumnIndexes( suffixedPropertyColumns );
+		final Object[] values = new Object[types.length];
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( !allProperties && laziness[i] ) {
+				values[i] = LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			}
+			else if ( extractors[i] != null && indexes[i] >= 0 ) {
+				values[i] = extractors[i].extract( row, indexes[i] );
+			}
+			else {
+				values[i] = types[i].hydrate( resultSet, suffixedPropertyColumns[i], session, object );
+			}
+		}
+		return values;
+	}
+}
@@ -1,9 +1,12 @@
 package org.hibernate.rx.persister.entity.impl;
 
+import io.vertx.axle.sqlclient.Tuple;
 import org.hibernate.HibernateException;
 import org.hibernate.JDBCException;
 import org.hibernate.Session;
+import org.hibernate.StaleStateException;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MySQLDialect;
 import org.hibernate.dialect.PostgreSQL81Dialect;
 import org.hibernate.engine.OptimisticLockStyle;
 import org.hibernate.engine.internal.Versioning;
@@ -11,6 +14,8 @@
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
+import org.hibernate.mapping.Join;
+import org.hibernate.mapping.PersistentClass;
 import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
 import org.hibernate.persister.entity.MultiLoadOptions;
@@ -23,15 +28,20 @@
 import org.hibernate.rx.util.impl.RxUtil;
 import org.hibernate.sql.Delete;
 import org.hibernate.tuple.InMemoryValueGenerationStrategy;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.jboss.logging.Logger;
 
 import java.io.Serializable;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 /**
  * An abstract implementation of {@link RxEntityPersister} whose
@@ -101,17 +111,18 @@ default CompletionStage<Serializable> insertRx(Object[] fields, Object object, S
 		if ( delegate().getEntityMetamodel().isDynamicInsert() ) {
 			// For the case of dynamic-insert="true", we need to generate the INSERT SQL
 			boolean[] notNull = delegate().getPropertiesToInsert( fields );
-			stage = stage.thenCompose( n -> insertRx( fields, notNull, delegate().generateInsertString( true, notNull ), object, session ) );
+			String sql = getDynamicSqlCache().getIdentityInsertString( this, notNull );
+			stage = stage.thenCompose( n -> insertRx( fields, notNull, sql, object, session ) );
 			for ( int j = 1; j < span; j++ ) {
 				final int jj = j;
 				stage = stage.thenCompose( id ->
-						insertRx(id, fields, notNull, jj, delegate().generateInsertString(notNull, jj), object, session)
+						insertRx(id, fields, notNull, jj, getDynamicSqlCache().getInsertString( this, notNull, jj ), object, session)
 							.thenApply( v -> id ));
 			}
 		}
 		else {
 			// For the case of dynamic-insert="false", use the static SQL
-			stage = stage.thenCompose( n -> insertRx( fields, delegate().getPropertyInsertability(), delegate().getSQLIdentityInsertString(), object, session ) );
+			stage = stage.thenCompose( n -> insertRx( fields, delegate().getPropertyInsertability(), getRxIdentityInsertString(), object, session ) );
 			for ( int j = 1; j < span; j++ ) {
 				final int jj = j;
 				stage = stage.thenCompose( id ->
@@ -144,7 +155,7 @@ default CompletionStage<?> insertRx(
 								fields,
 								notNull,
 								jj,
-								delegate().generateInsertString( notNull, jj ),
+								getDynamicSqlCache().getInsertString( this, notNull, jj ),
 								object,
 								session
 						));
@@ -197,20 +208,13 @@ default CompletionStage<?> insertRx(
 
 		// TODO : shouldn't inserts be Expectations.NONE?
 		final Expectation expectation = Expectations.appropriateExpectation( delegate().getInsertResultCheckStyles()[j] );
-//		final int jdbcBatchSizeToUse = session.getConfiguredJdbcBatchSize();
-//		final boolean useBatch = expectation.canBeBatched() &&
-//				jdbcBatchSizeToUse > 1 &&
-//				delegate.getIdentifierGenerator().supportsJdbcBatchInserts();
-
-//		if ( useBatch && insertBatchKey == null ) {
-//			insertBatchKey = new BasicBatchKey(
-//					delegate.getEntityName() + "#INSERT",
-//					expectation
-//			);
-//		}
+		final int jdbcBatchSizeToUse = session.getConfiguredJdbcBatchSize();
+		final boolean useBatch = expectation.canBeBatched() &&
+				jdbcBatchSizeToUse > 1 &&
+				delegate().getIdentifierGenerator().supportsJdbcBatchInserts();
 //		final boolean callable = delegate.isInsertCallable( j );
 
-		PreparedStatementAdaptor insert = new PreparedStatementAdaptor();
+		PreparedStatementAdaptor insert = new PreparedStatementAdaptor( getParameterCapacity() );
 		try {
 			int index = delegate().dehydrate( null, fields, notNull, delegate().getPropertyColumnInsertable(), j, insert, session, false );
 			delegate().getIdentifierType().nullSafeSet( insert, id, index, session );
@@ -219,7 +223,13 @@ default CompletionStage<?> insertRx(
 			//can't actually occur!
 			throw new JDBCException( "error while binding parameters", e );
 		}
-		return queryExecutor().update( sql, insert.getParametersAsArray(), delegate().getFactory() )
+
+		if ( useBatch ) {
+			// the row count is verified when the batch is executed
+			return queryExecutor().updateBatched( sql, insert.getParametersAsTuple(), expectation, jdbcBatchSizeToUse, session );
+		}
+
+		return queryExecutor().update( sql, insert.getParametersAsTuple(), session )
 				.thenAccept( count -> {
 					try {
 						expectation.verifyOutcome(count, insert, -1);
@@ -236,6 +246,9 @@ default CompletionStage<?> insertRx(
 	 * <p/>
 	 * This form is used for PostInsertIdentifierGenerator-style ids (IDENTITY,
 	 * select, etc).
+	 *
+	 * @param sql the insert statement, as rendered by
+	 *            {@link #generateIdentityInsertString(String)}
 	 */
 	default CompletionStage<Serializable> insertRx(
 			Object[] fields,
@@ -244,8 +257,6 @@ default CompletionStage<Serializable> insertRx(
 			Object object,
 			SharedSessionContractImplementor session) throws HibernateException {
 
-		sql = Parameters.processParameters(sql, session);
-
 		if ( log.isTraceEnabled() ) {
 			log.tracev( "Inserting entity: {0}", MessageHelper.infoString(delegate()) );
 			if ( delegate().isVersioned() ) {
@@ -253,7 +264,7 @@ default CompletionStage<Serializable> insertRx(
 			}
 		}
 
-		PreparedStatementAdaptor insert = new PreparedStatementAdaptor();
+		PreparedStatementAdaptor insert = new PreparedStatementAdaptor( getParameterCapacity() );
 		try {
 			delegate().dehydrate( null, fields, notNull, delegate().getPropertyColumnInsertable(), 0, insert, session, false );
 		}
@@ -262,32 +273,182 @@ default CompletionStage<Serializable> insertRx(
 			throw new JDBCException( "error while binding parameters", e );
 		}
 
-		SessionFactoryImplementor factory = session.getFactory();
-		Dialect dialect = factory.getJdbcServices().getDialect();
-		String identifierColumnName = delegate().getIdentifierColumnNames()[0];
-		if ( factory.getSessionFactoryOptions().isGetGeneratedKeysEnabled() ) {
-			//TODO: wooooo this is awful ... I believe the problem is fixed in Hibernate 6
-			if ( dialect instanceof PostgreSQL81Dialect) {
-				sql = sql + " returning " + identifierColumnName;
-			}
-			return queryExecutor().updateReturning( sql, insert.getParametersAsArray(), factory )
+		String selectIdSql = getRxIdentitySelectString();
+		if ( selectIdSql == null ) {
+			return queryExecutor().updateReturning( sql, insert.getParametersAsTuple(), session )
 					.thenApply(Optional::get);
 		}
 		else {
 			//use an extra round trip to fetch the id
-			String selectIdSql = dialect.getIdentityColumnSupport()
-					.getIdentitySelectString(
-							delegate().getTableName(),
-							identifierColumnName,
-							Types.INTEGER
-					);
-			return queryExecutor().update( sql, insert.getParametersAsArray(), factory)
-					.thenCompose( v -> queryExecutor().selectLong(selectIdSql, new Object[0], factory) )
+			return queryExecutor().update( sql, insert.getParametersAsTuple(), session )
+					.thenCompose( v -> queryExecutor().selectLong( selectIdSql, new Object[0], session ) )
 					.thenApply(Optional::get);
 		}
 
 	}
 
+	/**
+	 * The static SQL for an identity insert, as rendered by
+	 * {@link #generateIdentityInsertString(String)} when the
+	 * persister is instantiated, or null if the identifier is
+	 * not generated by an identity column.
+	 */
+	String getRxIdentityInsertString();
+
+	/**
+	 * The SQL used to fetch the identifier generated by an
+	 * identity insert, as rendered by
+	 * {@link #generateIdentitySelectString()} when the persister
+	 * is instantiated, or null if the generated identifier is
+	 * returned by the insert itself.
+	 */
+	String getRxIdentitySelectString();
+
+	/**
+	 * Render an identity insert statement generated by Hibernate in
+	 * the form executed by {@link #insertRx(Object[], boolean[], String, Object, SharedSessionContractImplementor)},
+	 * that is, with the native bind variable syntax of the database,
+	 * and, if generated keys are enabled, with a {@code returning}
+	 * clause on PostgreSQL.
+	 */
+	default String generateIdentityInsertString(String sql) {
+		SessionFactoryImplementor factory = delegate().getFactory();
+		sql = Parameters.processParameters( sql, factory );
+		//TODO: wooooo this is awful ... I believe the problem is fixed in Hibernate 6
+		if ( factory.getSessionFactoryOptions().isGetGeneratedKeysEnabled()
+				&& factory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect ) {
+			sql = sql + " returning " + delegate().getIdentifierColumnNames()[0];
+		}
+		return sql;
+	}
+
+	/**
+	 * Generate the query used to fetch the identifier generated by
+	 * an identity insert when generated keys are disabled.
+	 *
+	 * @return the query, or null if generated keys are enabled
+	 */
+	default String generateIdentitySelectString() {
+		SessionFactoryImplementor factory = delegate().getFactory();
+		if ( factory.getSessionFactoryOptions().isGetGeneratedKeysEnabled() ) {
+			return null;
+		}
+		return factory.getJdbcServices().getDialect().getIdentityColumnSupport()
+				.getIdentitySelectString(
+						delegate().getTableName(),
+						delegate().getIdentifierColumnNames()[0],
+						Types.INTEGER
+				);
+	}
+
+	@Override
+	default boolean isMultiRowIdentityInsertSupported() {
+		SessionFactoryImplementor factory = delegate().getFactory();
+		Dialect dialect = factory.getJdbcServices().getDialect();
+		if ( !delegate().isIdentifierAssignedByInsert()
+				|| delegate().getTableSpan() != 1
+				|| delegate().getEntityMetamodel().isDynamicInsert()
+				|| !factory.getSessionFactoryOptions().isGetGeneratedKeysEnabled()
+				|| !( dialect instanceof PostgreSQL81Dialect || dialect instanceof MySQLDialect ) ) {
+			return false;
+		}
+		String sql = delegate().getSQLIdentityInsertString();
+		if ( sql == null || !sql.endsWith( ")" ) || sql.lastIndexOf( " values (" ) < 0 ) {
+			return false;
+		}
+		// the state of one instance might refer to another
+		// instance inserted by the same statement
+		for ( Type type : delegate().getPropertyTypes() ) {
+			if ( isAssociationToHierarchy( type ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Is the given property type an association to an entity
+	 * belonging to the same hierarchy as this entity?
+	 */
+	default boolean isAssociationToHierarchy(Type type) {
+		if ( type.isEntityType() ) {
+			String entityName = ( (EntityType) type ).getAssociatedEntityName();
+			return delegate().getFactory().getMetamodel().entityPersister( entityName )
+					.getRootEntityName().equals( delegate().getRootEntityName() );
+		}
+		if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( isAssociationToHierarchy( subtype ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generate a multi-row insert statement by repeating the
+	 * {@code values} clause of the static identity insert SQL
+	 * once for each row.
+	 */
+	default String generateMultiRowIdentityInsertString(int rowCount) {
+		String sql = delegate().getSQLIdentityInsertString();
+		int valuesIndex = sql.lastIndexOf( " values (" ) + " values ".length();
+		String row = sql.substring( valuesIndex );
+		Supplier<String> nextParameter = Parameters.createDialectParameterGenerator( delegate().getFactory() );
+		StringBuilder insert = new StringBuilder( sql.substring( 0, valuesIndex ) );
+		for ( int i = 0; i < rowCount; i++ ) {
+			if ( i > 0 ) {
+				insert.append( ", " );
+			}
+			for ( int k = 0; k < row.length(); k++ ) {
+				char c = row.charAt( k );
+				if ( c == '?' ) {
+					insert.append( nextParameter.get() );
+				}
+				else {
+					insert.append( c );
+				}
+			}
+		}
+		if ( delegate().getFactory().getJdbcServices().getDialect() instanceof PostgreSQL81Dialect ) {
+			insert.append( " returning " ).append( delegate().getIdentifierColumnNames()[0] );
+		}
+		return insert.toString();
+	}
+
+	@Override
+	default CompletionStage<List<Serializable>> insertRx(
+			List<Object[]> fields,
+			List<Object> objects,
+			SharedSessionContractImplementor session) throws HibernateException {
+
+		if ( log.isTraceEnabled() ) {
+			log.tracev( "Inserting {0} instances of entity: {1}", fields.size(), MessageHelper.infoString(delegate()) );
+		}
+
+		// bind the parameters of every row into a single tuple
+		PreparedStatementAdaptor insert = new PreparedStatementAdaptor( getParameterCapacity() * fields.size() );
+		int index = 1;
+		for ( int i = 0; i < fields.size(); i++ ) {
+			// apply any pre-insert in-memory value generation
+			preInsertInMemoryValueGeneration( fields.get(i), objects.get(i), session, delegate() );
+
+			try {
+				index = delegate().dehydrate( null, fields.get(i), null, delegate().getPropertyInsertability(),
+						delegate().getPropertyColumnInsertable(), 0, insert, session, index, false );
+			}
+			catch (SQLException e) {
+				//can't actually occur!
+				throw new JDBCException( "error while binding parameters", e );
+			}
+		}
+
+		String sql = generateMultiRowIdentityInsertString( fields.size() );
+		return queryExecutor().updateReturning( sql, insert.getParametersAsTuple(), fields.size(), session )
+				.thenApply( ids -> new ArrayList<Serializable>( ids ) );
+	}
+
 	default CompletionStage<?> deleteRx(
 			Serializable id,
 			Object version,
@@ -303,13 +464,8 @@ default CompletionStage<?> deleteRx(
 		final boolean useVersion = j == 0 && delegate().isVersioned();
 //		final boolean callable = delegate.isDeleteCallable( j );
 		final Expectation expectation = Expectations.appropriateExpectation( delegate().getDeleteResultCheckStyles()[j] );
-//		final boolean useBatch = j == 0 && delegate.isBatchable() && expectation.canBeBatched();
-//		if ( useBatch && deleteBatchKey == null ) {
-//			deleteBatchKey = new BasicBatchKey(
-//					delegate.getEntityName() + "#DELETE",
-//					expectation
-//			);
-//		}
+		final int jdbcBatchSizeToUse = session.getConfiguredJdbcBatchSize();
+		final boolean useBatch = j == 0 && isBatchableEntity() && expectation.canBeBatched() && jdbcBatchSizeToUse > 1;
 
 		if ( log.isTraceEnabled() ) {
 			log.tracev( "Deleting entity: {0}", MessageHelper.infoString(delegate(), id, delegate().getFactory() ) );
@@ -327,7 +483,7 @@ default CompletionStage<?> deleteRx(
 		}
 
 		//Render the SQL query
-		PreparedStatementAdaptor delete = new PreparedStatementAdaptor();
+		PreparedStatementAdaptor delete = new PreparedStatementAdaptor( getParameterCapacity() );
 		try {
 			// FIXME: This is a hack to set the right type for the parameters
 			//		until we have a proper type system in place
@@ -362,7 +518,11 @@ else if ( isAllOrDirtyOptimisticLocking() && loadedState != null ) {
 			throw new HibernateException( e );
 		}
 
-		return queryExecutor().update( sql, delete.getParametersAsArray(), delegate().getFactory() )
+		if ( useBatch ) {
+			return queryExecutor().updateBatched( sql, delete.getParametersAsTuple(), expectation, jdbcBatchSizeToUse, session );
+		}
+
+		return queryExecutor().update( sql, delete.getParametersAsTuple(), session )
 				.thenAccept( count -> {
 					try {
 						expectation.verifyOutcome(count, delete, -1);
@@ -425,6 +585,169 @@ default CompletionStage<?> deleteRx(
 		return deleteStage;
 	}
 
+	/**
+	 * Delete the rows of the given instances from each table, using
+	 * one statement per table, restricted by the list of identifiers.
+	 * On PostgreSQL the identifiers are bound as a single array
+	 * parameter, so that the statement text does not depend on the
+	 * number of instances.
+	 */
+	@Override
+	default CompletionStage<?> deleteRx(Serializable[] ids, SharedSessionContractImplementor session)
+			throws HibernateException {
+		if ( log.isTraceEnabled() ) {
+			log.tracev( "Deleting {0} instances of entity: {1}", ids.length, delegate().getEntityName() );
+		}
+
+		final boolean useArray = delegate().getFactory().getJdbcServices().getDialect() instanceof PostgreSQL81Dialect;
+		final PreparedStatementAdaptor delete = new PreparedStatementAdaptor( useArray ? 1 : ids.length );
+		if ( useArray ) {
+			delete.setObject( 1, Parameters.createArrayParameter( delegate().getIdentifierType(), ids, session ) );
+		}
+		else {
+			try {
+				for ( int i = 0; i < ids.length; i++ ) {
+					delegate().getIdentifierType().nullSafeSet( delete, ids[i], i + 1, session );
+				}
+			}
+			catch ( SQLException e) {
+				throw new HibernateException( e );
+			}
+		}
+		// the same parameters are bound to the statement for each table
+		final Tuple paramValues = delete.getParametersAsTuple();
+
+		CompletionStage<?> deleteStage = RxUtil.nullFuture();
+		for ( int j = delegate().getTableSpan() - 1; j >= 0; j-- ) {
+			if ( delegate().isInverseTable( j ) || delegate().isTableCascadeDeleteEnabled( j ) ) {
+				continue;
+			}
+			final String sql = generateSQLDeleteByIdsString( j, useArray ? -1 : ids.length );
+			final Expectation expectation = Expectations.appropriateExpectation( delegate().getDeleteResultCheckStyles()[j] );
+			final boolean checkRowCount = expectation != Expectations.NONE && !delegate().isNullableTable( j );
+			deleteStage = deleteStage.thenCompose( v -> queryExecutor().update( sql, paramValues, session ) )
+					.thenAccept( count -> {
+						if ( checkRowCount && count != ids.length ) {
+							throw new StaleStateException(
+									"Batch update returned unexpected row count from delete; actual row count: "
+											+ count + "; expected: " + ids.length
+							);
+						}
+					} );
+		}
+		return deleteStage;
+	}
+
+	/**
+	 * A delete statement for the given table restricted by a list
+	 * of identifiers: {@code = any($1)} if {@code parameterCount}
+	 * is negative, or an {@code in} list of the given number of
+	 * parameters otherwise.
+	 */
+	default String generateSQLDeleteByIdsString(int j, int parameterCount) {
+		final String keyColumn = delegate().getKeyColumns( j )[0];
+		final String restriction;
+		if ( parameterCount < 0 ) {
+			restriction = keyColumn + " = any($1)";
+		}
+		else {
+			StringBuilder in = new StringBuilder( keyColumn ).append( " in (" );
+			for ( int i = 0; i < parameterCount; i++ ) {
+				if ( i > 0 ) {
+					in.append( ", " );
+				}
+				in.append( '?' );
+			}
+			restriction = in.append( ')' ).toString();
+		}
+		Delete delete = new Delete()
+				.setTableName( delegate().getTableName( j ) )
+				.setWhere( restriction );
+		if ( delegate().getFactory().getSessionFactoryOptions().isCommentsEnabled() ) {
+			delete.setComment( "delete " + delegate().getEntityName() + " [" + j + "]" );
+		}
+		return delete.toStatementString();
+	}
+
+	@Override
+	default boolean isPipelinedWriteSupported() {
+		// the statements for the secondary tables aren't
+		// sent until the statement for the first table has
+		// completed, so statements for other entities could
+		// overtake them
+		return delegate().getTableSpan() == 1;
+	}
+
+	@Override
+	default boolean isCoalescedDeleteSupported() {
+		if ( delegate().isVersioned()
+				|| isAllOrDirtyOptimisticLocking()
+				|| delegate().getIdentifierColumnSpan() != 1
+				|| hasCustomSQLDelete() ) {
+			return false;
+		}
+		for ( int j = 0; j < delegate().getTableSpan(); j++ ) {
+			Expectation expectation = Expectations.appropriateExpectation( delegate().getDeleteResultCheckStyles()[j] );
+			if ( !expectation.canBeBatched() ) {
+				return false;
+			}
+		}
+		// one instance might refer to another instance deleted by
+		// the same statement, and a database which checks foreign
+		// keys row by row might visit the referenced row first
+		for ( Type type : delegate().getPropertyTypes() ) {
+			if ( isAssociationToHierarchy( type ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Does the mapping specify custom SQL for deletion of the entity
+	 * or any of its tables?
+	 */
+	boolean hasCustomSQLDelete();
+
+	/**
+	 * Determine if the given mapping, or the mapping of any superclass
+	 * or secondary table, specifies custom SQL for deletion.
+	 */
+	static boolean hasCustomSQLDelete(PersistentClass persistentClass) {
+		for ( PersistentClass pc = persistentClass; pc != null; pc = pc.getSuperclass() ) {
+			if ( pc.getCustomSQLDelete() != null ) {
+				return true;
+			}
+			Iterator<?> joins = pc.getJoinIterator();
+			while ( joins.hasNext() ) {
+				if ( ( (Join) joins.next() ).getCustomSQLDelete() != null ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * The number of parameters to allow for when binding a statement
+	 * which affects an instance of the entity, so that the
+	 * {@link PreparedStatementAdaptor} may be sized up front.
+	 */
+	int getParameterCapacity();
+
+	/**
+	 * Determine the number of parameters of a statement which binds
+	 * every column of the given entity: its properties, identifier,
+	 * and version or row id.
+	 */
+	static int parameterCapacity(AbstractEntityPersister persister) {
+		int columns = persister.getIdentifierColumnSpan() + 1;
+		for ( boolean[] propertyColumns : persister.getPropertyColumnInsertable() ) {
+			columns += propertyColumns.length;
+		}
+		return columns;
+	}
+
 	/**
 	 * This is a copy of a
 	 * {@link AbstractEntityPersister#isAllOrDirtyOptLocking() private method}
@@ -437,6 +760,19 @@ default boolean isAllOrDirtyOptimisticLocking() {
 				|| optimisticLockStyle == OptimisticLockStyle.ALL;
 	}
 
+	/**
+	 * This is a copy of a
+	 * {@link AbstractEntityPersister#isBatchable() protected method}
+	 * of {@code AbstractEntityPersister} that we could have made public.
+	 */
+	default boolean isBatchableEntity() {
+		OptimisticLockStyle optimisticLockStyle =
+				delegate().getEntityMetamodel().getOptimisticLockStyle();
+		return optimisticLockStyle == OptimisticLockStyle.NONE
+				|| !delegate().isVersioned() && optimisticLockStyle == OptimisticLockStyle.VERSION
+				|| delegate().getFactory().getSessionFactoryOptions().isJdbcBatchVersionedData();
+	}
+
 	default String[] generateSQLDeleteStrings(Object[] loadedState) {
 		int span = delegate().getTableSpan();
 		String[] deleteStrings = new String[span];
@@ -484,14 +820,10 @@ default CompletionStage<Boolean> updateRx(
 			final SharedSessionContractImplementor session) throws HibernateException {
 
 		final Expectation expectation = Expectations.appropriateExpectation( delegate().getUpdateResultCheckStyles()[j] );
-//		final int jdbcBatchSizeToUse = session.getConfiguredJdbcBatchSize();
-//		final boolean useBatch = expectation.canBeBatched() && isBatchable() && jdbcBatchSizeToUse > 1;
-//		if ( useBatch && updateBatchKey == null ) {
-//			updateBatchKey = new BasicBatchKey(
-//					delegate.getEntityName() + "#UPDATE",
-//					expectation
-//			);
-//		}
+		final int jdbcBatchSizeToUse = session.getConfiguredJdbcBatchSize();
+		// we need the row count for a nullable table to know if we must insert instead
+		final boolean useBatch = expectation.canBeBatched() && isBatchableEntity() && jdbcBatchSizeToUse > 1
+				&& !delegate().isNullableTable( j );
 //		final boolean callable = delegate.isUpdateCallable( j );
 		final boolean useVersion = j == 0 && delegate().isVersioned();
 
@@ -504,15 +836,7 @@ default CompletionStage<Boolean> updateRx(
 
 		try {
 			int index = 1; // starting index
-//			if ( useBatch ) {
-//				update = session
-//						.getJdbcCoordinator()
-//						.getBatch( updateBatchKey )
-//						.getBatchStatement( sql, callable );
-//			}
-//			else {
-			final PreparedStatementAdaptor update = new PreparedStatementAdaptor();
-//			}
+			final PreparedStatementAdaptor update = new PreparedStatementAdaptor( getParameterCapacity() );
 
 			try {
 				index += expectation.prepare( update );
@@ -561,12 +885,13 @@ else if ( isAllOrDirtyOptimisticLocking() && oldFields != null ) {
 					}
 				}
 
-//				if ( useBatch ) {
-//					session.getJdbcCoordinator().getBatch( updateBatchKey ).addToBatch();
-//					return true;
-//				}
-//				else {
-				return queryExecutor().update( sql, update.getParametersAsArray(), delegate().getFactory() )
+				if ( useBatch ) {
+					// the row count is verified when the batch is executed
+					return queryExecutor().updateBatched( sql, update.getParametersAsTuple(), expectation, jdbcBatchSizeToUse, session )
+							.thenApply( v -> true );
+				}
+
+				return queryExecutor().update( sql, update.getParametersAsTuple(), session )
 						.thenApply( count -> {
 							try {
 								expectation.verifyOutcome(count, update, -1);
@@ -584,7 +909,6 @@ else if ( isAllOrDirtyOptimisticLocking() && oldFields != null ) {
 //							expectation,
 //							update
 //					);
-//				}
 			}
 			finally {
 //				if ( !useBatch ) {
@@ -660,7 +984,7 @@ default CompletionStage<?> updateRx(
 			updateStrings = new String[span];
 			for ( int j = 0; j < span; j++ ) {
 				updateStrings[j] = tableUpdateNeeded[j] ?
-						delegate().generateUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
+						generateDynamicUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
 						null;
 			}
 		}
@@ -680,7 +1004,7 @@ else if ( !delegate().isModifiableEntity( entry ) ) {
 			updateStrings = new String[span];
 			for ( int j = 0; j < span; j++ ) {
 				updateStrings[j] = tableUpdateNeeded[j] ?
-						delegate().generateUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
+						generateDynamicUpdateString( propsToUpdate, j, oldFields, j == 0 && rowId != null ) :
 						null;
 			}
 		}
@@ -769,6 +1093,30 @@ default String[] getSQLUpdateStrings(boolean byRowId, boolean lazy) {
 				lazy ? delegate().getSQLLazyUpdateStrings() : delegate().getSQLUpdateStrings();
 	}
 
+	/**
+	 * Generate the update statement for the given table, including
+	 * the given properties, or obtain it from the
+	 * {@link #getDynamicSqlCache() cache}, if it doesn't depend on
+	 * the old values of the properties.
+	 */
+	default String generateDynamicUpdateString(boolean[] includeProperty, int j, Object[] oldFields, boolean useRowId) {
+		if ( isAllOrDirtyOptimisticLocking() && oldFields != null ) {
+			// the where clause depends on which old values are null
+			return delegate().generateUpdateString( includeProperty, j, oldFields, useRowId );
+		}
+		return getDynamicSqlCache().getUpdateString( this, includeProperty, j, useRowId );
+	}
+
+	/**
+	 * The cache of statements generated for dynamic inserts and updates.
+	 */
+	DynamicSqlCache getDynamicSqlCache();
+
+	/**
+	 * The cache of loaders used by {@link #rxMultiLoad}.
+	 */
+	RxDynamicBatchingEntityLoaderBuilder.LoaderCache getDynamicLoaderCache();
+
 	@Override
 	default CompletionStage<List<?>> rxMultiLoad(Serializable[] ids, SessionImplementor session, MultiLoadOptions loadOptions) {
 		return RxDynamicBatchingEntityLoaderBuilder.INSTANCE.multiLoad(this, ids, session, loadOptions);
@@ -43,6 +43,30 @@ CompletionStage<Serializable> insertRx(
 			Object object,
 			SharedSessionContractImplementor session);
 
+	/**
+	 * Insert the given instance states without blocking, using a
+	 * single multi-row statement, and return the identifiers
+	 * generated by the database, in the order of the given
+	 * instances.
+	 *
+	 * @see #isMultiRowIdentityInsertSupported()
+	 */
+	CompletionStage<List<Serializable>> insertRx(
+			List<Object[]> fields,
+			List<Object> objects,
+			SharedSessionContractImplementor session);
+
+	/**
+	 * Can several instances be inserted at once by calling
+	 * {@link #insertRx(List, List, SharedSessionContractImplementor)}?
+	 * That's only possible if the identifier is generated by an
+	 * identity column, the entity maps to a single table with static
+	 * SQL, the database can report all the generated identifiers,
+	 * and the entity has no association to its own hierarchy, since
+	 * one instance might refer to another in the same statement.
+	 */
+	boolean isMultiRowIdentityInsertSupported();
+
 	/**
 	 * Delete the given instance without blocking.
 	 *
@@ -55,6 +79,36 @@ CompletionStage<?> deleteRx(
 			SharedSessionContractImplementor session)
 					throws HibernateException;
 
+	/**
+	 * Delete the given instances without blocking, using a single
+	 * statement for each table.
+	 *
+	 * @see #isCoalescedDeleteSupported()
+	 */
+	CompletionStage<?> deleteRx(
+			Serializable[] ids,
+			SharedSessionContractImplementor session)
+					throws HibernateException;
+
+	/**
+	 * Can several instances be deleted at once by calling
+	 * {@link #deleteRx(Serializable[], SharedSessionContractImplementor)}?
+	 * That's only possible if the entity is not versioned, has no
+	 * implied optimistic locking, has a single-column identifier,
+	 * and has no custom SQL for deletion.
+	 */
+	boolean isCoalescedDeleteSupported();
+
+	/**
+	 * Is each insert, update, or deletion of an instance of this
+	 * entity written as a single statement, sent as soon as the
+	 * connection is available? If so, the statement may be
+	 * pipelined with the statements which precede and follow it.
+	 * That's only possible if the entity is mapped to a single
+	 * table.
+	 */
+	boolean isPipelinedWriteSupported();
+
 	/**
 	 * Update the given instance state without blocking.
 	 *
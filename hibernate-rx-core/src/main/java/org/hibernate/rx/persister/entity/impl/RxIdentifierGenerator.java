@@ -1,7 +1,10 @@
 package org.hibernate.rx.persister.entity.impl;
 
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.rx.util.impl.RxUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
 
@@ -19,4 +22,23 @@
 	 * Returns a generated identifier, via a {@link CompletionStage}.
 	 */
 	CompletionStage<Optional<Id>> generate(SharedSessionContractImplementor session);
+
+	/**
+	 * Returns the given number of generated identifiers, via a
+	 * {@link CompletionStage}, using as few round trips to the
+	 * database as possible. The default implementation just calls
+	 * {@link #generate(SharedSessionContractImplementor)} repeatedly.
+	 *
+	 * @return the identifiers, or an empty list if identifiers are
+	 *         not generated before the entity is inserted
+	 */
+	default CompletionStage<List<Id>> generate(int count, SharedSessionContractImplementor session) {
+		List<Id> ids = new ArrayList<>( count );
+		CompletionStage<Void> stage = RxUtil.nullFuture();
+		for ( int i = 0; i < count; i++ ) {
+			stage = stage.thenCompose( v -> generate( session ) )
+					.thenAccept( id -> id.ifPresent( ids::add ) );
+		}
+		return stage.thenApply( v -> ids );
+	}
 }
@@ -12,15 +12,19 @@
 import org.hibernate.loader.entity.UniqueEntityLoader;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.persister.entity.JoinedSubclassEntityPersister;
+import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.spi.PersisterCreationContext;
 import org.hibernate.rx.loader.entity.impl.RxBatchingEntityLoaderBuilder;
 import org.hibernate.rx.loader.entity.impl.RxCascadeEntityLoader;
+import org.hibernate.rx.loader.entity.impl.RxDynamicBatchingEntityLoaderBuilder;
 import org.hibernate.rx.sql.impl.Delete;
 import org.hibernate.rx.sql.impl.Insert;
 import org.hibernate.rx.sql.impl.Parameters;
 import org.hibernate.rx.sql.impl.Update;
 
 import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 
 /**
  * An {@link RxEntityPersister} backed by {@link JoinedSubclassEntityPersister}
@@ -29,12 +33,50 @@
 public class RxJoinedSubclassEntityPersister extends JoinedSubclassEntityPersister implements RxAbstractEntityPersister {
 
 	private final RxIdentifierGenerator<?> identifierGenerator;
+	private final boolean customSQLDelete;
+	private final int parameterCapacity;
+	private final RowHydrator rowHydrator;
+	private String identityInsertString;
+	private String identitySelectString;
+	private final RxDynamicBatchingEntityLoaderBuilder.LoaderCache dynamicLoaderCache =
+			new RxDynamicBatchingEntityLoaderBuilder.LoaderCache();
+	private final DynamicSqlCache dynamicSqlCache = new DynamicSqlCache();
 
 	@Override
 	public RxIdentifierGenerator<?> getRxIdentifierGenerator() {
 		return identifierGenerator;
 	}
 
+	@Override
+	public boolean hasCustomSQLDelete() {
+		return customSQLDelete;
+	}
+
+	@Override
+	public int getParameterCapacity() {
+		return parameterCapacity;
+	}
+
+	@Override
+	public String getRxIdentityInsertString() {
+		return identityInsertString;
+	}
+
+	@Override
+	public String getRxIdentitySelectString() {
+		return identitySelectString;
+	}
+
+	@Override
+	public RxDynamicBatchingEntityLoaderBuilder.LoaderCache getDynamicLoaderCache() {
+		return dynamicLoaderCache;
+	}
+
+	@Override
+	public DynamicSqlCache getDynamicSqlCache() {
+		return dynamicSqlCache;
+	}
+
 	public RxJoinedSubclassEntityPersister(
 			PersistentClass persistentClass,
 			EntityDataAccess cacheAccessStrategy,
@@ -43,6 +85,19 @@ public RxJoinedSubclassEntityPersister(
 		super( persistentClass, cacheAccessStrategy, naturalIdRegionAccessStrategy, creationContext );
 
 		identifierGenerator = IdentifierGeneration.asRxGenerator( persistentClass, creationContext, getIdentifierGenerator() );
+		customSQLDelete = RxAbstractEntityPersister.hasCustomSQLDelete( persistentClass );
+		parameterCapacity = RxAbstractEntityPersister.parameterCapacity( this );
+		rowHydrator = new RowHydrator( persistentClass, this );
+	}
+
+	@Override
+	public void postInstantiate() throws MappingException {
+		super.postInstantiate();
+
+		if ( isIdentifierAssignedByInsert() ) {
+			identityInsertString = generateIdentityInsertString( getSQLIdentityInsertString() );
+			identitySelectString = generateIdentitySelectString();
+		}
 	}
 
 	@Override
@@ -86,6 +141,20 @@ protected Delete createDelete() {
 		return new Delete( Parameters.createDialectParameterGenerator( getFactory() ) );
 	}
 
+	@Override
+	public Object[] hydrate(
+			ResultSet rs,
+			Serializable id,
+			Object object,
+			Loadable rootLoadable,
+			String[][] suffixedPropertyColumns,
+			boolean allProperties,
+			SharedSessionContractImplementor session) throws SQLException, HibernateException {
+		return rowHydrator.canHydrate( rs )
+				? rowHydrator.hydrate( rs, object, suffixedPropertyColumns, allProperties, session )
+				: super.hydrate( rs, id, object, rootLoadable, suffixedPropertyColumns, allProperties, session );
+	}
+
 	@Override
 	public Serializable insert(
 			Object[] fields, boolean[] notNull, String sql, Object object, SharedSessionContractImplementor session)
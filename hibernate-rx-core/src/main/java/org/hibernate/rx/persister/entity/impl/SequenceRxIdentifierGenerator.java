@@ -1,44 +1,56 @@
 package org.hibernate.rx.persister.entity.impl;
 
+import org.hibernate.HibernateException;
 import org.hibernate.boot.model.relational.Database;
 import org.hibernate.boot.model.relational.Namespace;
 import org.hibernate.boot.model.relational.QualifiedName;
 import org.hibernate.boot.spi.MetadataImplementor;
 import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
-import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.persister.spi.PersisterCreationContext;
 import org.hibernate.rx.impl.RxQueryExecutor;
 import org.hibernate.rx.util.impl.RxUtil;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.concurrent.CompletionStage;
 
 /**
  * Support for JPA's {@link javax.persistence.SequenceGenerator}.
+ * Honors the {@code increment_size} and {@code optimizer} settings
+ * of {@link SequenceStyleGenerator}, so that by default a single
+ * call to {@code nextval} yields a whole block of identifiers.
  */
-public class SequenceRxIdentifierGenerator implements RxIdentifierGenerator<Long> {
+public class SequenceRxIdentifierGenerator extends BlockingRxIdentifierGenerator {
 
 	private static final RxQueryExecutor queryExecutor = new RxQueryExecutor();
 
 	private final String sql;
+	private final String bulkSql;
 
 	SequenceRxIdentifierGenerator(PersistentClass persistentClass, PersisterCreationContext creationContext) {
+		this( persistentClass, creationContext, sequenceGeneratorProperties( persistentClass, creationContext ) );
+	}
+
+	private SequenceRxIdentifierGenerator(PersistentClass persistentClass, PersisterCreationContext creationContext,
+										  Properties props) {
+		super(
+				IdentifierGeneration.determineOptimizer( props ),
+				IdentifierGeneration.determineIncrementSize( props ),
+				ConfigurationHelper.getInt( SequenceStyleGenerator.INITIAL_PARAM, props, SequenceStyleGenerator.DEFAULT_INITIAL_VALUE )
+		);
 
 		MetadataImplementor metadata = creationContext.getMetadata();
-		SessionFactoryImplementor sessionFactory = creationContext.getSessionFactory();
 		Database database = metadata.getDatabase();
 		JdbcEnvironment jdbcEnvironment = database.getJdbcEnvironment();
 
-		Properties props = IdentifierGeneration.identifierGeneratorProperties(
-				jdbcEnvironment.getDialect(),
-				sessionFactory,
-				persistentClass
-		);
-
 		QualifiedName logicalQualifiedSequenceName =
 				IdentifierGeneration.determineSequenceName( props, jdbcEnvironment, database );
 		final Namespace namespace = database.locateNamespace(
@@ -55,15 +67,49 @@ public class SequenceRxIdentifierGenerator implements RxIdentifierGenerator<Long
 					dialect
 			);
 			sql = dialect.getSequenceNextValString(finalSequenceName);
+			bulkSql = dialect instanceof PostgreSQL81Dialect
+					? "select " + dialect.getSelectSequenceNextValString(finalSequenceName)
+							+ " from generate_series(1, $1)"
+					: null;
 		}
 		else {
 			sql = null;
+			bulkSql = null;
 		}
 	}
 
+	private static Properties sequenceGeneratorProperties(PersistentClass persistentClass,
+														  PersisterCreationContext creationContext) {
+		return IdentifierGeneration.identifierGeneratorProperties(
+				creationContext.getMetadata().getDatabase().getJdbcEnvironment().getDialect(),
+				creationContext.getSessionFactory(),
+				persistentClass
+		);
+	}
+
 	@Override
 	public CompletionStage<Optional<Long>> generate(SharedSessionContractImplementor session) {
 		return sql==null ? RxUtil.completedFuture(Optional.empty())
-				: queryExecutor.selectLong( sql, new Object[0], session.getFactory() );
+				: super.generate( session );
+	}
+
+	@Override
+	public CompletionStage<List<Long>> generate(int count, SharedSessionContractImplementor session) {
+		return sql==null ? RxUtil.completedFuture(Collections.emptyList())
+				: super.generate( count, session );
+	}
+
+	@Override
+	protected CompletionStage<List<Long>> nextHiValues(int count, SharedSessionContractImplementor session) {
+		return bulkSql==null || count == 1 ? super.nextHiValues( count, session )
+				: queryExecutor.selectLongs( bulkSql, new Object[] { count }, session );
+	}
+
+	@Override
+	protected CompletionStage<Long> nextHiValue(SharedSessionContractImplementor session) {
+		return queryExecutor.selectLong( sql, new Object[0], session )
+				.thenApply( result -> result.orElseThrow(
+						() -> new HibernateException( "sequence returned no value: " + sql )
+				) );
 	}
 }
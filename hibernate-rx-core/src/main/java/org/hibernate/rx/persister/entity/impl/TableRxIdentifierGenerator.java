@@ -21,10 +21,14 @@
 import org.hibernate.mapping.Table;
 import org.hibernate.persister.spi.PersisterCreationContext;
 import org.hibernate.rx.impl.RxQueryExecutor;
+import org.hibernate.rx.service.RxConnection;
+import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
 import org.hibernate.rx.sql.impl.Parameters;
+import org.hibernate.rx.util.impl.RxUtil;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Optional;
+import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
@@ -37,8 +41,14 @@
  * where different logical sequences are represented by different
  * rows ("segments"), or as an emulated sequence generator with
  * just one row and one column.
+ * <p>
+ * Each request to the database reserves a whole block of
+ * {@code increment_size} identifiers, using a select for update
+ * followed by an update, executed within a transaction on a
+ * dedicated connection, so that the lock obtained by the select is
+ * held until the update is committed.
  */
-public class TableRxIdentifierGenerator implements RxIdentifierGenerator<Long> {
+public class TableRxIdentifierGenerator extends BlockingRxIdentifierGenerator {
 
 	private static final RxQueryExecutor queryExecutor = new RxQueryExecutor();
 
@@ -55,31 +65,89 @@ public class TableRxIdentifierGenerator implements RxIdentifierGenerator<Long> {
 	private final SessionFactoryImplementor sessionFactory;
 
 	@Override
-	public CompletionStage<Optional<Long>> generate(SharedSessionContractImplementor session) {
+	protected CompletionStage<Long> nextHiValue(SharedSessionContractImplementor session) {
+		return reserve( 1, session );
+	}
+
+	@Override
+	protected CompletionStage<List<Long>> nextHiValues(int count, SharedSessionContractImplementor session) {
+		// reserve all the values with a single update, and then
+		// work out which values we would have obtained one by one
+		final long step = applyIncrementSizeToSourceValues() ? getIncrementSize() : 1;
+		return reserve( count, session ).thenApply( first -> {
+			List<Long> values = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ ) {
+				values.add( first + i * step );
+			}
+			return values;
+		} );
+	}
+
+	/**
+	 * Advance the stored value as if {@code count} values had been
+	 * obtained one at a time, and return the first of them.
+	 */
+	private CompletionStage<Long> reserve(int count, SharedSessionContractImplementor session) {
+		// the session's own connection might be in the middle of a
+		// transaction which we must not commit (or roll back) here
+		RxConnectionPoolProvider poolProvider = session.getFactory()
+				.getServiceRegistry()
+				.getService( RxConnectionPoolProvider.class );
+		return poolProvider.openConnection( session.getTenantIdentifier(), true )
+				.thenCompose( connection -> connection.beginTransaction()
+						.thenCompose( v -> reserve( count, connection ) )
+						.thenCompose( value -> connection.commitTransaction().thenApply( v -> value ) )
+						// an uncommitted transaction is rolled back when the
+						// connection is returned to the pool
+						.whenComplete( (value, x) -> connection.close() ) );
+	}
+
+	private CompletionStage<Long> reserve(int count, RxConnection connection) {
 		Object[] param = segmentColumnName == null ? new Object[] {} : new Object[] {segmentValue};
-		return queryExecutor.selectLong( selectQuery, param, session.getFactory() )
+		return queryExecutor.selectLong( selectQuery, param, connection )
 				.thenCompose( result -> {
 					if ( !result.isPresent() ) {
 						long initializationValue = storeLastUsedValue ? initialValue - 1 : initialValue;
 						Object[] params = segmentColumnName == null ?
 								new Object[] {initializationValue} :
 								new Object[] {segmentValue, initializationValue};
-						return queryExecutor.update( insertQuery, params, session.getFactory() )
-								.thenApply( v -> Optional.of( initialValue ) );
+						return queryExecutor.update( insertQuery, params, connection )
+								.thenApply( v -> initializationValue );
 					}
 					else {
-						long currentValue = result.get();
-						long updatedValue = currentValue + 1;
-						Object[] params = segmentColumnName == null ?
-								new Object[] {updatedValue, currentValue} :
-								new Object[] {updatedValue, currentValue, segmentValue};
-						return queryExecutor.update( updateQuery, params, session.getFactory() )
-								.thenApply( v -> Optional.of( storeLastUsedValue ? updatedValue : currentValue ) );
+						return RxUtil.completedFuture( result.get() );
 					}
+				})
+				.thenCompose( currentValue -> {
+					long step = applyIncrementSizeToSourceValues() ? getIncrementSize() : 1;
+					long updatedValue = currentValue + step * count;
+					Object[] params = segmentColumnName == null ?
+							new Object[] {updatedValue, currentValue} :
+							new Object[] {updatedValue, currentValue, segmentValue};
+					return queryExecutor.update( updateQuery, params, connection )
+							.thenCompose( rows -> rows == 0 ?
+									// somebody else updated the row, try again
+									reserve( count, connection ) :
+									RxUtil.completedFuture( storeLastUsedValue ? currentValue + 1 : currentValue ) );
 				});
 	}
 
 	TableRxIdentifierGenerator(PersistentClass persistentClass, PersisterCreationContext creationContext) {
+		this( creationContext, IdentifierGeneration.identifierGeneratorProperties(
+				creationContext.getMetadata().getDatabase().getJdbcEnvironment().getDialect(),
+				creationContext.getSessionFactory(),
+				persistentClass
+		) );
+	}
+
+	private TableRxIdentifierGenerator(PersisterCreationContext creationContext, Properties props) {
+		// the initial_value, increment_size, and optimizer parameters
+		// have the same names for TableGenerator and SequenceStyleGenerator
+		super(
+				IdentifierGeneration.determineOptimizer( props ),
+				IdentifierGeneration.determineIncrementSize( props ),
+				ConfigurationHelper.getInt( TableGenerator.INITIAL_PARAM, props, TableGenerator.DEFAULT_INITIAL_VALUE )
+		);
 
 		MetadataImplementor metadata = creationContext.getMetadata();
 		sessionFactory = creationContext.getSessionFactory();
@@ -87,12 +155,6 @@ public CompletionStage<Optional<Long>> generate(SharedSessionContractImplementor
 		JdbcEnvironment jdbcEnvironment = database.getJdbcEnvironment();
 		Dialect dialect = database.getJdbcEnvironment().getDialect();
 
-		Properties props = IdentifierGeneration.identifierGeneratorProperties(
-				jdbcEnvironment.getDialect(),
-				sessionFactory,
-				persistentClass
-		);
-
 		QualifiedName qualifiedTableName = IdentifierGeneration.determineTableName(database, jdbcEnvironment, props);
 		final Namespace namespace = database.locateNamespace(
 				qualifiedTableName.getCatalogName(),
@@ -129,8 +191,10 @@ public CompletionStage<Optional<Long>> generate(SharedSessionContractImplementor
 		this.updateQuery = buildUpdateQuery(sessionFactory);
 		this.insertQuery = buildInsertQuery(sessionFactory);
 
-		storeLastUsedValue = database.getServiceRegistry().getService( ConfigurationService.class )
-				.getSetting( AvailableSettings.TABLE_GENERATOR_STORE_LAST_USED, StandardConverters.BOOLEAN, true );
+		// like TableStructure, an emulated sequence always stores the next value
+		storeLastUsedValue = segmentColumnName != null
+				&& database.getServiceRegistry().getService( ConfigurationService.class )
+						.getSetting( AvailableSettings.TABLE_GENERATOR_STORE_LAST_USED, StandardConverters.BOOLEAN, true );
 	}
 
 	protected String determineSegmentColumnName(Properties params, JdbcEnvironment jdbcEnvironment) {
@@ -191,7 +255,7 @@ protected String buildUpdateQuery(SessionFactoryImplementor sessionFactory) {
 				+ " set " + valueColumnName + "="  + generator.get()
 				+ " where " + valueColumnName + "="  + generator.get();
 		if (segmentColumnName != null) {
-			update += "and " + segmentColumnName + "=" + generator.get();
+			update += " and " + segmentColumnName + "=" + generator.get();
 		}
 		return update;
 	}
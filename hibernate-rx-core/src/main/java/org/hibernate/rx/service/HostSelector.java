@@ -0,0 +1,258 @@
+package org.hibernate.rx.service;
+
+import io.vertx.axle.sqlclient.Pool;
+import org.hibernate.HibernateException;
+import org.hibernate.rx.impl.PoolConnection;
+import org.hibernate.rx.impl.SqlStatementLogger;
+import org.hibernate.rx.util.impl.JdbcUrlParser;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Chooses among the hosts listed by a multi-host JDBC URL, for
+ * example, {@code jdbc:postgresql://h1:5432,h2:5432/db}, keeping
+ * a separate pool for each host, and tracking the health, latency,
+ * and role of each host.
+ * <p>
+ * The following parameters of the URL, borrowed from the PostgreSQL
+ * JDBC driver, are understood:
+ * <ul>
+ * <li>{@code targetServerType}: {@code any} (the default),
+ * {@code primary}, {@code secondary}, or {@code preferSecondary},
+ * </li>
+ * <li>{@code loadBalanceHosts}: if {@code true}, connections are
+ * spread across the healthy hosts, favoring the hosts with the
+ * lowest latency, and otherwise the hosts are tried in the order
+ * they are listed, and</li>
+ * <li>{@code hostRecheckSeconds}: how long a host which failed is
+ * avoided, 10 seconds by default.</li>
+ * </ul>
+ * Whether a host is a primary or a standby is determined when a
+ * connection is first obtained from it, and again after it fails.
+ */
+public final class HostSelector {
+
+	public static final int DEFAULT_HOST_RECHECK_SECONDS = 10;
+
+	enum TargetServerType { ANY, PRIMARY, SECONDARY, PREFER_SECONDARY }
+
+	enum Role { UNKNOWN, PRIMARY, STANDBY }
+
+	/**
+	 * A host, along with its pool and what we know about it.
+	 */
+	public static final class Host {
+		private final URI uri;
+		private final Pool pool;
+		private volatile long downUntil = System.nanoTime();
+		private volatile long latency;
+		private volatile Role role = Role.UNKNOWN;
+		private volatile PoolConnection connection;
+
+		Host(URI uri, Pool pool) {
+			this.uri = uri;
+			this.pool = pool;
+		}
+
+		public URI getUri() {
+			return uri;
+		}
+
+		public Pool getPool() {
+			return pool;
+		}
+
+		/**
+		 * A connection which dispatches each statement to the pool,
+		 * created once and then shared, so that what it reads from
+		 * the database and caches, for example, the MySQL
+		 * {@code auto_increment_increment}, is read only once.
+		 */
+		PoolConnection getConnection(SqlStatementLogger sqlLogger, RxConnectionListener listener) {
+			PoolConnection result = connection;
+			if ( result == null ) {
+				// a race creates an extra connection, which is harmless
+				result = new PoolConnection( pool, sqlLogger, listener );
+				connection = result;
+			}
+			return result;
+		}
+
+		boolean isUp(long now) {
+			return now - downUntil >= 0;
+		}
+
+		@Override
+		public String toString() {
+			return uri.getHost() + ":" + uri.getPort();
+		}
+	}
+
+	private final List<Host> hosts;
+	private final TargetServerType targetServerType;
+	private final boolean loadBalance;
+	private final long recheckNanos;
+	private final AtomicInteger rotation = new AtomicInteger();
+
+	public HostSelector(String url, Function<URI, Pool> poolFactory) {
+		final List<URI> uris = JdbcUrlParser.parseHosts( url );
+		if ( uris.isEmpty() ) {
+			throw new HibernateException( "No database URL" );
+		}
+		List<Host> hosts = new ArrayList<>( uris.size() );
+		for ( URI uri : uris ) {
+			hosts.add( new Host( uri, poolFactory.apply( uri ) ) );
+		}
+		this.hosts = Collections.unmodifiableList( hosts );
+
+		final URI first = uris.get( 0 );
+		targetServerType = targetServerType( JdbcUrlParser.getParameter( first, "targetServerType" ) );
+		loadBalance = Boolean.parseBoolean( JdbcUrlParser.getParameter( first, "loadBalanceHosts" ) );
+		final String recheck = JdbcUrlParser.getParameter( first, "hostRecheckSeconds" );
+		recheckNanos = TimeUnit.SECONDS.toNanos( recheck == null ? DEFAULT_HOST_RECHECK_SECONDS : Integer.parseInt( recheck ) );
+	}
+
+	private static TargetServerType targetServerType(String value) {
+		if ( value == null ) {
+			return TargetServerType.ANY;
+		}
+		switch ( value ) {
+			case "any":
+				return TargetServerType.ANY;
+			case "primary":
+			case "master":
+				return TargetServerType.PRIMARY;
+			case "secondary":
+			case "slave":
+				return TargetServerType.SECONDARY;
+			case "preferSecondary":
+			case "preferSlave":
+				return TargetServerType.PREFER_SECONDARY;
+			default:
+				throw new HibernateException( "Unknown targetServerType: " + value );
+		}
+	}
+
+	public List<Host> getHosts() {
+		return hosts;
+	}
+
+	/**
+	 * The hosts to try for a new connection, best first. Healthy
+	 * hosts of the right role come first, and hosts which recently
+	 * failed come last, as a last resort.
+	 */
+	public List<Host> candidates() {
+		if ( hosts.size() == 1 ) {
+			return hosts;
+		}
+		final long now = System.nanoTime();
+		final List<Host> up = new ArrayList<>( hosts.size() );
+		final List<Host> down = new ArrayList<>( hosts.size() );
+		final int offset = loadBalance ? Math.floorMod( rotation.getAndIncrement(), hosts.size() ) : 0;
+		for ( int i = 0; i < hosts.size(); i++ ) {
+			Host host = hosts.get( ( i + offset ) % hosts.size() );
+			if ( !isAcceptable( host ) ) {
+				continue;
+			}
+			( host.isUp( now ) ? up : down ).add( host );
+		}
+		if ( loadBalance ) {
+			// hosts within a millisecond of each other share the load
+			up.sort( Comparator.comparingLong( host -> TimeUnit.NANOSECONDS.toMillis( host.latency ) ) );
+		}
+		if ( targetServerType == TargetServerType.PREFER_SECONDARY ) {
+			up.sort( Comparator.comparingInt( host -> host.role == Role.STANDBY ? 0 : host.role == Role.UNKNOWN ? 1 : 2 ) );
+		}
+		down.sort( Comparator.comparingLong( host -> host.downUntil - now ) );
+		up.addAll( down );
+		return up;
+	}
+
+	/**
+	 * The best host right now, for statements which don't need
+	 * a dedicated connection, or {@code null} if there's no host
+	 * known to be of the role required by {@code targetServerType},
+	 * in which case the roles must be determined first.
+	 */
+	public Host best() {
+		for ( Host host : candidates() ) {
+			if ( !isRoleCheckNeeded( host ) ) {
+				return host;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Could the host be of the role required by {@code targetServerType}?
+	 */
+	public boolean isAcceptable(Host host) {
+		switch ( targetServerType ) {
+			case PRIMARY:
+				return host.role != Role.STANDBY;
+			case SECONDARY:
+				return host.role != Role.PRIMARY;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * Must the role of the host be determined before using it?
+	 */
+	public boolean isRoleCheckNeeded(Host host) {
+		return targetServerType != TargetServerType.ANY && host.role == Role.UNKNOWN;
+	}
+
+	public void setStandby(Host host, boolean standby) {
+		host.role = standby ? Role.STANDBY : Role.PRIMARY;
+	}
+
+	/**
+	 * A connection was obtained from the host.
+	 *
+	 * @param latencyNanos the time it took
+	 */
+	public void succeeded(Host host, long latencyNanos) {
+		final long latency = host.latency;
+		// an exponentially-weighted moving average
+		host.latency = latency == 0 ? latencyNanos : latency + ( latencyNanos - latency ) / 8;
+	}
+
+	/**
+	 * A connection could not be obtained from the host, so avoid it
+	 * for a while, and determine its role again when it comes back,
+	 * since it might have been failed over.
+	 */
+	public void failed(Host host) {
+		host.downUntil = System.nanoTime() + recheckNanos;
+		host.role = Role.UNKNOWN;
+	}
+
+	/**
+	 * A query which returns {@code true}, or a nonzero number, if
+	 * the database is a read-only standby.
+	 */
+	public static String standbyQuery(Host host) {
+		switch ( host.uri.getScheme() ) {
+			case "mysql":
+				return "select @@global.read_only";
+			default:
+				return "select pg_is_in_recovery()";
+		}
+	}
+
+	public void close() {
+		for ( Host host : hosts ) {
+			host.pool.close();
+		}
+	}
+}
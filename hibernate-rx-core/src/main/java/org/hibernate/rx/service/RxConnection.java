@@ -1,11 +1,10 @@
 package org.hibernate.rx.service;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
-import java.util.function.Consumer;
 
 import io.vertx.axle.sqlclient.Row;
-import org.hibernate.rx.RxSession;
 
 import io.vertx.axle.sqlclient.RowSet;
 import io.vertx.axle.sqlclient.Tuple;
@@ -14,24 +13,51 @@
  * Abstracts over reactive connection pools.
  *
  * @see org.hibernate.rx.impl.PoolConnection
+ * @see org.hibernate.rx.impl.SqlClientConnection
  */
 // FIXME: We might need to replace RowSet and Tuple classes
 public interface RxConnection {
-	CompletionStage<Void> inTransaction(
-			Consumer<RxSession> consumer,
-			RxSession delegate);
+
+	/**
+	 * Start a transaction on this connection. Only supported by
+	 * connections which are pinned to a single database connection.
+	 */
+	CompletionStage<Void> beginTransaction();
+
+	CompletionStage<Void> commitTransaction();
+
+	CompletionStage<Void> rollbackTransaction();
+
+	boolean isTransactionInProgress();
 
 	CompletionStage<Integer> update(String sql);
 
 	CompletionStage<Integer> update(String sql, Tuple parameters);
 
+	/**
+	 * Execute the given statement once for each element of the
+	 * given list of parameters, in a single round trip.
+	 *
+	 * @return the row count for each execution of the statement
+	 */
+	CompletionStage<int[]> updateBatch(String sql, List<Tuple> parameters);
+
 	CompletionStage<RowSet<Row>> preparedQuery(String query);
 
 	CompletionStage<Optional<Integer>> updateReturning(String sql, Tuple parameters);
 
 	CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple parameters);
 
+	/**
+	 * The value of the MySQL variable {@code auto_increment_increment}
+	 * for this connection, that is, the difference between successive
+	 * identifiers generated for the rows of a multi-row insert.
+	 */
+	default CompletionStage<Integer> getAutoIncrementIncrement() {
+		return preparedQuery( "select @@auto_increment_increment" )
+				.thenApply( rows -> ( (Number) rows.iterator().next().getValue( 0 ) ).intValue() );
+	}
+
 	void close();
 
 }
-
@@ -0,0 +1,52 @@
+package org.hibernate.rx.service;
+
+/**
+ * Receives notifications of connection checkouts and statement
+ * executions from the {@link RxConnection reactive connections}
+ * obtained from the
+ * {@link org.hibernate.rx.service.initiator.RxConnectionPoolProvider}.
+ * <p>
+ * Listeners are called on the Vert.x event loop, so they must not
+ * block, and should do as little work as possible. Implementations
+ * may be registered via {@link org.hibernate.rx.cfg.RxSettings#CONNECTION_LISTENERS},
+ * or by calling
+ * {@link org.hibernate.rx.service.initiator.RxConnectionPoolProvider#addListener}.
+ *
+ * @see RxPoolStatistics
+ */
+public interface RxConnectionListener {
+
+	/**
+	 * A session has requested a dedicated connection from the pool.
+	 */
+	default void connectionRequested() {}
+
+	/**
+	 * A dedicated connection was checked out of the pool.
+	 *
+	 * @param waitNanos the time spent waiting for the connection
+	 */
+	default void connectionAcquired(long waitNanos) {}
+
+	/**
+	 * A dedicated connection could not be checked out of the pool.
+	 *
+	 * @param waitNanos the time spent waiting before the failure
+	 */
+	default void connectionAcquisitionFailed(long waitNanos, Throwable failure) {}
+
+	/**
+	 * A dedicated connection was returned to the pool.
+	 */
+	default void connectionReleased() {}
+
+	/**
+	 * A statement, or a batch of statements, was executed.
+	 *
+	 * @param executionNanos the time between dispatching the
+	 *                       statement and receiving its result
+	 * @param failure the exception if the statement failed, or
+	 *                {@code null} if it succeeded
+	 */
+	default void statementExecuted(String sql, long executionNanos, Throwable failure) {}
+}
@@ -0,0 +1,111 @@
+package org.hibernate.rx.service;
+
+import org.hibernate.HibernateException;
+import org.hibernate.rx.boot.impl.FlatClassLoaderService;
+import org.hibernate.rx.cfg.RxSettings;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Dispatches each notification to every registered listener.
+ * Listeners are rarely registered, so they're held in an array
+ * which is copied when one is added, and which may be iterated
+ * without locking or allocation.
+ */
+final class RxConnectionListeners implements RxConnectionListener {
+	private volatile RxConnectionListener[] listeners;
+
+	RxConnectionListeners(RxConnectionListener first) {
+		listeners = new RxConnectionListener[] { first };
+	}
+
+	synchronized void add(RxConnectionListener listener) {
+		RxConnectionListener[] copy = Arrays.copyOf( listeners, listeners.length + 1 );
+		copy[listeners.length] = listener;
+		listeners = copy;
+	}
+
+	/**
+	 * Register the listeners given by {@link RxSettings#CONNECTION_LISTENERS},
+	 * either instances, or a comma-separated list of class names.
+	 */
+	void addAll(Object setting) {
+		if ( setting == null ) {
+			return;
+		}
+		if ( setting instanceof RxConnectionListener ) {
+			add( (RxConnectionListener) setting );
+		}
+		else if ( setting instanceof RxConnectionListener[] ) {
+			addAll( Arrays.asList( (RxConnectionListener[]) setting ) );
+		}
+		else if ( setting instanceof Collection ) {
+			for ( Object listener : (Collection<?>) setting ) {
+				addAll( listener );
+			}
+		}
+		else if ( setting instanceof Class ) {
+			add( instantiateListener( (Class<?>) setting ) );
+		}
+		else if ( setting instanceof String ) {
+			for ( String className : ( (String) setting ).split( "," ) ) {
+				if ( !className.trim().isEmpty() ) {
+					Class<?> listenerClass = FlatClassLoaderService.INSTANCE.classForName( className.trim() );
+					add( instantiateListener( listenerClass ) );
+				}
+			}
+		}
+		else {
+			throw new HibernateException( "The value of " + RxSettings.CONNECTION_LISTENERS
+					+ " must be a listener or list of listeners, but was: " + setting );
+		}
+	}
+
+	private static RxConnectionListener instantiateListener(Class<?> listenerClass) {
+		if ( !RxConnectionListener.class.isAssignableFrom( listenerClass ) ) {
+			throw new HibernateException( "Class does not implement RxConnectionListener: " + listenerClass.getName() );
+		}
+		try {
+			return (RxConnectionListener) listenerClass.newInstance();
+		}
+		catch (InstantiationException | IllegalAccessException e) {
+			throw new HibernateException( "Could not instantiate connection listener: " + listenerClass.getName(), e );
+		}
+	}
+
+	@Override
+	public void connectionRequested() {
+		for ( RxConnectionListener listener : listeners ) {
+			listener.connectionRequested();
+		}
+	}
+
+	@Override
+	public void connectionAcquired(long waitNanos) {
+		for ( RxConnectionListener listener : listeners ) {
+			listener.connectionAcquired( waitNanos );
+		}
+	}
+
+	@Override
+	public void connectionAcquisitionFailed(long waitNanos, Throwable failure) {
+		for ( RxConnectionListener listener : listeners ) {
+			listener.connectionAcquisitionFailed( waitNanos, failure );
+		}
+	}
+
+	@Override
+	public void connectionReleased() {
+		for ( RxConnectionListener listener : listeners ) {
+			listener.connectionReleased();
+		}
+	}
+
+	@Override
+	public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+		for ( RxConnectionListener listener : listeners ) {
+			listener.statementExecuted( sql, executionNanos, failure );
+		}
+	}
+}
@@ -4,29 +4,109 @@
 import io.vertx.axle.mysqlclient.MySQLPool;
 import io.vertx.axle.pgclient.PgPool;
 import io.vertx.axle.sqlclient.Pool;
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.RowSet;
+import io.vertx.axle.sqlclient.SqlConnection;
+import io.vertx.axle.sqlclient.Tuple;
+import io.vertx.core.VertxOptions;
 import io.vertx.mysqlclient.MySQLConnectOptions;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.sqlclient.PoolOptions;
+import org.hibernate.HibernateException;
 import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.internal.util.config.ConfigurationHelper;
-import org.hibernate.rx.impl.PoolConnection;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.impl.ReplicaConnection;
+import org.hibernate.rx.impl.SqlClientConnection;
+import org.hibernate.rx.impl.SqlStatementLogger;
 import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
 import org.hibernate.rx.util.impl.JdbcUrlParser;
+import org.hibernate.rx.util.impl.RxUtil;
 import org.hibernate.service.spi.Configurable;
 import org.hibernate.service.spi.Stoppable;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * A pool of reactive connections backed by a
  * Vert.x {@link PgPool} or {@link MySQLPool}.
+ * <p>
+ * The pool runs on the Vert.x instance given by
+ * {@link RxSettings#VERTX_INSTANCE}, if any, so that an application
+ * which already has a Vert.x instance doesn't pay for a second set
+ * of event loops. Otherwise, it creates its own instance, sized
+ * according to {@link RxSettings#VERTX_EVENT_LOOP_POOL_SIZE} and
+ * {@link RxSettings#VERTX_WORKER_POOL_SIZE}, and closes it when the
+ * pool is closed.
+ * <p>
+ * If {@link RxSettings#REPLICA_URLS} lists read replicas, a pool is
+ * created for each of them, and read-only queries may be served by
+ * {@link #getReplicaConnection() replica connections}.
+ * <p>
+ * The URL may list several hosts, in which case a pool is created
+ * for each host, and each new connection is obtained from the best
+ * available host, as determined by the {@link HostSelector}.
+ * <p>
+ * Every connection checkout and statement execution is recorded by
+ * the {@link #getStatistics() pool statistics}, and reported to the
+ * {@link RxConnectionListener listeners} given by
+ * {@link RxSettings#CONNECTION_LISTENERS}, or registered by calling
+ * {@link #addListener(RxConnectionListener)}.
+ * <p>
+ * Requests for a dedicated connection are subject to admission
+ * control: if {@link RxSettings#ADMISSION_MAX_PENDING} requests are
+ * already waiting, or if a request waits longer than
+ * {@link RxSettings#ADMISSION_TIMEOUT}, the request fails with an
+ * {@link RxConnectionRejectedException}, so that load is shed quickly
+ * instead of every session eventually timing out together.
+ * <p>
+ * If {@link RxSettings#TENANT_URL} is set, sessions with a tenant
+ * identifier obtain their connections from pools for the tenant's
+ * own database. These pools are created when first needed, and at
+ * most {@link RxSettings#TENANT_MAX_POOLS} tenants have pools at a
+ * time, the pools of the least recently used tenant being closed
+ * when another tenant needs pools.
  */
 public class RxConnectionPoolProviderImpl implements RxConnectionPoolProvider, Configurable, Stoppable {
 
 	public static final int DEFAULT_POOL_SIZE = 5;
-	private Pool pool;
-	private boolean showSQL;
+	private HostSelector hosts;
+	private Vertx vertx;
+	private boolean ownsVertx;
+	private SqlStatementLogger sqlLogger;
+
+	private final List<Replica> replicas = new ArrayList<>();
+	private final AtomicInteger nextReplica = new AtomicInteger();
+	private boolean leastInFlight;
+
+	private int maxPending;
+	private int reservedForWrites;
+	private long admissionTimeout;
+	private final AtomicInteger pending = new AtomicInteger();
+
+	public static final int DEFAULT_MAX_TENANT_POOLS = 16;
+	private static final String TENANT_PLACEHOLDER = "{tenant}";
+	private Function<String, String> tenantUrls;
+	private int maxTenantPools;
+	private PoolOptions tenantPoolOptions;
+	private Map tenantConfigurationValues;
+	//the pools of the tenants, least recently used first
+	private final LinkedHashMap<String, Tenant> tenants = new LinkedHashMap<>( 16, 0.75f, true );
+
+	private final RxPoolStatistics statistics = new RxPoolStatistics();
+	private final RxConnectionListeners listeners = new RxConnectionListeners( statistics );
 
 	public RxConnectionPoolProviderImpl(Map configurationValues) {
 		configure( configurationValues );
@@ -34,14 +114,120 @@ public RxConnectionPoolProviderImpl(Map configurationValues) {
 
 	@Override
 	public void configure(Map configurationValues) {
-		// FIXME: Check which values can be null
-		String username = ConfigurationHelper.getString(AvailableSettings.USER, configurationValues);
-		String password = ConfigurationHelper.getString(AvailableSettings.PASS, configurationValues);
+		if ( hosts != null ) {
+			// the service registry calls this method again after
+			// the initiator has already configured the pool, and
+			// we must not create a second pool and Vert.x instance
+			return;
+		}
 
 		final Integer poolSize = ConfigurationHelper.getInt(AvailableSettings.POOL_SIZE, configurationValues, DEFAULT_POOL_SIZE);
+		final int maxWaitQueueSize = ConfigurationHelper.getInt(RxSettings.POOL_MAX_WAIT_QUEUE_SIZE, configurationValues, PoolOptions.DEFAULT_MAX_WAIT_QUEUE_SIZE);
+
+		PoolOptions poolOptions = new PoolOptions()
+				.setMaxSize( poolSize )
+				.setMaxWaitQueueSize( maxWaitQueueSize );
+
+		vertx = vertx( configurationValues );
 
 		final String url = ConfigurationHelper.getString(AvailableSettings.URL, configurationValues);
-		final URI uri = JdbcUrlParser.parse( url );
+		this.hosts = new HostSelector( url, uri -> createPool( uri, configurationValues, poolOptions ) );
+
+		final String replicaUrls = ConfigurationHelper.getString(RxSettings.REPLICA_URLS, configurationValues);
+		if ( replicaUrls != null ) {
+			for ( String replicaUrl : replicaUrls.split( "," ) ) {
+				if ( !replicaUrl.trim().isEmpty() ) {
+					replicas.add( new Replica( createPool( JdbcUrlParser.parse( replicaUrl.trim() ), configurationValues, poolOptions ) ) );
+				}
+			}
+		}
+		final String balancing = ConfigurationHelper.getString(RxSettings.REPLICA_BALANCING, configurationValues, "round_robin");
+		switch ( balancing ) {
+			case "round_robin":
+				leastInFlight = false;
+				break;
+			case "least_in_flight":
+				leastInFlight = true;
+				break;
+			default:
+				throw new HibernateException( "The value of " + RxSettings.REPLICA_BALANCING
+						+ " must be 'round_robin' or 'least_in_flight', but was: " + balancing );
+		}
+
+		maxPending = ConfigurationHelper.getInt(RxSettings.ADMISSION_MAX_PENDING, configurationValues, -1);
+		reservedForWrites = ConfigurationHelper.getInt(RxSettings.ADMISSION_RESERVED_FOR_WRITES, configurationValues, 0);
+		admissionTimeout = ConfigurationHelper.getInt(RxSettings.ADMISSION_TIMEOUT, configurationValues, -1);
+		if ( maxPending >= 0 && reservedForWrites > maxPending ) {
+			throw new HibernateException( "The value of " + RxSettings.ADMISSION_RESERVED_FOR_WRITES
+					+ " may not exceed the value of " + RxSettings.ADMISSION_MAX_PENDING );
+		}
+
+		tenantUrls = tenantUrls( configurationValues.get( RxSettings.TENANT_URL ) );
+		if ( tenantUrls != null ) {
+			maxTenantPools = ConfigurationHelper.getInt(RxSettings.TENANT_MAX_POOLS, configurationValues, DEFAULT_MAX_TENANT_POOLS);
+			tenantPoolOptions = new PoolOptions()
+					.setMaxSize( ConfigurationHelper.getInt(RxSettings.TENANT_POOL_SIZE, configurationValues, poolSize) )
+					.setMaxWaitQueueSize( maxWaitQueueSize );
+			tenantConfigurationValues = configurationValues;
+		}
+
+		listeners.addAll( configurationValues.get( RxSettings.CONNECTION_LISTENERS ) );
+
+		sqlLogger = new SqlStatementLogger( configurationValues );
+	}
+
+	/**
+	 * Interpret the setting {@link RxSettings#TENANT_URL}, either a
+	 * function from tenant identifier to URL, or a URL template.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Function<String, String> tenantUrls(Object setting) {
+		if ( setting == null ) {
+			return null;
+		}
+		if ( setting instanceof Function ) {
+			return (Function<String, String>) setting;
+		}
+		final String template = setting.toString();
+		if ( !template.contains( TENANT_PLACEHOLDER ) ) {
+			throw new HibernateException( "The value of " + RxSettings.TENANT_URL
+					+ " must contain " + TENANT_PLACEHOLDER + ", but was: " + template );
+		}
+		return tenantId -> template.replace( TENANT_PLACEHOLDER, encodeTenantId( tenantId ) );
+	}
+
+	/**
+	 * Percent-encode every character of the tenant identifier which
+	 * is not unreserved in a URI, so that the identifier can't change
+	 * the structure of the URL, for example, by adding a parameter.
+	 */
+	static String encodeTenantId(String tenantId) {
+		final StringBuilder encoded = new StringBuilder( tenantId.length() );
+		for ( byte b : tenantId.getBytes( StandardCharsets.UTF_8 ) ) {
+			final char c = (char) ( b & 0xFF );
+			if ( c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z' || c >= '0' && c <= '9'
+					|| c == '-' || c == '.' || c == '_' || c == '~' ) {
+				encoded.append( c );
+			}
+			else {
+				encoded.append( '%' )
+						.append( Character.toUpperCase( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ) )
+						.append( Character.toUpperCase( Character.forDigit( b & 0xF, 16 ) ) );
+			}
+		}
+		return encoded.toString();
+	}
+
+	/**
+	 * Create a pool of connections to the database with the given URI.
+	 * The credentials are taken from the configuration, or else from
+	 * the query string of the URI.
+	 */
+	private Pool createPool(URI uri, Map configurationValues, PoolOptions poolOptions) {
+		// FIXME: Check which values can be null
+		String username = ConfigurationHelper.getString(AvailableSettings.USER, configurationValues);
+		String password = ConfigurationHelper.getString(AvailableSettings.PASS, configurationValues);
+
 		final String database = uri.getPath().substring( 1 );
 
 		if (username==null || password==null) {
@@ -59,8 +245,6 @@ public void configure(Map configurationValues) {
 			}
 		}
 
-		PoolOptions poolOptions = new PoolOptions()
-				.setMaxSize( poolSize );
 		switch ( uri.getScheme() ) {
 			case "postgresql":
 				PgConnectOptions pgOptions = new PgConnectOptions()
@@ -71,8 +255,7 @@ public void configure(Map configurationValues) {
 				if (password != null) {
 					pgOptions.setPassword( password );
 				}
-				this.pool = PgPool.pool(Vertx.vertx(), pgOptions, poolOptions);
-				break;
+				return PgPool.pool(vertx, pgOptions, poolOptions);
 			case "mysql":
 				MySQLConnectOptions mysqlOptions = new MySQLConnectOptions()
 						.setPort( uri.getPort() )
@@ -82,25 +265,493 @@ public void configure(Map configurationValues) {
 				if (password != null) {
 					mysqlOptions.setPassword( password );
 				}
-				this.pool = MySQLPool.pool(Vertx.vertx(), mysqlOptions, poolOptions);
-				break;
+				return MySQLPool.pool(vertx, mysqlOptions, poolOptions);
+			default:
+				throw new HibernateException( "Unsupported database URL: " + uri );
 		}
+	}
 
-		showSQL = "true".equals( configurationValues.get( AvailableSettings.SHOW_SQL ) );
+	/**
+	 * The Vert.x instance supplied by the application, or a new one
+	 * configured according to the given settings.
+	 */
+	private Vertx vertx(Map configurationValues) {
+		final Object instance = configurationValues.get( RxSettings.VERTX_INSTANCE );
+		if ( instance instanceof Vertx ) {
+			ownsVertx = false;
+			return (Vertx) instance;
+		}
+		if ( instance instanceof io.vertx.core.Vertx ) {
+			ownsVertx = false;
+			return Vertx.newInstance( (io.vertx.core.Vertx) instance );
+		}
+		if ( instance != null ) {
+			throw new HibernateException( "The value of " + RxSettings.VERTX_INSTANCE
+					+ " must be a Vert.x instance, but was: " + instance );
+		}
+
+		VertxOptions vertxOptions = new VertxOptions();
+		Integer eventLoopPoolSize = ConfigurationHelper.getInteger( RxSettings.VERTX_EVENT_LOOP_POOL_SIZE, configurationValues );
+		if ( eventLoopPoolSize != null ) {
+			vertxOptions.setEventLoopPoolSize( eventLoopPoolSize );
+		}
+		Integer workerPoolSize = ConfigurationHelper.getInteger( RxSettings.VERTX_WORKER_POOL_SIZE, configurationValues );
+		if ( workerPoolSize != null ) {
+			vertxOptions.setWorkerPoolSize( workerPoolSize );
+		}
+		ownsVertx = true;
+		return Vertx.vertx( vertxOptions );
 	}
 
 	@Override
 	public RxConnection getConnection() {
-		return new PoolConnection( pool, showSQL );
+		final HostSelector.Host best = hosts.best();
+		return best == null ? new UnresolvedConnection() : best.getConnection( sqlLogger, listeners );
+	}
+
+	@Override
+	public RxConnection getConnection(String tenantId) {
+		if ( tenantId == null || tenantUrls == null ) {
+			return getConnection();
+		}
+		return new TenantConnection( tenantId );
+	}
+
+	@Override
+	public CompletionStage<RxConnection> openConnection(String tenantId, boolean priority) {
+		if ( tenantId == null || tenantUrls == null ) {
+			return openConnection( priority );
+		}
+		Tenant tenant = tenant( tenantId );
+		return openConnection( tenant.hosts, tenant, priority );
+	}
+
+	/**
+	 * The pools for the given tenant, which are created when first
+	 * needed. If there are too many tenants with pools, the pools of
+	 * the least recently used tenant are closed.
+	 * <p>
+	 * The pools are reserved for the caller, and are not closed until
+	 * the caller {@link Tenant#release() releases} them, even if they
+	 * are evicted in the meantime.
+	 */
+	private Tenant tenant(String tenantId) {
+		Tenant evicted = null;
+		Tenant tenant;
+		synchronized ( tenants ) {
+			tenant = tenants.get( tenantId );
+			if ( tenant == null ) {
+				String url = tenantUrls.apply( tenantId );
+				tenant = new Tenant( new HostSelector( url, uri -> createPool( uri, tenantConfigurationValues, tenantPoolOptions ) ) );
+				tenants.put( tenantId, tenant );
+				if ( tenants.size() > maxTenantPools ) {
+					Iterator<Tenant> leastRecentlyUsed = tenants.values().iterator();
+					evicted = leastRecentlyUsed.next();
+					leastRecentlyUsed.remove();
+				}
+			}
+			// reserve the pools while they can't be evicted
+			tenant.inUse.incrementAndGet();
+		}
+		if ( evicted != null ) {
+			evicted.evict();
+		}
+		return tenant;
+	}
+
+	@Override
+	public boolean hasReplicas() {
+		return !replicas.isEmpty();
+	}
+
+	/**
+	 * A connection to the replica chosen by the configured
+	 * {@link RxSettings#REPLICA_BALANCING balancing strategy}, or to
+	 * the primary database if there are no replicas.
+	 */
+	@Override
+	public RxConnection getReplicaConnection() {
+		if ( replicas.isEmpty() ) {
+			return getConnection();
+		}
+		final Replica replica;
+		if ( leastInFlight ) {
+			Replica least = replicas.get( 0 );
+			for ( Replica candidate : replicas ) {
+				if ( candidate.inFlight.get() < least.inFlight.get() ) {
+					least = candidate;
+				}
+			}
+			replica = least;
+		}
+		else {
+			int index = Math.floorMod( nextReplica.getAndIncrement(), replicas.size() );
+			replica = replicas.get( index );
+		}
+		return new ReplicaConnection( replica.pool, replica.inFlight, sqlLogger, listeners );
+	}
+
+	@Override
+	public CompletionStage<RxConnection> openConnection() {
+		return openConnection( false );
+	}
+
+	/**
+	 * Check out a connection, unless too many requests are already
+	 * waiting, in which case the request is rejected immediately.
+	 * A request which waits longer than the configured timeout is
+	 * also rejected, and the connection is returned to the pool
+	 * when it eventually arrives. Until then, the request still
+	 * counts as waiting, since it's still in the wait queue of the
+	 * pool, and so timeouts never let the wait queue grow beyond
+	 * {@link RxSettings#ADMISSION_MAX_PENDING}.
+	 */
+	@Override
+	public CompletionStage<RxConnection> openConnection(boolean priority) {
+		return openConnection( hosts, listeners, priority );
+	}
+
+	private CompletionStage<RxConnection> openConnection(HostSelector hosts, RxConnectionListener listeners, boolean priority) {
+		listeners.connectionRequested();
+		final long start = System.nanoTime();
+
+		final int waiting = pending.incrementAndGet();
+		final int limit = priority ? maxPending : maxPending - reservedForWrites;
+		if ( maxPending >= 0 && waiting > limit ) {
+			pending.decrementAndGet();
+			RxConnectionRejectedException rejection = new RxConnectionRejectedException(
+					"Too many requests waiting for a connection (" + RxSettings.ADMISSION_MAX_PENDING + " is " + maxPending + ")" );
+			listeners.connectionAcquisitionFailed( System.nanoTime() - start, rejection );
+			return RxUtil.failedFuture( rejection );
+		}
+
+		final CompletableFuture<RxConnection> result = new CompletableFuture<>();
+		final long timer = admissionTimeout > 0
+				? vertx.getDelegate().setTimer( admissionTimeout, id -> {
+					RxConnectionRejectedException rejection = new RxConnectionRejectedException(
+							"Timed out waiting for a connection (" + RxSettings.ADMISSION_TIMEOUT + " is " + admissionTimeout + ")" );
+					// the request still counts as pending until the
+					// pool hands over the connection it's waiting for
+					if ( result.completeExceptionally( rejection ) ) {
+						listeners.connectionAcquisitionFailed( System.nanoTime() - start, rejection );
+					}
+				} )
+				: -1;
+
+		acquire( hosts, hosts.candidates(), 0, null ).whenComplete( (connection, failure) -> {
+			if ( timer >= 0 ) {
+				vertx.getDelegate().cancelTimer( timer );
+			}
+			pending.decrementAndGet();
+			final long waitNanos = System.nanoTime() - start;
+			if ( failure == null ) {
+				if ( result.complete( new SqlClientConnection( connection, sqlLogger, listeners ) ) ) {
+					listeners.connectionAcquired( waitNanos );
+				}
+				else {
+					// the request already timed out
+					connection.close();
+				}
+			}
+			else if ( result.completeExceptionally( failure ) ) {
+				listeners.connectionAcquisitionFailed( waitNanos, failure );
+			}
+		} );
+		return result;
+	}
+
+	/**
+	 * Obtain a connection from the first of the given hosts which is
+	 * available and, if a {@code targetServerType} was specified, has
+	 * the right role, failing over to the next host if necessary.
+	 */
+	private CompletionStage<SqlConnection> acquire(HostSelector hosts, List<HostSelector.Host> candidates,
+												   int index, Throwable lastFailure) {
+		if ( index >= candidates.size() ) {
+			return RxUtil.failedFuture( lastFailure != null ? lastFailure
+					: new HibernateException( "No database host of the requested targetServerType is available" ) );
+		}
+		final HostSelector.Host host = candidates.get( index );
+		final long start = System.nanoTime();
+		return host.getPool().getConnection()
+				.thenCompose( connection -> checkRole( hosts, host, connection ) )
+				.<CompletionStage<SqlConnection>>handle( (connection, failure) -> {
+					if ( failure != null ) {
+						hosts.failed( host );
+						return acquire( hosts, candidates, index + 1, failure );
+					}
+					if ( connection == null ) {
+						// the host has the wrong role
+						return acquire( hosts, candidates, index + 1, lastFailure );
+					}
+					hosts.succeeded( host, System.nanoTime() - start );
+					return RxUtil.completedFuture( connection );
+				} )
+				.thenCompose( Function.identity() );
+	}
+
+	/**
+	 * The best of the given hosts for a statement which doesn't need
+	 * a dedicated connection. If no host is yet known to have the role
+	 * required by {@code targetServerType}, the roles are determined
+	 * first, in the same way as for a dedicated connection.
+	 */
+	private CompletionStage<HostSelector.Host> best(HostSelector hosts) {
+		final HostSelector.Host best = hosts.best();
+		if ( best != null ) {
+			return RxUtil.completedFuture( best );
+		}
+		return acquire( hosts, hosts.candidates(), 0, null ).thenApply( connection -> {
+			connection.close();
+			final HostSelector.Host host = hosts.best();
+			if ( host == null ) {
+				// the role changed again in the meantime
+				throw new HibernateException( "No database host of the requested targetServerType is available" );
+			}
+			return host;
+		} );
+	}
+
+	/**
+	 * Determine the role of the host, if necessary, returning the given
+	 * connection if the host has the right role, or closing it and
+	 * returning null otherwise.
+	 */
+	private static CompletionStage<SqlConnection> checkRole(HostSelector hosts, HostSelector.Host host, SqlConnection connection) {
+		if ( !hosts.isRoleCheckNeeded( host ) ) {
+			return RxUtil.completedFuture( connection );
+		}
+		return connection.preparedQuery( HostSelector.standbyQuery( host ) )
+				.<SqlConnection>handle( (rows, failure) -> {
+					if ( failure != null ) {
+						connection.close();
+						return RxUtil.rethrow( failure );
+					}
+					Object value = rows.iterator().next().getValue( 0 );
+					hosts.setStandby( host, Boolean.TRUE.equals( value )
+							|| value instanceof Number && ( (Number) value ).intValue() != 0 );
+					if ( hosts.isAcceptable( host ) ) {
+						return connection;
+					}
+					connection.close();
+					return null;
+				} );
+	}
+
+	@Override
+	public void addListener(RxConnectionListener listener) {
+		listeners.add( listener );
+	}
+
+	@Override
+	public RxPoolStatistics getStatistics() {
+		return statistics;
 	}
 
 	@Override
 	public void close() {
-		this.pool.close();
+		hosts.close();
+		synchronized ( tenants ) {
+			tenants.values().forEach( Tenant::close );
+			tenants.clear();
+		}
+		for ( Replica replica : replicas ) {
+			replica.pool.close();
+		}
+		if ( ownsVertx ) {
+			vertx.close();
+		}
+		sqlLogger.close();
 	}
 
 	@Override
 	public void stop() {
 		close();
 	}
+
+	/**
+	 * The pools of a tenant, along with the number of reservations of
+	 * them, that is, of connection requests, connections checked out,
+	 * and statements in flight. Notifications about the tenant's
+	 * connections pass through it on their way to the listeners, so
+	 * that, when the pools are evicted, they can be closed once the
+	 * last reservation has been released.
+	 */
+	private final class Tenant implements RxConnectionListener {
+		final HostSelector hosts;
+		final AtomicInteger inUse = new AtomicInteger();
+		final AtomicBoolean closed = new AtomicBoolean();
+		volatile boolean evicted;
+
+		Tenant(HostSelector hosts) {
+			this.hosts = hosts;
+		}
+
+		void evict() {
+			evicted = true;
+			if ( inUse.get() == 0 ) {
+				close();
+			}
+		}
+
+		/**
+		 * Release a reservation obtained from {@link #tenant(String)},
+		 * closing the pools if they were evicted and this was the last
+		 * reservation.
+		 */
+		void release() {
+			if ( inUse.decrementAndGet() == 0 && evicted ) {
+				close();
+			}
+		}
+
+		private void close() {
+			if ( closed.compareAndSet( false, true ) ) {
+				hosts.close();
+			}
+		}
+
+		@Override
+		public void connectionRequested() {
+			listeners.connectionRequested();
+		}
+
+		@Override
+		public void connectionAcquired(long waitNanos) {
+			listeners.connectionAcquired( waitNanos );
+		}
+
+		@Override
+		public void connectionAcquisitionFailed(long waitNanos, Throwable failure) {
+			listeners.connectionAcquisitionFailed( waitNanos, failure );
+			release();
+		}
+
+		@Override
+		public void connectionReleased() {
+			listeners.connectionReleased();
+			release();
+		}
+
+		@Override
+		public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+			listeners.statementExecuted( sql, executionNanos, failure );
+		}
+	}
+
+	/**
+	 * A connection which decides where to execute each statement only
+	 * when the statement is executed.
+	 */
+	private abstract static class DeferredConnection implements RxConnection {
+
+		abstract <T> CompletionStage<T> execute(Function<RxConnection, CompletionStage<T>> statement);
+
+		@Override
+		public CompletionStage<Void> beginTransaction() {
+			return RxUtil.failedFuture( new UnsupportedOperationException(
+					"transactions require a dedicated connection" ) );
+		}
+
+		@Override
+		public CompletionStage<Void> commitTransaction() {
+			return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
+		}
+
+		@Override
+		public CompletionStage<Void> rollbackTransaction() {
+			return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
+		}
+
+		@Override
+		public boolean isTransactionInProgress() {
+			return false;
+		}
+
+		@Override
+		public CompletionStage<Integer> update(String sql) {
+			return execute( connection -> connection.update( sql ) );
+		}
+
+		@Override
+		public CompletionStage<Integer> update(String sql, Tuple parameters) {
+			return execute( connection -> connection.update( sql, parameters ) );
+		}
+
+		@Override
+		public CompletionStage<int[]> updateBatch(String sql, List<Tuple> parameters) {
+			return execute( connection -> connection.updateBatch( sql, parameters ) );
+		}
+
+		@Override
+		public CompletionStage<Optional<Integer>> updateReturning(String sql, Tuple parameters) {
+			return execute( connection -> connection.updateReturning( sql, parameters ) );
+		}
+
+		@Override
+		public CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple parameters) {
+			return execute( connection -> connection.preparedQuery( sql, parameters ) );
+		}
+
+		@Override
+		public CompletionStage<RowSet<Row>> preparedQuery(String sql) {
+			return execute( connection -> connection.preparedQuery( sql ) );
+		}
+
+		@Override
+		public CompletionStage<Integer> getAutoIncrementIncrement() {
+			return execute( RxConnection::getAutoIncrementIncrement );
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+
+	/**
+	 * A connection for statements which don't need a dedicated
+	 * connection, used until the role of some host is known to be
+	 * the one required by {@code targetServerType}.
+	 */
+	private final class UnresolvedConnection extends DeferredConnection {
+		@Override
+		<T> CompletionStage<T> execute(Function<RxConnection, CompletionStage<T>> statement) {
+			return best( hosts )
+					.thenCompose( host -> statement.apply( host.getConnection( sqlLogger, listeners ) ) );
+		}
+	}
+
+	/**
+	 * A connection to the pools of a tenant, which reserves the pools
+	 * for the duration of each statement, and so obtains the pools
+	 * again for each statement, in case they were evicted.
+	 */
+	private final class TenantConnection extends DeferredConnection {
+		private final String tenantId;
+
+		TenantConnection(String tenantId) {
+			this.tenantId = tenantId;
+		}
+
+		@Override
+		<T> CompletionStage<T> execute(Function<RxConnection, CompletionStage<T>> statement) {
+			final Tenant tenant = tenant( tenantId );
+			return best( tenant.hosts )
+					.thenCompose( host -> statement.apply( host.getConnection( sqlLogger, tenant ) ) )
+					.whenComplete( (r, x) -> tenant.release() );
+		}
+	}
+
+	/**
+	 * A pool of connections to a read replica, along with the number
+	 * of statements currently executing against it.
+	 */
+	private static final class Replica {
+		final Pool pool;
+		final AtomicInteger inFlight = new AtomicInteger();
+
+		Replica(Pool pool) {
+			this.pool = pool;
+		}
+	}
 }
@@ -0,0 +1,21 @@
+package org.hibernate.rx.service;
+
+import org.hibernate.HibernateException;
+
+/**
+ * Thrown when a request for a connection is rejected by the admission
+ * control of the {@link org.hibernate.rx.service.initiator.RxConnectionPoolProvider},
+ * either because too many requests are already waiting for a
+ * connection, or because no connection became available in time.
+ * The request was not sent to the database, so it is always safe
+ * to retry it later.
+ *
+ * @see org.hibernate.rx.cfg.RxSettings#ADMISSION_MAX_PENDING
+ * @see org.hibernate.rx.cfg.RxSettings#ADMISSION_TIMEOUT
+ */
+public class RxConnectionRejectedException extends HibernateException {
+
+	public RxConnectionRejectedException(String message) {
+		super( message );
+	}
+}
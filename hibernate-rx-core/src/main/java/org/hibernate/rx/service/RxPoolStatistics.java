@@ -0,0 +1,134 @@
+package org.hibernate.rx.service;
+
+import org.hibernate.rx.util.impl.LatencyHistogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Statistics about the connection pool, maintained by the
+ * {@link org.hibernate.rx.service.initiator.RxConnectionPoolProvider}
+ * and exposed by
+ * {@link org.hibernate.rx.service.initiator.RxConnectionPoolProvider#getStatistics()}.
+ * <p>
+ * The time spent waiting for a connection, along with the number
+ * of connections in use and of requests waiting for a connection,
+ * distinguishes a pool which is too small from statements which
+ * are too slow. Only the dedicated connections checked out by
+ * sessions are counted, since Vert.x doesn't report when it
+ * acquires a connection to execute a one-off statement.
+ */
+public final class RxPoolStatistics implements RxConnectionListener {
+
+	private final LongAdder acquired = new LongAdder();
+	private final LongAdder failed = new LongAdder();
+	//gauges, which are never cleared
+	private final LongAdder inUse = new LongAdder();
+	private final LongAdder pending = new LongAdder();
+	private final LongAdder statementFailures = new LongAdder();
+	private final LatencyHistogram acquisitionTime = new LatencyHistogram();
+	private final LatencyHistogram executionTime = new LatencyHistogram();
+
+	@Override
+	public void connectionRequested() {
+		pending.increment();
+	}
+
+	@Override
+	public void connectionAcquired(long waitNanos) {
+		acquired.increment();
+		pending.decrement();
+		inUse.increment();
+		acquisitionTime.record( waitNanos );
+	}
+
+	@Override
+	public void connectionAcquisitionFailed(long waitNanos, Throwable failure) {
+		failed.increment();
+		pending.decrement();
+		acquisitionTime.record( waitNanos );
+	}
+
+	@Override
+	public void connectionReleased() {
+		inUse.decrement();
+	}
+
+	@Override
+	public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+		if ( failure != null ) {
+			statementFailures.increment();
+		}
+		executionTime.record( executionNanos );
+	}
+
+	/**
+	 * The number of connections successfully checked out.
+	 */
+	public long getConnectionAcquisitionCount() {
+		return acquired.sum();
+	}
+
+	/**
+	 * The number of requests for a connection which failed,
+	 * for example, because the wait queue was full.
+	 */
+	public long getConnectionAcquisitionFailureCount() {
+		return failed.sum();
+	}
+
+	/**
+	 * The number of connections currently checked out.
+	 */
+	public long getConnectionsInUse() {
+		return inUse.sum();
+	}
+
+	/**
+	 * The number of requests currently waiting for a connection.
+	 */
+	public long getPendingConnectionRequests() {
+		return pending.sum();
+	}
+
+	/**
+	 * The time spent waiting for a connection.
+	 */
+	public LatencyHistogram getConnectionAcquisitionTime() {
+		return acquisitionTime;
+	}
+
+	/**
+	 * The number of statements and batches executed.
+	 */
+	public long getStatementCount() {
+		return executionTime.getCount();
+	}
+
+	/**
+	 * The number of statements and batches which failed.
+	 */
+	public long getStatementFailureCount() {
+		return statementFailures.sum();
+	}
+
+	/**
+	 * The time spent executing statements, including, for
+	 * statements not executed on a dedicated connection, the
+	 * time Vert.x spent waiting for a pooled connection.
+	 */
+	public LatencyHistogram getStatementExecutionTime() {
+		return executionTime;
+	}
+
+	/**
+	 * Discard the cumulative counters and histograms. The counts
+	 * of connections in use and requests waiting are unaffected.
+	 */
+	public void clear() {
+		acquired.reset();
+		failed.reset();
+		statementFailures.reset();
+		acquisitionTime.reset();
+		executionTime.reset();
+	}
+}
@@ -1,8 +1,12 @@
 package org.hibernate.rx.service.initiator;
 
 import org.hibernate.rx.service.RxConnection;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.service.RxPoolStatistics;
 import org.hibernate.service.Service;
 
+import java.util.concurrent.CompletionStage;
+
 /**
  * A Hibernate {@link Service} that provides access to pooled
  * {@link RxConnection reactive connections}.
@@ -12,9 +16,77 @@
 public interface RxConnectionPoolProvider extends Service {
 
 	/**
-	 * Obtain a reactive connection.
+	 * Obtain a reactive connection which dispatches each
+	 * statement to whichever pooled connection is available.
+	 * Suitable for one-off statements executed outside of a
+	 * session.
 	 */
 	RxConnection getConnection();
 
+	/**
+	 * Check out a single connection from the pool, for use
+	 * by a session for the duration of its unit of work.
+	 * The connection must be {@link RxConnection#close()
+	 * closed} by the caller to return it to the pool.
+	 */
+	CompletionStage<RxConnection> openConnection();
+
+	/**
+	 * Check out a single connection from the pool, as for
+	 * {@link #openConnection()}, but, if the pool is overloaded,
+	 * admit a priority request, typically for a flush, ahead of
+	 * requests which only read.
+	 */
+	default CompletionStage<RxConnection> openConnection(boolean priority) {
+		return openConnection();
+	}
+
+	/**
+	 * Obtain a reactive connection which dispatches each statement
+	 * to a pooled connection to the database of the given tenant,
+	 * or, if the tenant is null, as for {@link #getConnection()}.
+	 */
+	default RxConnection getConnection(String tenantId) {
+		return getConnection();
+	}
+
+	/**
+	 * Check out a single connection from the pool for the database
+	 * of the given tenant, or, if the tenant is null, as for
+	 * {@link #openConnection(boolean)}.
+	 */
+	default CompletionStage<RxConnection> openConnection(String tenantId, boolean priority) {
+		return openConnection( priority );
+	}
+
+	/**
+	 * Are there read replicas to which read-only queries may be sent?
+	 */
+	default boolean hasReplicas() {
+		return false;
+	}
+
+	/**
+	 * Obtain a reactive connection which dispatches each statement
+	 * to a read replica, if there are any, or to the database itself
+	 * otherwise. Only suitable for queries which may see data that
+	 * is slightly out of date.
+	 */
+	default RxConnection getReplicaConnection() {
+		return getConnection();
+	}
+
+	/**
+	 * Register a listener to be notified of connection checkouts
+	 * and statement executions.
+	 */
+	void addListener(RxConnectionListener listener);
+
+	/**
+	 * Statistics about connection checkouts and statement
+	 * executions, which are always collected.
+	 */
+	RxPoolStatistics getStatistics();
+
 	void close();
 }
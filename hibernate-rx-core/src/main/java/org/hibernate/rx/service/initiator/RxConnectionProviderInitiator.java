@@ -1,6 +1,9 @@
 package org.hibernate.rx.service.initiator;
 
+import org.hibernate.HibernateException;
 import org.hibernate.boot.registry.StandardServiceInitiator;
+import org.hibernate.rx.boot.impl.FlatClassLoaderService;
+import org.hibernate.rx.cfg.RxSettings;
 import org.hibernate.rx.service.RxConnectionPoolProviderImpl;
 import org.hibernate.service.spi.ServiceRegistryImplementor;
 
@@ -8,12 +11,14 @@
 
 /**
  * A Hibernate {@link StandardServiceInitiator service initiator} that
- * integrates our {@link RxConnectionPoolProvider}.
+ * integrates our {@link RxConnectionPoolProvider}: the provider given
+ * by {@link RxSettings#CONNECTION_POOL_PROVIDER}, if any, or an
+ * {@link RxConnectionPoolProviderImpl} otherwise.
  *
  * @see RxConnectionPoolProvider
  * @see RxConnectionPoolProviderImpl
  */
-public class RxConnectionProviderInitiator implements StandardServiceInitiator<RxConnectionPoolProviderImpl> {
+public class RxConnectionProviderInitiator implements StandardServiceInitiator<RxConnectionPoolProvider> {
 
 	public static final RxConnectionProviderInitiator INSTANCE = new RxConnectionProviderInitiator();
 
@@ -21,12 +26,31 @@ private RxConnectionProviderInitiator() {
 	}
 
 	@Override
-	public RxConnectionPoolProviderImpl initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
-		return new RxConnectionPoolProviderImpl( configurationValues );
+	public RxConnectionPoolProvider initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
+		final Object provider = configurationValues.get( RxSettings.CONNECTION_POOL_PROVIDER );
+		if ( provider == null ) {
+			return new RxConnectionPoolProviderImpl( configurationValues );
+		}
+		if ( provider instanceof RxConnectionPoolProvider ) {
+			return (RxConnectionPoolProvider) provider;
+		}
+		final Class<?> providerClass = provider instanceof Class
+				? (Class<?>) provider
+				: FlatClassLoaderService.INSTANCE.classForName( provider.toString().trim() );
+		if ( !RxConnectionPoolProvider.class.isAssignableFrom( providerClass ) ) {
+			throw new HibernateException( "Class does not implement RxConnectionPoolProvider: " + providerClass.getName() );
+		}
+		try {
+			// a provider which is Configurable is configured by the registry
+			return (RxConnectionPoolProvider) providerClass.newInstance();
+		}
+		catch (InstantiationException | IllegalAccessException e) {
+			throw new HibernateException( "Could not instantiate connection pool provider: " + providerClass.getName(), e );
+		}
 	}
 
 	@Override
-	public Class<RxConnectionPoolProviderImpl> getServiceInitiated() {
-		return RxConnectionPoolProviderImpl.class;
+	public Class<RxConnectionPoolProvider> getServiceInitiated() {
+		return RxConnectionPoolProvider.class;
 	}
 }
@@ -1,9 +1,15 @@
 package org.hibernate.rx.sql.impl;
 
+import org.hibernate.JDBCException;
 import org.hibernate.dialect.PostgreSQL81Dialect;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.rx.adaptor.impl.PreparedStatementAdaptor;
+import org.hibernate.type.Type;
 
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.sql.SQLException;
 import java.util.function.Supplier;
 
 public class Parameters {
@@ -34,10 +40,55 @@ public String get() {
 	 * Better to not use this approach.
 	 */
 	public static String processParameters(String sql, SharedSessionContractImplementor session) {
-		Supplier<String> generator = createDialectParameterGenerator( session.getFactory() );
-		for ( int i = sql.indexOf('?'); i>=0; i = sql.indexOf('?', i+1) ) {
-			sql = sql.substring(0, i) + generator.get() + sql.substring(i+1);
+		return processParameters( sql, session.getFactory() );
+	}
+
+	/**
+	 * Replace each {@code ?} in the given SQL with the bind variable
+	 * syntax of the database of the given {@link SessionFactoryImplementor},
+	 * in a single pass.
+	 */
+	public static String processParameters(String sql, SessionFactoryImplementor factory) {
+		if ( !( factory.getJdbcServices().getDialect() instanceof PostgreSQL81Dialect ) ) {
+			// the native syntax is ?
+			return sql;
+		}
+		int index = sql.indexOf('?');
+		if ( index < 0 ) {
+			return sql;
+		}
+		Supplier<String> generator = createDialectParameterGenerator( factory );
+		StringBuilder result = new StringBuilder( sql.length() + 16 );
+		int start = 0;
+		for ( ; index >= 0; index = sql.indexOf('?', start) ) {
+			result.append( sql, start, index ).append( generator.get() );
+			start = index + 1;
+		}
+		return result.append( sql, start, sql.length() ).toString();
+	}
+
+	/**
+	 * Bind the given values of a single-column type, and collect the
+	 * bound values into an array, suitable for use as the value of
+	 * a parameter like {@code = any($1)} on PostgreSQL.
+	 */
+	public static Object[] createArrayParameter(
+			Type type,
+			Serializable[] values,
+			SharedSessionContractImplementor session) {
+		PreparedStatementAdaptor adaptor = new PreparedStatementAdaptor( values.length );
+		try {
+			for ( int i = 0; i < values.length; i++ ) {
+				type.nullSafeSet( adaptor, values[i], i + 1, session );
+			}
+		}
+		catch (SQLException e) {
+			//can't actually occur!
+			throw new JDBCException( "error while binding parameters", e );
 		}
-		return sql;
+		Object[] bound = adaptor.getParametersAsArray();
+		Object[] array = (Object[]) Array.newInstance( bound[0].getClass(), bound.length );
+		System.arraycopy( bound, 0, array, 0, bound.length );
+		return array;
 	}
 }
@@ -1,18 +1,86 @@
 package org.hibernate.rx.util.impl;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public class JdbcUrlParser {
 
+	/**
+	 * Parse the given JDBC URL. If the URL lists several hosts,
+	 * the URI of the first host is returned.
+	 *
+	 * @see #parseHosts(String)
+	 */
 	public static URI parse(String url) {
 		if ( url == null ) {
 			return null;
 		}
 
-		if ( url.startsWith( "jdbc:" ) ) {
-			return URI.create( url.substring( 5 ) );
+		List<URI> hosts = parseHosts( url );
+		return hosts.get( 0 );
+	}
+
+	/**
+	 * Parse the given JDBC URL, which may list several hosts, for
+	 * example, {@code jdbc:postgresql://h1:5432,h2:5432/db}, and
+	 * return a URI for each host, with the same scheme, path, and
+	 * query as the given URL.
+	 */
+	public static List<URI> parseHosts(String url) {
+		if ( url == null ) {
+			return Collections.emptyList();
+		}
+
+		final String uri = url.startsWith( "jdbc:" ) ? url.substring( 5 ) : url;
+
+		final int schemeEnd = uri.indexOf( "://" );
+		if ( schemeEnd < 0 ) {
+			return Collections.singletonList( URI.create( uri ) );
+		}
+		final int authorityStart = schemeEnd + 3;
+		int authorityEnd = uri.length();
+		for ( int i = authorityStart; i < uri.length(); i++ ) {
+			char c = uri.charAt( i );
+			if ( c == '/' || c == '?' || c == '#' ) {
+				authorityEnd = i;
+				break;
+			}
+		}
+		final String authority = uri.substring( authorityStart, authorityEnd );
+		if ( authority.indexOf( ',' ) < 0 ) {
+			return Collections.singletonList( URI.create( uri ) );
 		}
 
-		return URI.create( url );
+		final String prefix = uri.substring( 0, authorityStart );
+		final String suffix = uri.substring( authorityEnd );
+		final int userInfoEnd = authority.lastIndexOf( '@' );
+		final String userInfo = authority.substring( 0, userInfoEnd + 1 );
+
+		List<URI> hosts = new ArrayList<>();
+		for ( String host : authority.substring( userInfoEnd + 1 ).split( "," ) ) {
+			if ( !host.trim().isEmpty() ) {
+				hosts.add( URI.create( prefix + userInfo + host.trim() + suffix ) );
+			}
+		}
+		return hosts;
+	}
+
+	/**
+	 * The value of the given parameter in the query string of the
+	 * given URI, or {@code null} if the parameter is not present.
+	 */
+	public static String getParameter(URI uri, String name) {
+		final String query = uri.getQuery();
+		if ( query == null ) {
+			return null;
+		}
+		for ( String param : query.split( "&" ) ) {
+			if ( param.startsWith( name + "=" ) ) {
+				return param.substring( name.length() + 1 );
+			}
+		}
+		return null;
 	}
 }
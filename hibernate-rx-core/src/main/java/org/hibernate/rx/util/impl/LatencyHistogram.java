@@ -0,0 +1,120 @@
+package org.hibernate.rx.util.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations, with one bucket for each power of two
+ * nanoseconds. Recording a duration only increments striped
+ * counters, so it's cheap even under contention, and doesn't
+ * allocate once the counters have been inflated. The price is
+ * precision: percentiles are only accurate to within a factor
+ * of two.
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKETS = 64;
+
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator( Math::max, 0 );
+
+	public LatencyHistogram() {
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			buckets[i] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Record a duration measured in nanoseconds.
+	 */
+	public void record(long nanos) {
+		if ( nanos < 0 ) {
+			nanos = 0;
+		}
+		buckets[ bucket( nanos ) ].increment();
+		count.increment();
+		total.add( nanos );
+		max.accumulate( nanos );
+	}
+
+	/**
+	 * The bucket holding durations between 2^i and 2^(i+1)-1
+	 * nanoseconds is bucket i. Zero is held in bucket 0.
+	 */
+	private static int bucket(long nanos) {
+		return nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros( nanos );
+	}
+
+	/**
+	 * The number of durations recorded.
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * The sum of the durations recorded.
+	 */
+	public long getTotal(TimeUnit unit) {
+		return unit.convert( total.sum(), TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * The longest duration recorded.
+	 */
+	public long getMax(TimeUnit unit) {
+		return unit.convert( max.get(), TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * The mean of the durations recorded, or zero if nothing
+	 * has been recorded.
+	 */
+	public long getMean(TimeUnit unit) {
+		long n = count.sum();
+		return n == 0 ? 0 : unit.convert( total.sum() / n, TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * An upper bound on the given percentile of the durations
+	 * recorded, accurate to within a factor of two.
+	 *
+	 * @param percentile a number between 0 and 100
+	 */
+	public long getPercentile(double percentile, TimeUnit unit) {
+		long[] counts = new long[BUCKETS];
+		long n = 0;
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			counts[i] = buckets[i].sum();
+			n += counts[i];
+		}
+		if ( n == 0 ) {
+			return 0;
+		}
+		long rank = (long) Math.ceil( n * percentile / 100.0 );
+		long seen = 0;
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			seen += counts[i];
+			if ( seen >= rank && counts[i] > 0 ) {
+				long upperBound = i >= BUCKETS - 2 ? Long.MAX_VALUE : ( 2L << i ) - 1;
+				return unit.convert( Math.min( upperBound, max.get() ), TimeUnit.NANOSECONDS );
+			}
+		}
+		return unit.convert( max.get(), TimeUnit.NANOSECONDS );
+	}
+
+	/**
+	 * Discard everything recorded so far.
+	 */
+	public void reset() {
+		for ( LongAdder bucket : buckets ) {
+			bucket.reset();
+		}
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+}
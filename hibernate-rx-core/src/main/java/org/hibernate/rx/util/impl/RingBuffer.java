@@ -0,0 +1,75 @@
+package org.hibernate.rx.util.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded, lock-free queue with many producers and a single
+ * consumer. A producer claims a slot by incrementing the tail
+ * sequence, and never waits: if the buffer is full, the element
+ * is rejected. The consumer empties each slot before advancing
+ * the head sequence, which makes the slot available to producers
+ * again.
+ *
+ * @param <E> the type of the elements
+ */
+public final class RingBuffer<E> {
+
+	private final AtomicReferenceArray<E> slots;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	private volatile long head;
+
+	/**
+	 * @param capacity the capacity, rounded up to a power of two
+	 */
+	public RingBuffer(int capacity) {
+		int size = Integer.highestOneBit( Math.max( capacity, 2 ) - 1 ) << 1;
+		slots = new AtomicReferenceArray<>( size );
+		mask = size - 1;
+	}
+
+	/**
+	 * Add an element, unless the buffer is full. May be called
+	 * by any thread. The element is published with a full fence,
+	 * so a consumer that checks the buffer after announcing that
+	 * it's waiting is certain to be noticed by the producer.
+	 *
+	 * @return {@code false} if the buffer was full
+	 */
+	public boolean offer(E element) {
+		long sequence;
+		do {
+			sequence = tail.get();
+			if ( sequence - head > mask ) {
+				return false;
+			}
+		}
+		while ( !tail.compareAndSet( sequence, sequence + 1 ) );
+		// a volatile write, and not lazySet(), so that the element is
+		// visible to the consumer before the producer reads anything
+		// the consumer writes afterward, for example, that it's idle
+		slots.set( (int) sequence & mask, element );
+		return true;
+	}
+
+	/**
+	 * Remove the oldest element. Must only be called by the single
+	 * consumer thread.
+	 *
+	 * @return the element, or {@code null} if no element is ready
+	 */
+	public E poll() {
+		long sequence = head;
+		int index = (int) sequence & mask;
+		E element = slots.get( index );
+		if ( element == null ) {
+			// either empty, or the producer which claimed
+			// the slot hasn't yet published its element
+			return null;
+		}
+		slots.lazySet( index, null );
+		head = sequence + 1;
+		return element;
+	}
+}
@@ -0,0 +1,38 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.service.RxConnectionRejectedException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletionException;
+
+public class AdmissionControlTest extends BaseRxTest {
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		// every request for a connection is rejected
+		configuration.setProperty( RxSettings.ADMISSION_MAX_PENDING, "0" );
+		return configuration;
+	}
+
+	@Test
+	public void rejectWhenTooManyPending(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.find( GuineaPig.class, 1 ) )
+						.handle( (pig, e) -> {
+							context.assertNotNull( e );
+							Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+							context.assertTrue( cause instanceof RxConnectionRejectedException );
+							context.assertEquals( 1L, poolProvider().getStatistics().getConnectionAcquisitionFailureCount() );
+							context.assertEquals( 0L, poolProvider().getStatistics().getPendingConnectionRequests() );
+							return null;
+						} )
+		);
+	}
+}
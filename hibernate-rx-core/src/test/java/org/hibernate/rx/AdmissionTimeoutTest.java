@@ -0,0 +1,77 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.service.RxConnection;
+import org.hibernate.rx.service.RxConnectionRejectedException;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+public class AdmissionTimeoutTest extends BaseRxTest {
+
+	private static final int TIMEOUT = 200;
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		// one connection, and at most one request waiting for it
+		configuration.setProperty( AvailableSettings.POOL_SIZE, "1" );
+		configuration.setProperty( RxSettings.ADMISSION_MAX_PENDING, "1" );
+		configuration.setProperty( RxSettings.ADMISSION_TIMEOUT, String.valueOf( TIMEOUT ) );
+		return configuration;
+	}
+
+	private static Throwable cause(Throwable e) {
+		return e instanceof CompletionException ? e.getCause() : e;
+	}
+
+	private static void pause() {
+		try {
+			Thread.sleep( TIMEOUT );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Request a connection, which must be rejected, and then return
+	 * the given connection.
+	 */
+	private CompletionStage<RxConnection> rejected(TestContext context, RxConnection held, String message) {
+		return poolProvider().openConnection().handle( (connection, e) -> {
+			context.assertNull( connection );
+			context.assertTrue( cause( e ) instanceof RxConnectionRejectedException );
+			context.assertTrue( cause( e ).getMessage().startsWith( message ) );
+			return held;
+		} );
+	}
+
+	@Test
+	public void timedOutRequestStillPending(TestContext context) {
+		test(
+				context,
+				poolProvider().openConnection()
+						// the pool is exhausted, so the next request times out
+						.thenCompose( held -> rejected( context, held, "Timed out" ) )
+						// but it still waits in the queue of the pool, and
+						// so there's no room for another waiting request
+						.thenCompose( held -> rejected( context, held, "Too many requests" ) )
+						.thenCompose( held -> {
+							held.close();
+							// the timed out request receives the connection, and returns it
+							return CompletableFuture.runAsync( AdmissionTimeoutTest::pause );
+						} )
+						.thenCompose( v -> poolProvider().openConnection() )
+						.thenAccept( connection -> {
+							connection.close();
+							context.assertEquals( 0L, poolProvider().getStatistics().getConnectionsInUse() );
+						} )
+		);
+	}
+}
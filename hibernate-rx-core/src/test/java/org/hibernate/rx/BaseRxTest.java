@@ -87,4 +87,12 @@ protected RxConnection connection() {
 		return poolProvider.getConnection();
 	}
 
+	protected RxConnectionPoolProvider poolProvider() {
+		return poolProvider;
+	}
+
+	protected SessionFactory sessionFactory() {
+		return sessionFactory;
+	}
+
 }
@@ -0,0 +1,210 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.util.impl.RxUtil;
+import org.junit.Test;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+
+public class BatchingTest extends BaseRxTest {
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		configuration.addAnnotatedClass( IdentityPig.class );
+		configuration.addAnnotatedClass( FamilyPig.class );
+		configuration.setProperty( AvailableSettings.STATEMENT_BATCH_SIZE, "5" );
+		configuration.setProperty( AvailableSettings.ORDER_INSERTS, "true" );
+		return configuration;
+	}
+
+	private CompletionStage<Long> countPigs() {
+		return connection().preparedQuery( "SELECT COUNT(*) FROM GuineaPig" )
+				.thenApply( rowSet -> rowSet.iterator().next().getLong( 0 ) );
+	}
+
+	private CompletionStage<RxSession> persistPigs(RxSession session, int count) {
+		CompletionStage<RxSession> stage = RxUtil.completedFuture( session );
+		for ( int i = 1; i <= count; i++ ) {
+			GuineaPig pig = new GuineaPig( i, "Pig " + i );
+			stage = stage.thenCompose( s -> s.persist( pig ) );
+		}
+		return stage;
+	}
+
+	@Test
+	public void batchedInsert(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> persistPigs( session, 12 ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> countPigs() )
+						.thenAccept( count -> context.assertEquals( 12L, count ) )
+		);
+	}
+
+	@Test
+	public void batchedIdentityInsert(TestContext context) {
+		List<IdentityPig> pigs = new ArrayList<>();
+		for ( int i = 1; i <= 7; i++ ) {
+			pigs.add( new IdentityPig( "Pig " + i ) );
+		}
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> {
+							CompletionStage<RxSession> stage = RxUtil.completedFuture( session );
+							for ( IdentityPig pig : pigs ) {
+								stage = stage.thenCompose( s -> s.persist( pig ) );
+							}
+							return stage;
+						} )
+						.thenCompose( RxSession::flush )
+						.thenCompose( session -> {
+							Set<Integer> ids = new HashSet<>();
+							pigs.forEach( pig -> ids.add( pig.getId() ) );
+							context.assertFalse( ids.contains( null ) );
+							context.assertEquals( 7, ids.size() );
+							return session.find( IdentityPig.class, pigs.get( 6 ).getId() );
+						} )
+						.thenAccept( pig -> context.assertEquals( "Pig 7", pig.get().getName() ) )
+		);
+	}
+
+	@Test
+	public void batchedUpdate(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> persistPigs( session, 12 ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1, 2, 3, 4, 5, 6, 7 )
+								.thenAccept( pigs -> pigs.forEach( pig -> pig.setName( "Renamed" ) ) )
+								.thenCompose( v -> session.flush() ) )
+						.thenCompose( v -> connection().preparedQuery( "SELECT COUNT(*) FROM GuineaPig WHERE name = 'Renamed'" ) )
+						.thenAccept( rowSet -> context.assertEquals( 7L, rowSet.iterator().next().getLong( 0 ) ) )
+		);
+	}
+
+	@Test
+	public void batchedDelete(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> persistPigs( session, 12 ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1, 2, 3, 4, 5, 6, 7 )
+								.thenCompose( pigs -> {
+									CompletionStage<RxSession> stage = RxUtil.completedFuture( session );
+									for ( GuineaPig pig : pigs ) {
+										stage = stage.thenCompose( s -> s.remove( pig ) );
+									}
+									return stage;
+								} )
+								.thenCompose( RxSession::flush ) )
+						.thenCompose( v -> countPigs() )
+						.thenAccept( count -> context.assertEquals( 5L, count ) )
+		);
+	}
+
+	@Test
+	public void batchedDeleteOfParentAndChild(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> {
+							FamilyPig parent = new FamilyPig( 1, "Parent", null );
+							FamilyPig child = new FamilyPig( 2, "Child", parent );
+							return session.persist( parent )
+									.thenCompose( s -> s.persist( child ) )
+									.thenCompose( RxSession::flush );
+						} )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( FamilyPig.class, 2, 1 )
+								// the child refers to the parent, so it must be deleted first
+								.thenCompose( pigs -> session.remove( pigs.get( 0 ) )
+										.thenCompose( s -> s.remove( pigs.get( 1 ) ) ) )
+								.thenCompose( RxSession::flush ) )
+						.thenCompose( v -> connection().preparedQuery( "SELECT COUNT(*) FROM FamilyPig" ) )
+						.thenAccept( rowSet -> context.assertEquals( 0L, rowSet.iterator().next().getLong( 0 ) ) )
+		);
+	}
+
+	@Entity
+	@Table(name="IdentityPig")
+	public static class IdentityPig {
+		@Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+		private Integer id;
+		private String name;
+
+		public IdentityPig() {
+		}
+
+		public IdentityPig(String name) {
+			this.name = name;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+
+	@Entity
+	@Table(name="FamilyPig")
+	public static class FamilyPig {
+		@Id
+		private Integer id;
+		private String name;
+		@ManyToOne
+		private FamilyPig parent;
+
+		public FamilyPig() {
+		}
+
+		public FamilyPig(Integer id, String name, FamilyPig parent) {
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public FamilyPig getParent() {
+			return parent;
+		}
+	}
+}
@@ -0,0 +1,232 @@
+package org.hibernate.rx;
+
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.Tuple;
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.StaleStateException;
+import org.hibernate.annotations.DynamicInsert;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLockType;
+import org.hibernate.annotations.OptimisticLocking;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.junit.Test;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+public class DynamicSqlTest extends BaseRxTest {
+
+	private final List<String> statements = Collections.synchronizedList( new ArrayList<>() );
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( DynamicPig.class );
+		configuration.addAnnotatedClass( DirtyPig.class );
+		return configuration;
+	}
+
+	private void recordStatements() {
+		poolProvider().addListener( new RxConnectionListener() {
+			@Override
+			public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+				String lower = sql.toLowerCase();
+				if ( lower.startsWith( "insert" ) || lower.startsWith( "update" ) ) {
+					statements.add( lower );
+				}
+			}
+		} );
+	}
+
+	private CompletionStage<Row> selectRow(String table, Integer id) {
+		return connection().preparedQuery(
+				"SELECT name, weight, color FROM " + table + " WHERE id = $1", Tuple.of( id ) )
+				.thenApply( rowSet -> {
+					if ( rowSet.size() != 1 ) {
+						throw new AssertionError( "Expected one row, but found " + rowSet.size() );
+					}
+					return rowSet.iterator().next();
+				} );
+	}
+
+	private static void assertRow(TestContext context, Row row, String name, Integer weight, String color) {
+		context.assertEquals( name, row.getString( 0 ) );
+		context.assertEquals( weight, row.getInteger( 1 ) );
+		context.assertEquals( color, row.getString( 2 ) );
+	}
+
+	@Test
+	public void dynamicInsertAndUpdate(TestContext context) {
+		recordStatements();
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new DynamicPig( 1, "Aloi", null, "brown" ) )
+								.thenCompose( s -> s.persist( new DynamicPig( 2, "Bloi", 300, null ) ) )
+								// the same properties as the first one, so the same SQL
+								.thenCompose( s -> s.persist( new DynamicPig( 3, "Cloi", null, "white" ) ) )
+								.thenCompose( RxSession::flush ) )
+						.thenAccept( v -> {
+							context.assertEquals( 3, statements.size() );
+							context.assertFalse( statements.get( 0 ).contains( "weight" ) );
+							context.assertFalse( statements.get( 1 ).contains( "color" ) );
+							context.assertEquals( statements.get( 0 ), statements.get( 2 ) );
+						} )
+						.thenCompose( v -> selectRow( "DynamicPig", 1 ) )
+						.thenAccept( row -> assertRow( context, row, "Aloi", null, "brown" ) )
+						.thenCompose( v -> selectRow( "DynamicPig", 2 ) )
+						.thenAccept( row -> assertRow( context, row, "Bloi", 300, null ) )
+						.thenCompose( v -> selectRow( "DynamicPig", 3 ) )
+						.thenAccept( row -> assertRow( context, row, "Cloi", null, "white" ) )
+						.thenCompose( v -> {
+							statements.clear();
+							return openSession();
+						} )
+						.thenCompose( session -> session.find( DynamicPig.class, 1, 2, 3 )
+								.thenCompose( pigs -> {
+									pigs.get( 0 ).setWeight( 250 );
+									pigs.get( 1 ).setColor( "black" );
+									pigs.get( 1 ).setWeight( null );
+									pigs.get( 2 ).setWeight( 200 );
+									return session.flush();
+								} ) )
+						.thenAccept( v -> {
+							context.assertEquals( 3, statements.size() );
+							// only the dirty properties are updated
+							context.assertFalse( statements.get( 0 ).contains( "color" ) );
+							context.assertFalse( statements.get( 0 ).contains( "name" ) );
+							context.assertTrue( statements.get( 1 ).contains( "color" ) );
+							context.assertEquals( statements.get( 0 ), statements.get( 2 ) );
+						} )
+						.thenCompose( v -> selectRow( "DynamicPig", 1 ) )
+						.thenAccept( row -> assertRow( context, row, "Aloi", 250, "brown" ) )
+						.thenCompose( v -> selectRow( "DynamicPig", 2 ) )
+						.thenAccept( row -> assertRow( context, row, "Bloi", null, "black" ) )
+						.thenCompose( v -> selectRow( "DynamicPig", 3 ) )
+						.thenAccept( row -> assertRow( context, row, "Cloi", 200, "white" ) )
+		);
+	}
+
+	@Test
+	public void dirtyOptimisticLocking(TestContext context) {
+		recordStatements();
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new DirtyPig( 1, "Aloi", null, "brown" ) )
+								.thenCompose( s -> s.persist( new DirtyPig( 2, "Bloi", 300, "brown" ) ) )
+								.thenCompose( RxSession::flush ) )
+						.thenCompose( v -> {
+							statements.clear();
+							return openSession();
+						} )
+						.thenCompose( session -> session.find( DirtyPig.class, 1, 2 )
+								.thenCompose( pigs -> {
+									// the old values are in the where clause, one of them null
+									pigs.get( 0 ).setWeight( 250 );
+									pigs.get( 1 ).setWeight( 350 );
+									return session.flush();
+								} ) )
+						.thenAccept( v -> {
+							context.assertEquals( 2, statements.size() );
+							context.assertTrue( statements.get( 0 ).contains( "weight is null" ) );
+							context.assertFalse( statements.get( 1 ).contains( "weight is null" ) );
+						} )
+						.thenCompose( v -> selectRow( "DirtyPig", 1 ) )
+						.thenAccept( row -> assertRow( context, row, "Aloi", 250, "brown" ) )
+						.thenCompose( v -> selectRow( "DirtyPig", 2 ) )
+						.thenAccept( row -> assertRow( context, row, "Bloi", 350, "brown" ) )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( DirtyPig.class, 1 )
+								.thenCompose( pig -> connection()
+										.update( "UPDATE DirtyPig SET weight = 400 WHERE id = 1" )
+										.thenCompose( count -> {
+											pig.get().setWeight( 500 );
+											return session.flush();
+										} ) ) )
+						.handle( (v, e) -> {
+							// the row was changed behind our back
+							Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+							context.assertTrue( cause instanceof StaleStateException );
+							return null;
+						} )
+						.thenCompose( v -> selectRow( "DirtyPig", 1 ) )
+						.thenAccept( row -> assertRow( context, row, "Aloi", 400, "brown" ) )
+		);
+	}
+
+	@Entity
+	@Table(name = "DynamicPig")
+	@DynamicInsert
+	@DynamicUpdate
+	public static class DynamicPig {
+		@Id
+		private Integer id;
+		private String name;
+		private Integer weight;
+		private String color;
+
+		public DynamicPig() {
+		}
+
+		public DynamicPig(Integer id, String name, Integer weight, String color) {
+			this.id = id;
+			this.name = name;
+			this.weight = weight;
+			this.color = color;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setWeight(Integer weight) {
+			this.weight = weight;
+		}
+
+		public void setColor(String color) {
+			this.color = color;
+		}
+	}
+
+	@Entity
+	@Table(name = "DirtyPig")
+	@DynamicUpdate
+	@OptimisticLocking(type = OptimisticLockType.DIRTY)
+	public static class DirtyPig {
+		@Id
+		private Integer id;
+		private String name;
+		private Integer weight;
+		private String color;
+
+		public DirtyPig() {
+		}
+
+		public DirtyPig(Integer id, String name, Integer weight, String color) {
+			this.id = id;
+			this.name = name;
+			this.weight = weight;
+			this.color = color;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setWeight(Integer weight) {
+			this.weight = weight;
+		}
+	}
+}
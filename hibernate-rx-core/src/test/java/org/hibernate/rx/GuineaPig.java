@@ -0,0 +1,41 @@
+package org.hibernate.rx;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A simple entity shared by tests which need some data to
+ * read and write, but don't care about its mapping.
+ */
+@Entity
+@Table(name="GuineaPig")
+public class GuineaPig {
+	@Id
+	private Integer id;
+	private String name;
+
+	public GuineaPig() {
+	}
+
+	public GuineaPig(Integer id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Integer getId() {
+		return id;
+	}
+
+	public void setId(Integer id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+}
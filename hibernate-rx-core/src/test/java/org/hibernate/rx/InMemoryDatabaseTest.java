@@ -0,0 +1,80 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQL9Dialect;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.impl.InMemoryDatabase;
+import org.hibernate.rx.service.InMemoryConnectionPoolProvider;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+public class InMemoryDatabaseTest extends BaseRxTest {
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		// no database server is needed
+		configuration.setProperty( AvailableSettings.HBM2DDL_AUTO, "none" );
+		configuration.setProperty( AvailableSettings.DIALECT, PostgreSQL9Dialect.class.getName() );
+		configuration.setProperty( RxSettings.CONNECTION_POOL_PROVIDER, InMemoryConnectionPoolProvider.class.getName() );
+		return configuration;
+	}
+
+	private InMemoryDatabase database() {
+		return ( (InMemoryConnectionPoolProvider) poolProvider() ).getDatabase();
+	}
+
+	@Test
+	public void persistFindUpdateRemove(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new GuineaPig( 1, "Aloi" ) )
+								.thenCompose( s -> s.persist( new GuineaPig( 2, "Bloi" ) ) ) )
+						.thenCompose( RxSession::flush )
+						.thenAccept( v -> context.assertEquals( 2, database().getRowCount( "GuineaPig" ) ) )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1 )
+								.thenCompose( pig -> {
+									context.assertEquals( "Aloi", pig.get().getName() );
+									pig.get().setName( "Aloi the Great" );
+									return session.flush();
+								} ) )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1, 2, 3 )
+								.thenCompose( pigs -> {
+									context.assertEquals( "Aloi the Great", pigs.get( 0 ).getName() );
+									context.assertEquals( "Bloi", pigs.get( 1 ).getName() );
+									context.assertNull( pigs.get( 2 ) );
+									return session.remove( pigs.get( 1 ) );
+								} ) )
+						.thenCompose( RxSession::flush )
+						.thenAccept( v -> context.assertEquals( 1, database().getRowCount( "GuineaPig" ) ) )
+		);
+	}
+
+	@Test
+	public void rollback(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.withTransaction( s -> s.persist( new GuineaPig( 3, "Cloi" ) )
+								.thenCompose( RxSession::flush )
+								.thenCompose( v -> {
+									CompletableFuture<Void> failure = new CompletableFuture<>();
+									failure.completeExceptionally( new IllegalStateException( "roll back" ) );
+									return failure;
+								} ) ) )
+						.handle( (v, x) -> {
+							context.assertNotNull( x );
+							return null;
+						} )
+						.thenAccept( v -> context.assertEquals( 0, database().getRowCount( "GuineaPig" ) ) )
+						.thenAccept( v -> context.assertTrue( poolProvider().getStatistics().getStatementCount() > 0 ) )
+		);
+	}
+}
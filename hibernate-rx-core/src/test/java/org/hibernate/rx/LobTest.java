@@ -0,0 +1,92 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.BlobProxy;
+import org.junit.Test;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import java.sql.Blob;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class LobTest extends BaseRxTest {
+
+	private static final int SIZE = 1024 * 1024;
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( Document.class );
+		return configuration;
+	}
+
+	private static byte[] content(int seed) {
+		byte[] bytes = new byte[SIZE];
+		for ( int i = 0; i < bytes.length; i++ ) {
+			bytes[i] = (byte) ( i * seed );
+		}
+		return bytes;
+	}
+
+	private static byte[] bytes(Blob blob) {
+		try {
+			return blob.getBytes( 1, (int) blob.length() );
+		}
+		catch (SQLException e) {
+			throw new RuntimeException( e );
+		}
+	}
+
+	@Test
+	public void testLargeLobs(TestContext context) {
+		final byte[] bytes = content( 7 );
+		final byte[] blobBytes = content( 13 );
+		final char[] chars = new char[SIZE];
+		Arrays.fill( chars, 'x' );
+		final String text = new String( chars );
+
+		Document document = new Document();
+		document.id = 1;
+		document.bytes = bytes;
+		document.blob = BlobProxy.generateProxy( blobBytes );
+		document.text = text;
+
+		test( context,
+				openSession()
+						.thenCompose( s -> s.persist( document ) )
+						.thenCompose( s -> s.flush() )
+						.thenCompose( v -> openSession() )
+						.thenCompose( s -> s.find( Document.class, 1 ) )
+						.thenAccept( result -> {
+							context.assertTrue( result.isPresent() );
+							Document found = result.get();
+							context.assertTrue( Arrays.equals( bytes, found.bytes ) );
+							context.assertTrue( Arrays.equals( blobBytes, bytes( found.blob ) ) );
+							context.assertEquals( text, found.text );
+						} )
+		);
+	}
+
+	@Entity
+	@Table(name = "LobDocument")
+	public static class Document {
+		@Id
+		Integer id;
+
+		@Lob
+		@Column(columnDefinition = "bytea")
+		byte[] bytes;
+
+		@Column(columnDefinition = "bytea")
+		Blob blob;
+
+		@Lob
+		@Column(columnDefinition = "text")
+		String text;
+	}
+}
@@ -0,0 +1,122 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.MultiLoadOptions;
+import org.hibernate.rx.persister.entity.impl.RxEntityPersister;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.junit.Test;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+public class MultiLoadLockTest extends BaseRxTest {
+
+	private final List<String> statements = Collections.synchronizedList( new ArrayList<>() );
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		return configuration;
+	}
+
+	private static MultiLoadOptions options(LockOptions lockOptions) {
+		return new MultiLoadOptions() {
+			@Override
+			public boolean isSessionCheckingEnabled() {
+				return false;
+			}
+
+			@Override
+			public boolean isSecondLevelCacheCheckingEnabled() {
+				return false;
+			}
+
+			@Override
+			public boolean isReturnOfDeletedEntitiesEnabled() {
+				return false;
+			}
+
+			@Override
+			public boolean isOrderReturnEnabled() {
+				return true;
+			}
+
+			@Override
+			public LockOptions getLockOptions() {
+				return lockOptions;
+			}
+
+			@Override
+			public Integer getBatchSize() {
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * Load both pigs in a new session, with the given lock options,
+	 * and return the SQL of the query.
+	 */
+	private CompletionStage<String> multiLoad(LockOptions lockOptions) {
+		RxSessionInternal session = (RxSessionInternal) sessionFactory().openSession();
+		RxEntityPersister persister = (RxEntityPersister) ( (SessionImplementor) session ).getFactory()
+				.getMetamodel().entityPersister( GuineaPig.class );
+		return session.rxWithTransaction( s -> {
+					statements.clear();
+					return persister.rxMultiLoad( new Serializable[] { 1, 2 }, (SessionImplementor) session, options( lockOptions ) );
+				} )
+				.thenApply( pigs -> {
+					session.close();
+					return String.join( "; ", statements ).toLowerCase();
+				} );
+	}
+
+	@Test
+	public void multiLoadWithDifferentLockOptions(TestContext context) {
+		poolProvider().addListener( new RxConnectionListener() {
+			@Override
+			public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+				if ( sql.toLowerCase().startsWith( "select" ) ) {
+					statements.add( sql );
+				}
+			}
+		} );
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new GuineaPig( 1, "Aloi" ) )
+								.thenCompose( s -> s.persist( new GuineaPig( 2, "Bloi" ) ) ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> multiLoad( new LockOptions( LockMode.NONE ) ) )
+						.thenAccept( sql -> context.assertFalse( sql.contains( "for update" ) ) )
+						.thenCompose( v -> multiLoad( new LockOptions( LockMode.PESSIMISTIC_WRITE ) ) )
+						.thenAccept( sql -> {
+							context.assertTrue( sql.contains( "for update" ) );
+							context.assertFalse( sql.contains( "nowait" ) );
+						} )
+						// the lock timeout must not be lost to a cached loader
+						.thenCompose( v -> multiLoad( new LockOptions( LockMode.PESSIMISTIC_WRITE )
+								.setTimeOut( LockOptions.NO_WAIT ) ) )
+						.thenAccept( sql -> {
+							context.assertTrue( sql.contains( "for update" ) );
+							context.assertTrue( sql.contains( "nowait" ) );
+						} )
+						// and the cached loaders must still be the right ones
+						.thenCompose( v -> multiLoad( new LockOptions( LockMode.PESSIMISTIC_WRITE ) ) )
+						.thenAccept( sql -> {
+							context.assertTrue( sql.contains( "for update" ) );
+							context.assertFalse( sql.contains( "nowait" ) );
+						} )
+						.thenCompose( v -> multiLoad( new LockOptions( LockMode.NONE ) ) )
+						.thenAccept( sql -> context.assertFalse( sql.contains( "for update" ) ) )
+		);
+	}
+}
@@ -0,0 +1,132 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.junit.Test;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+public class PipeliningTest extends BaseRxTest {
+
+	// the start and end, in nanoseconds, of each statement
+	private final List<long[]> statements = Collections.synchronizedList( new ArrayList<>() );
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		configuration.addAnnotatedClass( Farmer.class );
+		configuration.setProperty( RxSettings.FLUSH_PIPELINING, "true" );
+		return configuration;
+	}
+
+	private CompletionStage<Long> count(String table) {
+		return connection().preparedQuery( "SELECT COUNT(*) FROM " + table )
+				.thenApply( rowSet -> rowSet.iterator().next().getLong( 0 ) );
+	}
+
+	private void recordStatements() {
+		poolProvider().addListener( new RxConnectionListener() {
+			@Override
+			public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+				String lower = sql.toLowerCase();
+				if ( lower.startsWith( "insert" ) || lower.startsWith( "update" ) || lower.startsWith( "delete" ) ) {
+					long end = System.nanoTime();
+					statements.add( new long[] { end - executionNanos, end } );
+				}
+			}
+		} );
+	}
+
+	/**
+	 * The largest number of the recorded statements which were
+	 * in flight at once, and then forget them.
+	 */
+	private int maxInFlight() {
+		int max = 0;
+		synchronized ( statements ) {
+			for ( long[] statement : statements ) {
+				int inFlight = 0;
+				for ( long[] other : statements ) {
+					if ( other[0] <= statement[0] && statement[0] < other[1] ) {
+						inFlight++;
+					}
+				}
+				max = Math.max( max, inFlight );
+			}
+			statements.clear();
+		}
+		return max;
+	}
+
+	@Test
+	public void pipelinedFlush(TestContext context) {
+		recordStatements();
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.withTransaction( s -> s.persist( new GuineaPig( 1, "Aloi" ) )
+								.thenCompose( v -> s.persist( new Farmer( 1, "Old MacDonald" ) ) )
+								.thenCompose( v -> s.persist( new GuineaPig( 2, "Bloi" ) ) )
+								.thenCompose( v -> s.persist( new Farmer( 2, "Young MacDonald" ) ) )
+								.thenCompose( v -> s.persist( new GuineaPig( 3, "Cloi" ) ) ) ) )
+						// each insert was sent before the previous one completed
+						.thenAccept( v -> context.assertTrue( maxInFlight() > 1 ) )
+						.thenCompose( v -> count( "GuineaPig" ) )
+						.thenAccept( count -> context.assertEquals( 3L, count ) )
+						.thenCompose( v -> count( "PipelinedFarmer" ) )
+						.thenAccept( count -> context.assertEquals( 2L, count ) )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.withTransaction( s -> s.find( GuineaPig.class, 1, 2, 3 )
+								.thenCompose( pigs -> {
+									pigs.get( 0 ).setName( "Aloi the Great" );
+									return s.remove( pigs.get( 1 ) );
+								} ) ) )
+						.thenCompose( v -> count( "GuineaPig" ) )
+						.thenAccept( count -> context.assertEquals( 2L, count ) )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1 ) )
+						.thenAccept( pig -> context.assertEquals( "Aloi the Great", pig.get().getName() ) )
+		);
+	}
+
+	@Entity
+	@Table(name="PipelinedFarmer")
+	public static class Farmer {
+		@Id
+		private Integer id;
+		private String name;
+
+		public Farmer() {
+		}
+
+		public Farmer(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public Integer getId() {
+			return id;
+		}
+
+		public void setId(Integer id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.service.RxPoolStatistics;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PoolStatisticsTest extends BaseRxTest {
+
+	public static class CountingListener implements RxConnectionListener {
+		static final AtomicInteger statements = new AtomicInteger();
+
+		@Override
+		public void statementExecuted(String sql, long executionNanos, Throwable failure) {
+			statements.incrementAndGet();
+		}
+	}
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		configuration.setProperty( RxSettings.CONNECTION_LISTENERS, CountingListener.class.getName() );
+		return configuration;
+	}
+
+	@Test
+	public void statisticsAndListeners(TestContext context) {
+		RxPoolStatistics statistics = poolProvider().getStatistics();
+		statistics.clear();
+		CountingListener.statements.set( 0 );
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new GuineaPig( 1, "Aloi" ) ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1 ) )
+						.thenAccept( pig -> {
+							context.assertTrue( pig.isPresent() );
+							context.assertTrue( statistics.getStatementCount() >= 2 );
+							context.assertEquals( 0L, statistics.getStatementFailureCount() );
+							context.assertEquals( statistics.getStatementCount(), (long) CountingListener.statements.get() );
+							context.assertTrue( statistics.getConnectionAcquisitionCount() >= 1 );
+							context.assertEquals( 0L, statistics.getPendingConnectionRequests() );
+							context.assertTrue( statistics.getStatementExecutionTime().getMax( TimeUnit.NANOSECONDS ) > 0 );
+						} )
+		);
+	}
+}
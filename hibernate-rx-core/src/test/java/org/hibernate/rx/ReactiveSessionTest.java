@@ -143,6 +143,38 @@ public void reactiveUpdate(TestContext context) {
 		);
 	}
 
+	@Test
+	public void reactivePersistInTransaction(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.withTransaction(
+								s -> s.persist( new GuineaPig( 10, "Tulip" ) ) ) )
+						.thenCompose( v -> selectNameFromId( 10 ) )
+						.thenAccept( selectRes -> context.assertEquals( "Tulip", selectRes ) )
+		);
+	}
+
+	@Test
+	public void reactiveRollbackTransaction(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.withTransaction(
+								s -> s.persist( new GuineaPig( 10, "Tulip" ) )
+										.thenCompose( v -> s.flush() )
+										.thenAccept( v -> {
+											throw new RuntimeException( "rollback" );
+										} ) ) )
+						.handle( (v, e) -> {
+							context.assertNotNull( e );
+							return null;
+						} )
+						.thenCompose( v -> selectNameFromId( 10 ) )
+						.thenAccept( selectRes -> context.assertNull( selectRes ) )
+		);
+	}
+
 	private void assertThatPigsAreEqual(TestContext context, GuineaPig expected, Optional<GuineaPig> actual) {
 		context.assertTrue( actual.isPresent() );
 		context.assertEquals( expected.getId(), actual.get().getId() );
@@ -0,0 +1,87 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.junit.Test;
+
+public class ReplicaTest extends BaseRxTest {
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		// use the primary database as its own replica, and tell the
+		// replicas apart by the connections checked out of the primary
+		String url = configuration.getProperty( AvailableSettings.URL );
+		configuration.setProperty( RxSettings.REPLICA_URLS, url + "," + url );
+		configuration.setProperty( RxSettings.REPLICA_BALANCING, "least_in_flight" );
+		return configuration;
+	}
+
+	@Test
+	public void readOnlySessionReadsFromReplica(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new GuineaPig( 1, "Aloi" ) ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> {
+							long acquired = poolProvider().getStatistics().getConnectionAcquisitionCount();
+							long executed = poolProvider().getStatistics().getStatementCount();
+							return session.setDefaultReadOnly( true )
+									.find( GuineaPig.class, 1, 2 )
+									.thenAccept( pigs -> {
+										context.assertEquals( 2, pigs.size() );
+										context.assertEquals( "Aloi", pigs.get( 0 ).getName() );
+										context.assertNull( pigs.get( 1 ) );
+										// the session never checked out a connection to the primary,
+										// so the query was executed by a replica
+										context.assertEquals( acquired, poolProvider().getStatistics().getConnectionAcquisitionCount() );
+										context.assertTrue( poolProvider().getStatistics().getStatementCount() > executed );
+									} );
+						} )
+		);
+	}
+
+	@Test
+	public void writableSessionReadsFromPrimary(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> {
+							long acquired = poolProvider().getStatistics().getConnectionAcquisitionCount();
+							return session.find( GuineaPig.class, 3 )
+									.thenAccept( pig -> {
+										context.assertFalse( pig.isPresent() );
+										// a session which isn't read-only uses its own connection
+										context.assertEquals( acquired + 1, poolProvider().getStatistics().getConnectionAcquisitionCount() );
+									} );
+						} )
+		);
+	}
+
+	@Test
+	public void readInTransactionStaysOnSessionConnection(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> {
+							long acquired = poolProvider().getStatistics().getConnectionAcquisitionCount();
+							return session.setDefaultReadOnly( true )
+									.withTransaction( s -> s.persist( new GuineaPig( 2, "Bibi" ) )
+											.thenCompose( RxSession::flush )
+											.thenApply( RxSession::clear )
+											// a replica can't see the uncommitted row
+											.thenCompose( ss -> ss.find( GuineaPig.class, 2 ) ) )
+									.thenAccept( pig -> {
+										context.assertTrue( pig.isPresent() );
+										context.assertEquals( "Bibi", pig.get().getName() );
+										context.assertEquals( acquired + 1, poolProvider().getStatistics().getConnectionAcquisitionCount() );
+									} );
+						} )
+		);
+	}
+}
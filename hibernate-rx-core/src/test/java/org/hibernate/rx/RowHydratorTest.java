@@ -0,0 +1,179 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.junit.Test;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Round trips each of the types read directly from the row, along
+ * with types which are still hydrated via their {@code Type}, in the
+ * same entity.
+ */
+public class RowHydratorTest extends BaseRxTest {
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( Typed.class );
+		return configuration;
+	}
+
+	private static Typed full(Integer id) {
+		Typed typed = new Typed( id );
+		typed.flag = true;
+		typed.small = (short) 7;
+		typed.ratio = 1.5f;
+		typed.amount = new BigDecimal( "12.34" );
+		typed.day = LocalDate.of( 2020, 2, 29 );
+		typed.moment = LocalDateTime.of( 2020, 2, 29, 23, 59, 30 );
+		typed.time = LocalTime.of( 12, 30, 15 );
+		typed.description = "A long description";
+		typed.size = Size.LARGE;
+		typed.measures = new Measures( 30, 20 );
+		return typed;
+	}
+
+	private static void assertFull(TestContext context, Typed expected, Typed actual) {
+		context.assertEquals( expected.id, actual.id );
+		context.assertEquals( expected.flag, actual.flag );
+		context.assertEquals( expected.small, actual.small );
+		context.assertEquals( expected.ratio, actual.ratio );
+		context.assertEquals( 0, expected.amount.compareTo( actual.amount ) );
+		context.assertEquals( expected.day, actual.day );
+		context.assertEquals( expected.moment, actual.moment );
+		context.assertEquals( expected.time, actual.time );
+		context.assertEquals( expected.description, actual.description );
+		context.assertEquals( expected.size, actual.size );
+		context.assertEquals( expected.measures.length, actual.measures.length );
+		context.assertEquals( expected.measures.width, actual.measures.width );
+	}
+
+	private static void assertEmpty(TestContext context, Integer id, Typed actual) {
+		context.assertEquals( id, actual.id );
+		context.assertNull( actual.flag );
+		context.assertNull( actual.small );
+		context.assertNull( actual.ratio );
+		context.assertNull( actual.amount );
+		context.assertNull( actual.day );
+		context.assertNull( actual.moment );
+		context.assertNull( actual.time );
+		context.assertNull( actual.description );
+		context.assertNull( actual.size );
+		context.assertNull( actual.measures );
+	}
+
+	@Test
+	public void findEachType(TestContext context) {
+		Typed typed = full( 1 );
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( typed ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( Typed.class, 1 ) )
+						.thenAccept( found -> assertFull( context, typed, found.get() ) )
+		);
+	}
+
+	@Test
+	public void findNulls(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new Typed( 2 ) ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( Typed.class, 2 ) )
+						.thenAccept( found -> assertEmpty( context, 2, found.get() ) )
+		);
+	}
+
+	@Test
+	public void loadSeveralRows(TestContext context) {
+		Typed typed = full( 3 );
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( typed ) )
+						.thenCompose( s -> s.persist( new Typed( 4 ) ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						// a single query for both rows, so the column
+						// positions are reused for the second row
+						.thenCompose( session -> session.find( Typed.class, 3, 4 )
+								.thenAccept( list -> {
+									context.assertEquals( 2, list.size() );
+									assertFull( context, typed, list.get( 0 ) );
+									assertEmpty( context, 4, list.get( 1 ) );
+								} )
+								// and again, by a different loader
+								.thenCompose( v -> session.find( Typed.class, 3 ) )
+								.thenCompose( found -> session.refresh( found.get() )
+										.thenAccept( s -> assertFull( context, typed, found.get() ) ) ) )
+		);
+	}
+
+	enum Size { SMALL, LARGE }
+
+	@Embeddable
+	public static class Measures {
+		// the embeddable has two columns, and so it's never read directly
+		@Column(name = "length")
+		Integer length;
+		@Column(name = "width")
+		Integer width;
+
+		public Measures() {
+		}
+
+		Measures(Integer length, Integer width) {
+			this.length = length;
+			this.width = width;
+		}
+	}
+
+	@Entity
+	@Table(name = "Typed")
+	public static class Typed {
+		@Id
+		Integer id;
+		Boolean flag;
+		Short small;
+		Float ratio;
+		@Column(precision = 10, scale = 2)
+		BigDecimal amount;
+		LocalDate day;
+		LocalDateTime moment;
+		@Column(name = "time_of_day")
+		LocalTime time;
+		@Basic(fetch = FetchType.LAZY)
+		String description;
+		@Enumerated(EnumType.STRING)
+		Size size;
+		@Embedded
+		Measures measures;
+
+		public Typed() {
+		}
+
+		Typed(Integer id) {
+			this.id = id;
+		}
+	}
+}
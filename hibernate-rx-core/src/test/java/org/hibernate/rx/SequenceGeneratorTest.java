@@ -5,6 +5,8 @@
 import org.junit.Test;
 
 import javax.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 public class SequenceGeneratorTest extends BaseRxTest {
@@ -13,6 +15,7 @@ public class SequenceGeneratorTest extends BaseRxTest {
 	protected Configuration constructConfiguration() {
 		Configuration configuration = super.constructConfiguration();
 		configuration.addAnnotatedClass( SequenceId.class );
+		configuration.addAnnotatedClass( PooledSequenceId.class );
 		return configuration;
 	}
 
@@ -53,6 +56,57 @@ public void testSequenceGenerator(TestContext context) {
 		);
 	}
 
+	@Test
+	public void testPooledSequenceGenerator(TestContext context) {
+
+		PooledSequenceId first = new PooledSequenceId();
+		PooledSequenceId second = new PooledSequenceId();
+		PooledSequenceId third = new PooledSequenceId();
+
+		test( context,
+				openSession()
+				.thenCompose(s -> s.persist(first))
+				.thenCompose(s -> s.persist(second))
+				.thenCompose(s -> s.persist(third))
+				.thenCompose(s -> s.flush())
+				.thenAccept( v -> {
+					// one block per call to nextval, not one id
+					context.assertEquals( first.id, 1 );
+					context.assertEquals( second.id, 2 );
+					context.assertEquals( third.id, 3 );
+				})
+		);
+	}
+
+	@Test
+	public void testPersistAll(TestContext context) {
+
+		List<PooledSequenceId> entities = new ArrayList<>();
+		for ( int i = 0; i < 12; i++ ) {
+			entities.add( new PooledSequenceId() );
+		}
+
+		test( context,
+				openSession()
+				.thenCompose(s -> s.persistAll(entities))
+				.thenCompose(s -> s.flush())
+				.thenAccept( v -> {
+					for ( int i = 0; i < entities.size(); i++ ) {
+						context.assertEquals( entities.get(i).id, i + 1 );
+					}
+				})
+		);
+	}
+
+	@Entity
+	@SequenceGenerator(name = "pooled",
+			sequenceName = "pooled_id_seq",
+			allocationSize = 10)
+	public static class PooledSequenceId {
+		@Id @GeneratedValue(generator = "pooled")
+		Integer id;
+	}
+
 	@Entity
 	@SequenceGenerator(name = "seq",
 			sequenceName = "test_id_seq",
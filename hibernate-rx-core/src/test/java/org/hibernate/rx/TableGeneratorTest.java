@@ -13,6 +13,7 @@ public class TableGeneratorTest extends BaseRxTest {
 	protected Configuration constructConfiguration() {
 		Configuration configuration = super.constructConfiguration();
 		configuration.addAnnotatedClass( TableId.class );
+		configuration.addAnnotatedClass( PooledTableId.class );
 		return configuration;
 	}
 
@@ -53,6 +54,40 @@ public void testTableGenerator(TestContext context) {
 		);
 	}
 
+	@Test
+	public void testPooledTableGenerator(TestContext context) {
+
+		PooledTableId first = new PooledTableId();
+		PooledTableId second = new PooledTableId();
+		PooledTableId third = new PooledTableId();
+
+		test( context,
+				openSession()
+				.thenCompose(s -> s.persist(first))
+				.thenCompose(s -> s.persist(second))
+				.thenCompose(s -> s.persist(third))
+				.thenCompose(s -> s.flush())
+				.thenCompose( v -> connection().preparedQuery( "select nextid from pooled_id_tab" ) )
+				.thenAccept( rows -> {
+					context.assertEquals( first.id, 1 );
+					context.assertEquals( second.id, 2 );
+					context.assertEquals( third.id, 3 );
+					// two blocks were reserved
+					context.assertEquals( rows.iterator().next().getLong( 0 ), 20L );
+				})
+		);
+	}
+
+	@Entity
+	@TableGenerator(name = "pooledtab",
+			valueColumnName = "nextid",
+			table = "pooled_id_tab",
+			allocationSize = 10)
+	public static class PooledTableId {
+		@Id @GeneratedValue(generator = "pooledtab")
+		Integer id;
+	}
+
 	@Entity
 	@TableGenerator(name = "tab",
 			valueColumnName = "nextid",
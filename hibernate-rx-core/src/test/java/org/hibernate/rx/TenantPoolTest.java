@@ -0,0 +1,87 @@
+package org.hibernate.rx;
+
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.service.RxConnection;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class TenantPoolTest extends BaseRxTest {
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		// every tenant has its own pool of connections to the test database
+		configuration.setProperty( RxSettings.TENANT_URL,
+				"jdbc:postgresql://localhost:5432/hibernate-rx?user=hibernate-rx&password=hibernate-rx&tenant={tenant}" );
+		// only one tenant may have a pool at a time
+		configuration.setProperty( RxSettings.TENANT_MAX_POOLS, "1" );
+		return configuration;
+	}
+
+	private CompletionStage<Integer> selectOne(String tenantId) {
+		return poolProvider().openConnection( tenantId, false )
+				.thenCompose( connection -> connection.preparedQuery( "select 1" )
+						.whenComplete( (rows, x) -> connection.close() )
+						.thenApply( rows -> rows.iterator().next().getInteger( 0 ) ) );
+	}
+
+	@Test
+	public void concurrentTenantsWithOnePool(TestContext context) {
+		CompletableFuture<Integer> a = selectOne( "a" ).toCompletableFuture();
+		CompletableFuture<Integer> b = selectOne( "b" ).toCompletableFuture();
+		test(
+				context,
+				CompletableFuture.allOf( a, b ).thenAccept( v -> {
+					context.assertEquals( 1, a.join() );
+					context.assertEquals( 1, b.join() );
+				} )
+		);
+	}
+
+	@Test
+	public void tenantIdEncodedInUrl(TestContext context) {
+		// unencoded, the space would make the URL invalid
+		test(
+				context,
+				selectOne( "tenant one & two" )
+						.thenAccept( one -> context.assertEquals( 1, one ) )
+		);
+	}
+
+	@Test
+	public void evictedTenantStillUsable(TestContext context) {
+		test(
+				context,
+				poolProvider().openConnection( "a", false )
+						// evict the pools of tenant a while its connection is checked out
+						.thenCompose( connection -> selectOne( "b" )
+								.thenCompose( one -> connection.preparedQuery( "select 2" ) )
+								.whenComplete( (rows, x) -> connection.close() ) )
+						.thenAccept( rows -> context.assertEquals( 2, rows.iterator().next().getInteger( 0 ) ) )
+						// and tenant a gets new pools when it needs them again
+						.thenCompose( v -> selectOne( "a" ) )
+						.thenAccept( one -> context.assertEquals( 1, one ) )
+		);
+	}
+
+	@Test
+	public void tenantConnectionPerStatement(TestContext context) {
+		RxConnection a = poolProvider().getConnection( "a" );
+		RxConnection b = poolProvider().getConnection( "b" );
+		CompletableFuture<Integer> first = a.preparedQuery( "select 1" )
+				.thenApply( rows -> rows.iterator().next().getInteger( 0 ) ).toCompletableFuture();
+		CompletableFuture<Integer> second = b.preparedQuery( "select 1" )
+				.thenApply( rows -> rows.iterator().next().getInteger( 0 ) ).toCompletableFuture();
+		test(
+				context,
+				CompletableFuture.allOf( first, second ).thenAccept( v -> {
+					context.assertEquals( 1, first.join() );
+					context.assertEquals( 1, second.join() );
+				} )
+		);
+	}
+}
@@ -0,0 +1,65 @@
+package org.hibernate.rx;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.rx.cfg.RxSettings;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class VertxInstanceTest extends BaseRxTest {
+
+	private static Vertx vertx;
+
+	@BeforeClass
+	public static void createVertx() {
+		vertx = Vertx.vertx();
+	}
+
+	@AfterClass
+	public static void closeVertx() {
+		vertx.close();
+	}
+
+	@Override
+	protected Configuration constructConfiguration() {
+		Configuration configuration = super.constructConfiguration();
+		configuration.addAnnotatedClass( GuineaPig.class );
+		configuration.getProperties().put( RxSettings.VERTX_INSTANCE, vertx );
+		return configuration;
+	}
+
+	@Test
+	public void suppliedVertxInstance(TestContext context) {
+		test(
+				context,
+				openSession()
+						.thenCompose( session -> session.persist( new GuineaPig( 1, "Aloi" ) ) )
+						.thenCompose( RxSession::flush )
+						.thenCompose( v -> openSession() )
+						.thenCompose( session -> session.find( GuineaPig.class, 1 ) )
+						.thenAccept( pig -> {
+							context.assertTrue( pig.isPresent() );
+							context.assertEquals( "Aloi", pig.get().getName() );
+						} )
+						.thenCompose( v -> connection().preparedQuery( "SELECT COUNT(*) FROM GuineaPig" ) )
+						.thenAccept( rows -> {
+							// the result is delivered on a context of the supplied instance
+							Context current = Vertx.currentContext();
+							context.assertNotNull( current );
+							context.assertTrue( current.owner() == vertx );
+						} )
+		);
+	}
+
+	@Test
+	public void suppliedVertxInstanceNotClosed(TestContext context) {
+		sessionFactory().close();
+		// the instance belongs to us, so it must still be usable
+		Async async = context.async();
+		vertx.setTimer( 1, id -> async.complete() );
+	}
+}
@@ -10,6 +10,7 @@
 import org.junit.Test;
 
 import java.net.URI;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -44,4 +45,20 @@ public void parseScheme() {
 		URI uri = JdbcUrlParser.parse( "jdbc:postgresql://localhost:5432/hibernate-rx" );
 		assertThat( uri ).hasScheme( "postgresql" );
 	}
+
+	@Test
+	public void parseMultipleHosts() {
+		List<URI> uris = JdbcUrlParser.parseHosts( "jdbc:postgresql://h1:5432,h2:5433/hibernate-rx?targetServerType=primary&loadBalanceHosts=true" );
+		assertThat( uris ).hasSize( 2 );
+		assertThat( uris.get( 0 ) ).hasHost( "h1" ).hasPort( 5432 ).hasPath( "/hibernate-rx" );
+		assertThat( uris.get( 1 ) ).hasHost( "h2" ).hasPort( 5433 ).hasPath( "/hibernate-rx" );
+		assertThat( JdbcUrlParser.getParameter( uris.get( 1 ), "targetServerType" ) ).isEqualTo( "primary" );
+		assertThat( JdbcUrlParser.getParameter( uris.get( 1 ), "loadBalanceHosts" ) ).isEqualTo( "true" );
+	}
+
+	@Test
+	public void parseFirstOfMultipleHosts() {
+		URI uri = JdbcUrlParser.parse( "jdbc:postgresql://h1:5432,h2:5433/hibernate-rx" );
+		assertThat( uri ).hasHost( "h1" ).hasPort( 5432 );
+	}
 }
@@ -0,0 +1,96 @@
+package org.hibernate.rx.persister.entity.impl;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.LegacyHiLoAlgorithmOptimizer;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.rx.util.impl.RxUtil;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlockingRxIdentifierGeneratorTest {
+
+	private static final int INCREMENT_SIZE = 3;
+	private static final int COUNT = 20;
+	private static final List<Long> VALUES = asList( 0L, 1L, 2L, 5L, 6L, 7L, 8L, 9L );
+
+	@Test
+	public void legacyHiLoMatchesOptimizer() {
+		assertThat( generateLegacyHiLo() ).isEqualTo( generateWithOptimizer() );
+	}
+
+	@Test
+	public void legacyHiLoNeverGeneratesZero() {
+		assertThat( generateLegacyHiLo() ).doesNotContain( 0L ).doesNotHaveDuplicates();
+	}
+
+	@Test
+	public void bulkGenerationSharesBlock() {
+		Iterator<Long> values = asList( 1L, 6L, 11L ).iterator();
+		AtomicInteger roundTrips = new AtomicInteger();
+		BlockingRxIdentifierGenerator generator = new BlockingRxIdentifierGenerator(
+				StandardOptimizerDescriptor.POOLED_LO, 5, 1 ) {
+			@Override
+			protected CompletionStage<Long> nextHiValue(SharedSessionContractImplementor session) {
+				roundTrips.incrementAndGet();
+				return RxUtil.completedFuture( values.next() );
+			}
+		};
+		assertThat( generator.generate( null ).toCompletableFuture().join() ).contains( 1L );
+		// the rest of the current block, then part of a new one
+		assertThat( generator.generate( 7, null ).toCompletableFuture().join() )
+				.containsExactly( 2L, 3L, 4L, 5L, 6L, 7L, 8L );
+		// the remainder of the new block is shared
+		assertThat( generator.generate( null ).toCompletableFuture().join() ).contains( 9L );
+		assertThat( generator.generate( 1, null ).toCompletableFuture().join() ).containsExactly( 10L );
+		assertThat( roundTrips.get() ).isEqualTo( 2 );
+	}
+
+	private static List<Long> generateLegacyHiLo() {
+		Iterator<Long> values = VALUES.iterator();
+		BlockingRxIdentifierGenerator generator = new BlockingRxIdentifierGenerator(
+				StandardOptimizerDescriptor.LEGACY_HILO, INCREMENT_SIZE, 1 ) {
+			@Override
+			protected CompletionStage<Long> nextHiValue(SharedSessionContractImplementor session) {
+				return RxUtil.completedFuture( values.next() );
+			}
+		};
+		List<Long> ids = new ArrayList<>();
+		for ( int i = 0; i < COUNT; i++ ) {
+			ids.add( generator.generate( null ).toCompletableFuture().join().get() );
+		}
+		return ids;
+	}
+
+	private static List<Long> generateWithOptimizer() {
+		Iterator<Long> values = VALUES.iterator();
+		LegacyHiLoAlgorithmOptimizer optimizer = new LegacyHiLoAlgorithmOptimizer( Long.class, INCREMENT_SIZE );
+		AccessCallback callback = new AccessCallback() {
+			@Override
+			public IntegralDataTypeHolder getNextValue() {
+				return IdentifierGeneratorHelper.getIntegralDataTypeHolder( Long.class )
+						.initialize( values.next() );
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+		List<Long> ids = new ArrayList<>();
+		for ( int i = 0; i < COUNT; i++ ) {
+			ids.add( (Long) optimizer.generate( callback ) );
+		}
+		return ids;
+	}
+}
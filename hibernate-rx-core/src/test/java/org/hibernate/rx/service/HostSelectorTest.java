@@ -0,0 +1,59 @@
+package org.hibernate.rx.service;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HostSelectorTest {
+
+	private static final String URL = "jdbc:postgresql://first:5432,second:5432/hibernate-rx";
+
+	private static HostSelector selector(String targetServerType) {
+		// the pools are never used
+		return new HostSelector( URL + "?targetServerType=" + targetServerType, uri -> null );
+	}
+
+	@Test
+	public void anyHostNeedsNoRole() {
+		HostSelector selector = selector( "any" );
+		assertThat( selector.best() ).isSameAs( selector.getHosts().get( 0 ) );
+	}
+
+	@Test
+	public void primaryNotUsedUntilRoleKnown() {
+		HostSelector selector = selector( "primary" );
+		List<HostSelector.Host> hosts = selector.getHosts();
+		assertThat( selector.best() ).isNull();
+
+		selector.setStandby( hosts.get( 0 ), true );
+		assertThat( selector.best() ).isNull();
+
+		selector.setStandby( hosts.get( 1 ), false );
+		assertThat( selector.best() ).isSameAs( hosts.get( 1 ) );
+	}
+
+	@Test
+	public void noAcceptableHost() {
+		HostSelector selector = selector( "primary" );
+		for ( HostSelector.Host host : selector.getHosts() ) {
+			selector.setStandby( host, true );
+		}
+		// never a standby, as a last resort
+		assertThat( selector.best() ).isNull();
+	}
+
+	@Test
+	public void secondaryAfterFailover() {
+		HostSelector selector = selector( "secondary" );
+		List<HostSelector.Host> hosts = selector.getHosts();
+		selector.setStandby( hosts.get( 0 ), false );
+		selector.setStandby( hosts.get( 1 ), true );
+		assertThat( selector.best() ).isSameAs( hosts.get( 1 ) );
+
+		// its role must be determined again
+		selector.failed( hosts.get( 1 ) );
+		assertThat( selector.best() ).isNull();
+	}
+}
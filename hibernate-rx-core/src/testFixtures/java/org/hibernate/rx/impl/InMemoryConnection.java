@@ -0,0 +1,185 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.mysqlclient.MySQLClient;
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.RowSet;
+import io.vertx.axle.sqlclient.SqlResult;
+import io.vertx.axle.sqlclient.Tuple;
+import org.hibernate.rx.service.RxConnection;
+import org.hibernate.rx.service.RxConnectionListener;
+import org.hibernate.rx.util.impl.RxUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A reactive connection to an {@link InMemoryDatabase}. Statements
+ * are executed immediately, and their results are delivered either
+ * immediately or, if a latency is specified, after the latency has
+ * elapsed, to simulate a round trip to a real database.
+ * <p>
+ * A transaction is emulated by recording how to undo each change
+ * made within it, so that it can be rolled back. There is no
+ * isolation between transactions.
+ *
+ * @see org.hibernate.rx.service.InMemoryConnectionPoolProvider
+ */
+public class InMemoryConnection implements RxConnection {
+
+	private final InMemoryDatabase database;
+	private final ScheduledExecutorService scheduler;
+	private final long latencyMicros;
+	private final RxConnectionListener listener;
+	private final boolean dedicated;
+
+	private List<Runnable> undo;
+
+	/**
+	 * @param scheduler used to deliver results, if the latency is nonzero
+	 * @param dedicated true if the connection was checked out for the
+	 *                  use of a single session, and supports transactions
+	 */
+	public InMemoryConnection(InMemoryDatabase database, ScheduledExecutorService scheduler, long latencyMicros,
+							  RxConnectionListener listener, boolean dedicated) {
+		this.database = database;
+		this.scheduler = scheduler;
+		this.latencyMicros = latencyMicros;
+		this.listener = listener;
+		this.dedicated = dedicated;
+	}
+
+	@Override
+	public CompletionStage<Void> beginTransaction() {
+		if ( !dedicated ) {
+			return RxUtil.failedFuture( new UnsupportedOperationException(
+					"transactions require a dedicated connection" ) );
+		}
+		if ( undo != null ) {
+			return RxUtil.failedFuture( new IllegalStateException( "transaction already in progress" ) );
+		}
+		undo = new ArrayList<>();
+		return delayed( null );
+	}
+
+	@Override
+	public CompletionStage<Void> commitTransaction() {
+		if ( undo == null ) {
+			return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
+		}
+		undo = null;
+		return delayed( null );
+	}
+
+	@Override
+	public CompletionStage<Void> rollbackTransaction() {
+		if ( undo == null ) {
+			return RxUtil.failedFuture( new IllegalStateException( "no transaction in progress" ) );
+		}
+		rollback();
+		return delayed( null );
+	}
+
+	private void rollback() {
+		List<Runnable> actions = undo;
+		undo = null;
+		synchronized ( database ) {
+			for ( int i = actions.size() - 1; i >= 0; i-- ) {
+				actions.get( i ).run();
+			}
+		}
+	}
+
+	@Override
+	public boolean isTransactionInProgress() {
+		return undo != null;
+	}
+
+	@Override
+	public CompletionStage<Integer> update(String sql) {
+		return preparedQuery( sql ).thenApply( SqlResult::rowCount );
+	}
+
+	@Override
+	public CompletionStage<Integer> update(String sql, Tuple parameters) {
+		return preparedQuery( sql, parameters ).thenApply( SqlResult::rowCount );
+	}
+
+	@Override
+	public CompletionStage<int[]> updateBatch(String sql, List<Tuple> parameters) {
+		final long start = System.nanoTime();
+		final int[] rowCounts = new int[ parameters.size() ];
+		try {
+			for ( int i = 0; i < rowCounts.length; i++ ) {
+				rowCounts[i] = database.execute( sql, parameters.get( i ), undo ).rowCount();
+			}
+		}
+		catch (RuntimeException e) {
+			listener.statementExecuted( sql, System.nanoTime() - start, e );
+			return RxUtil.failedFuture( e );
+		}
+		listener.statementExecuted( sql, System.nanoTime() - start, null );
+		return delayed( rowCounts );
+	}
+
+	@Override
+	public CompletionStage<Optional<Integer>> updateReturning(String sql, Tuple parameters) {
+		return preparedQuery( sql, parameters )
+				.thenApply( rows -> Optional.ofNullable( rows.property( MySQLClient.LAST_INSERTED_ID ) ) );
+	}
+
+	@Override
+	public CompletionStage<RowSet<Row>> preparedQuery(String sql, Tuple parameters) {
+		final long start = System.nanoTime();
+		final RowSet<Row> rows;
+		try {
+			rows = database.execute( sql, parameters, undo );
+		}
+		catch (RuntimeException e) {
+			listener.statementExecuted( sql, System.nanoTime() - start, e );
+			return RxUtil.failedFuture( e );
+		}
+		listener.statementExecuted( sql, System.nanoTime() - start, null );
+		return delayed( rows );
+	}
+
+	@Override
+	public CompletionStage<RowSet<Row>> preparedQuery(String sql) {
+		return preparedQuery( sql, Tuple.tuple() );
+	}
+
+	/**
+	 * The given result, delivered after the simulated latency.
+	 * <p>
+	 * The future is completed by the single scheduler thread shared
+	 * by every connection to the database, so dependent stages run
+	 * one at a time on that thread, and not on the thread of the
+	 * caller, nor on a Vert.x event loop, as they would with a real
+	 * database. This limits the throughput measured with a nonzero
+	 * latency to what one thread can handle.
+	 */
+	private <T> CompletionStage<T> delayed(T result) {
+		if ( latencyMicros <= 0 ) {
+			return RxUtil.completedFuture( result );
+		}
+		CompletableFuture<T> future = new CompletableFuture<>();
+		scheduler.schedule( () -> future.complete( result ), latencyMicros, TimeUnit.MICROSECONDS );
+		return future;
+	}
+
+	@Override
+	public void close() {
+		if ( dedicated ) {
+			// an uncommitted transaction is rolled back when the
+			// connection is returned to the pool
+			if ( undo != null ) {
+				rollback();
+			}
+			listener.connectionReleased();
+		}
+	}
+}
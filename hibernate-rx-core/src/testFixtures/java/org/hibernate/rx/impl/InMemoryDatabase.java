@@ -0,0 +1,1028 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.RowSet;
+import io.vertx.axle.sqlclient.Tuple;
+import org.hibernate.HibernateException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A database which holds its tables in memory, and understands just
+ * enough SQL to execute the statements Hibernate Rx generates for
+ * entities mapped to a single table:
+ * <ul>
+ * <li>{@code insert into ... values ...}, with one or more rows, and
+ * an optional {@code returning} clause, for which an identity value
+ * is generated if the column was not assigned,</li>
+ * <li>{@code update ... set ... where ...},</li>
+ * <li>{@code delete from ... where ...},</li>
+ * <li>{@code select ... from ... where ...}, from a single table, with
+ * optional {@code order by}, {@code limit}, {@code offset}, and
+ * {@code for update} clauses,</li>
+ * <li>{@code select nextval('...')}, and
+ * {@code create sequence ... start ... increment ...}.</li>
+ * </ul>
+ * A {@code where} clause is a conjunction of comparisons of columns
+ * with parameters or literals, {@code in} lists, {@code = any($n)},
+ * and {@code is [not] null}. Tables are created when a row is first
+ * inserted, and other DDL is accepted and ignored. Anything else,
+ * including joins, is rejected with a {@link HibernateException}.
+ * <p>
+ * Each SQL string is parsed once, and statements are executed one
+ * at a time, so that the results are deterministic. A lookup by
+ * equality with a column is served by a hash index on the column,
+ * which is built when first needed.
+ *
+ * @see org.hibernate.rx.service.InMemoryConnectionPoolProvider
+ */
+public final class InMemoryDatabase {
+
+	private final Map<String, Table> tables = new HashMap<>();
+	private final Map<String, Sequence> sequences = new HashMap<>();
+	private final Map<String, Statement> statements = new ConcurrentHashMap<>();
+
+	/**
+	 * Execute the given statement.
+	 *
+	 * @param undo if not null, collects the actions which reverse
+	 *             the changes made by the statement
+	 */
+	RowSet<Row> execute(String sql, Tuple parameters, List<Runnable> undo) {
+		final Statement statement = statements.computeIfAbsent( sql, InMemoryDatabase::parse );
+		synchronized ( this ) {
+			return statement.execute( this, parameters, undo );
+		}
+	}
+
+	/**
+	 * The number of rows in the given table.
+	 */
+	public synchronized int getRowCount(String tableName) {
+		Table table = tables.get( tableName.toLowerCase( Locale.ROOT ) );
+		return table == null ? 0 : table.records.size();
+	}
+
+	/**
+	 * Drop every table and sequence.
+	 */
+	public synchronized void clear() {
+		tables.clear();
+		sequences.clear();
+	}
+
+	private Table table(String name) {
+		return tables.computeIfAbsent( name, n -> new Table() );
+	}
+
+	private long nextval(String name) {
+		Sequence sequence = sequences.computeIfAbsent( name, n -> new Sequence( 1, 1 ) );
+		long value = sequence.next;
+		sequence.next += sequence.increment;
+		return value;
+	}
+
+	private static RowSet<Row> rowCount(int count) {
+		return new InMemoryRowSet( new String[0], Collections.emptyList(), count, null );
+	}
+
+	// ------------------------------------------------------------------
+	// storage
+
+	private static final class Record {
+		final Map<String, Object> values;
+
+		Record(Map<String, Object> values) {
+			this.values = values;
+		}
+	}
+
+	private static final class Sequence {
+		long next;
+		final long increment;
+
+		Sequence(long start, long increment) {
+			this.next = start;
+			this.increment = increment;
+		}
+	}
+
+	private static final class Table {
+		final Set<Record> records = new LinkedHashSet<>();
+		final Map<String, Map<Object, Set<Record>>> indexes = new HashMap<>();
+		long identity;
+
+		void add(Record record) {
+			records.add( record );
+			indexes.forEach( (column, index) -> index( index, column, record ) );
+		}
+
+		void remove(Record record) {
+			records.remove( record );
+			indexes.forEach( (column, index) -> unindex( index, column, record ) );
+		}
+
+		void set(Record record, Map<String, Object> values) {
+			indexes.forEach( (column, index) -> unindex( index, column, record ) );
+			record.values.putAll( values );
+			indexes.forEach( (column, index) -> index( index, column, record ) );
+		}
+
+		/**
+		 * The records with the given value of the given column.
+		 */
+		Set<Record> lookup(String column, Object value) {
+			Map<Object, Set<Record>> index = indexes.get( column );
+			if ( index == null ) {
+				index = new HashMap<>();
+				for ( Record record : records ) {
+					index( index, column, record );
+				}
+				indexes.put( column, index );
+			}
+			Set<Record> result = index.get( key( value ) );
+			return result == null ? Collections.emptySet() : result;
+		}
+
+		private static void index(Map<Object, Set<Record>> index, String column, Record record) {
+			Object value = record.values.get( column );
+			if ( value != null ) {
+				index.computeIfAbsent( key( value ), k -> new LinkedHashSet<>() ).add( record );
+			}
+		}
+
+		private static void unindex(Map<Object, Set<Record>> index, String column, Record record) {
+			Object value = record.values.get( column );
+			if ( value != null ) {
+				Set<Record> set = index.get( key( value ) );
+				if ( set != null ) {
+					set.remove( record );
+				}
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// values
+
+	/**
+	 * Normalize numbers, so that, for example, an {@code Integer} and
+	 * a {@code Long} with the same value are considered equal.
+	 */
+	private static Object key(Object value) {
+		if ( value instanceof Byte || value instanceof Short || value instanceof Integer || value instanceof Long ) {
+			return ( (Number) value ).longValue();
+		}
+		if ( value instanceof Float ) {
+			return ( (Float) value ).doubleValue();
+		}
+		if ( value instanceof BigDecimal ) {
+			return ( (BigDecimal) value ).stripTrailingZeros();
+		}
+		return value;
+	}
+
+	private static boolean equal(Object x, Object y) {
+		return x != null && y != null && key( x ).equals( key( y ) );
+	}
+
+	@SuppressWarnings("unchecked")
+	private static int compare(Object x, Object y) {
+		if ( x instanceof Number && y instanceof Number ) {
+			Object kx = key( x );
+			Object ky = key( y );
+			if ( kx instanceof Long && ky instanceof Long ) {
+				return Long.compare( (Long) kx, (Long) ky );
+			}
+			return new BigDecimal( x.toString() ).compareTo( new BigDecimal( y.toString() ) );
+		}
+		return ( (Comparable<Object>) x ).compareTo( y );
+	}
+
+	/**
+	 * Convert the given number to the given numeric type.
+	 */
+	static Object convert(Number number, Class<?> type) {
+		if ( type.isInstance( number ) ) {
+			return number;
+		}
+		if ( type == Integer.class ) {
+			return number.intValue();
+		}
+		if ( type == Long.class ) {
+			return number.longValue();
+		}
+		if ( type == Short.class ) {
+			return number.shortValue();
+		}
+		if ( type == Byte.class ) {
+			return number.byteValue();
+		}
+		if ( type == Double.class ) {
+			return number.doubleValue();
+		}
+		if ( type == Float.class ) {
+			return number.floatValue();
+		}
+		if ( type == BigDecimal.class ) {
+			return new BigDecimal( number.toString() );
+		}
+		return number;
+	}
+
+	// ------------------------------------------------------------------
+	// statements
+
+	private interface Statement {
+		RowSet<Row> execute(InMemoryDatabase database, Tuple parameters, List<Runnable> undo);
+	}
+
+	/**
+	 * A parameter or a literal.
+	 */
+	private interface Operand {
+		Object value(Tuple parameters);
+	}
+
+	private static final class Parameter implements Operand {
+		final int index;
+
+		Parameter(int index) {
+			this.index = index;
+		}
+
+		@Override
+		public Object value(Tuple parameters) {
+			return parameters.getValue( index );
+		}
+	}
+
+	private static final class Literal implements Operand {
+		final Object value;
+
+		Literal(Object value) {
+			this.value = value;
+		}
+
+		@Override
+		public Object value(Tuple parameters) {
+			return value;
+		}
+	}
+
+	/**
+	 * A term of the conjunction in a {@code where} clause.
+	 */
+	private static final class Predicate {
+		final String column;
+		final String operator;
+		final Operand[] operands;
+
+		Predicate(String column, String operator, Operand... operands) {
+			this.column = column;
+			this.operator = operator;
+			this.operands = operands;
+		}
+
+		boolean test(Record record, Tuple parameters) {
+			final Object value = record.values.get( column );
+			switch ( operator ) {
+				case "is null":
+					return value == null;
+				case "is not null":
+					return value != null;
+				case "in":
+					for ( Operand operand : operands ) {
+						if ( equal( value, operand.value( parameters ) ) ) {
+							return true;
+						}
+					}
+					return false;
+				case "any":
+					for ( Object element : (Object[]) operands[0].value( parameters ) ) {
+						if ( equal( value, element ) ) {
+							return true;
+						}
+					}
+					return false;
+			}
+			final Object operand = operands[0].value( parameters );
+			if ( value == null || operand == null ) {
+				return false;
+			}
+			switch ( operator ) {
+				case "=":
+					return equal( value, operand );
+				case "<>":
+				case "!=":
+					return !equal( value, operand );
+				case "<":
+					return compare( value, operand ) < 0;
+				case ">":
+					return compare( value, operand ) > 0;
+				case "<=":
+					return compare( value, operand ) <= 0;
+				case ">=":
+					return compare( value, operand ) >= 0;
+				default:
+					throw new AssertionError( operator );
+			}
+		}
+	}
+
+	/**
+	 * The records of the table which satisfy all the predicates, using
+	 * an index for the first equality predicate, if there is one.
+	 */
+	private static List<Record> select(Table table, Predicate[] where, Tuple parameters) {
+		Iterable<Record> candidates = table.records;
+		for ( Predicate predicate : where ) {
+			if ( predicate.operator.equals( "=" ) ) {
+				candidates = table.lookup( predicate.column, predicate.operands[0].value( parameters ) );
+				break;
+			}
+		}
+		List<Record> result = new ArrayList<>();
+		outer:
+		for ( Record record : candidates ) {
+			for ( Predicate predicate : where ) {
+				if ( !predicate.test( record, parameters ) ) {
+					continue outer;
+				}
+			}
+			result.add( record );
+		}
+		return result;
+	}
+
+	private static final class Insert implements Statement {
+		final String table;
+		final String[] columns;
+		final List<Operand[]> rows;
+		final String returning;
+
+		Insert(String table, String[] columns, List<Operand[]> rows, String returning) {
+			this.table = table;
+			this.columns = columns;
+			this.rows = rows;
+			this.returning = returning;
+		}
+
+		@Override
+		public RowSet<Row> execute(InMemoryDatabase database, Tuple parameters, List<Runnable> undo) {
+			final Table table = database.table( this.table );
+			final List<Object[]> returned = new ArrayList<>();
+			for ( Operand[] row : rows ) {
+				Map<String, Object> values = new HashMap<>();
+				for ( int i = 0; i < columns.length; i++ ) {
+					if ( row[i] != null ) {
+						values.put( columns[i], row[i].value( parameters ) );
+					}
+				}
+				if ( returning != null ) {
+					Object id = values.get( returning );
+					if ( id == null ) {
+						id = ++table.identity;
+						values.put( returning, id );
+					}
+					returned.add( new Object[] { id } );
+				}
+				Record record = new Record( values );
+				table.add( record );
+				if ( undo != null ) {
+					undo.add( () -> table.remove( record ) );
+				}
+			}
+			return returning == null
+					? rowCount( rows.size() )
+					: new InMemoryRowSet( new String[] { returning }, returned, rows.size(), null );
+		}
+	}
+
+	private static final class Update implements Statement {
+		final String table;
+		final String[] columns;
+		final Operand[] values;
+		final Predicate[] where;
+
+		Update(String table, String[] columns, Operand[] values, Predicate[] where) {
+			this.table = table;
+			this.columns = columns;
+			this.values = values;
+			this.where = where;
+		}
+
+		@Override
+		public RowSet<Row> execute(InMemoryDatabase database, Tuple parameters, List<Runnable> undo) {
+			final Table table = database.table( this.table );
+			final List<Record> records = select( table, where, parameters );
+			final Map<String, Object> assignments = new HashMap<>();
+			for ( int i = 0; i < columns.length; i++ ) {
+				assignments.put( columns[i], values[i].value( parameters ) );
+			}
+			for ( Record record : records ) {
+				if ( undo != null ) {
+					Map<String, Object> old = new HashMap<>();
+					for ( String column : columns ) {
+						old.put( column, record.values.get( column ) );
+					}
+					undo.add( () -> table.set( record, old ) );
+				}
+				table.set( record, assignments );
+			}
+			return rowCount( records.size() );
+		}
+	}
+
+	private static final class Delete implements Statement {
+		final String table;
+		final Predicate[] where;
+
+		Delete(String table, Predicate[] where) {
+			this.table = table;
+			this.where = where;
+		}
+
+		@Override
+		public RowSet<Row> execute(InMemoryDatabase database, Tuple parameters, List<Runnable> undo) {
+			final Table table = database.table( this.table );
+			final List<Record> records = select( table, where, parameters );
+			for ( Record record : records ) {
+				table.remove( record );
+				if ( undo != null ) {
+					undo.add( () -> table.add( record ) );
+				}
+			}
+			return rowCount( records.size() );
+		}
+	}
+
+	private static final class Select implements Statement {
+		final String table;
+		final String[] labels;
+		//for each item, the column, sequence, or literal
+		final String[] columns;
+		final String[] sequences;
+		final Operand[] literals;
+		final Predicate[] where;
+		final String[] orderBy;
+		final boolean[] descending;
+		final Operand limit;
+		final Operand offset;
+
+		Select(String table, String[] labels, String[] columns, String[] sequences, Operand[] literals,
+			   Predicate[] where, String[] orderBy, boolean[] descending, Operand limit, Operand offset) {
+			this.table = table;
+			this.labels = labels;
+			this.columns = columns;
+			this.sequences = sequences;
+			this.literals = literals;
+			this.where = where;
+			this.orderBy = orderBy;
+			this.descending = descending;
+			this.limit = limit;
+			this.offset = offset;
+		}
+
+		@Override
+		public RowSet<Row> execute(InMemoryDatabase database, Tuple parameters, List<Runnable> undo) {
+			final List<Record> records;
+			if ( table == null ) {
+				records = Collections.singletonList( new Record( Collections.emptyMap() ) );
+			}
+			else {
+				Table table = database.tables.get( this.table );
+				records = table == null ? new ArrayList<>() : select( table, where, parameters );
+			}
+			if ( orderBy.length > 0 ) {
+				records.sort( comparator() );
+			}
+			int first = offset == null ? 0 : ( (Number) offset.value( parameters ) ).intValue();
+			int last = limit == null
+					? records.size()
+					: (int) Math.min( records.size(), (long) first + ( (Number) limit.value( parameters ) ).intValue() );
+			final List<Object[]> rows = new ArrayList<>();
+			for ( int r = first; r < last; r++ ) {
+				Record record = records.get( r );
+				Object[] row = new Object[labels.length];
+				for ( int i = 0; i < row.length; i++ ) {
+					if ( columns[i] != null ) {
+						row[i] = record.values.get( columns[i] );
+					}
+					else if ( sequences[i] != null ) {
+						row[i] = database.nextval( sequences[i] );
+					}
+					else {
+						row[i] = literals[i].value( parameters );
+					}
+				}
+				rows.add( row );
+			}
+			return new InMemoryRowSet( labels, rows, rows.size(), null );
+		}
+
+		private Comparator<Record> comparator() {
+			return (x, y) -> {
+				for ( int i = 0; i < orderBy.length; i++ ) {
+					Object vx = x.values.get( orderBy[i] );
+					Object vy = y.values.get( orderBy[i] );
+					//nulls sort last, as in PostgreSQL
+					int result = vx == null
+							? ( vy == null ? 0 : 1 )
+							: ( vy == null ? -1 : compare( vx, vy ) );
+					if ( result != 0 ) {
+						return descending[i] ? -result : result;
+					}
+				}
+				return 0;
+			};
+		}
+	}
+
+	// ------------------------------------------------------------------
+	// parsing
+
+	private static Statement parse(String sql) {
+		try {
+			return new Parser( sql ).statement();
+		}
+		catch (RuntimeException e) {
+			throw new HibernateException( "Statement not supported by the in-memory database: " + sql, e );
+		}
+	}
+
+	private static final class Parser {
+		private final List<String> tokens;
+		private int position;
+		private int positionalParameters;
+
+		Parser(String sql) {
+			tokens = tokenize( sql );
+		}
+
+		private static List<String> tokenize(String sql) {
+			final List<String> tokens = new ArrayList<>();
+			int i = 0;
+			while ( i < sql.length() ) {
+				final char c = sql.charAt( i );
+				final int start = i;
+				if ( Character.isWhitespace( c ) ) {
+					i++;
+					continue;
+				}
+				if ( c == '\'' ) {
+					i++;
+					while ( i < sql.length() ) {
+						if ( sql.charAt( i ) == '\'' ) {
+							if ( i + 1 < sql.length() && sql.charAt( i + 1 ) == '\'' ) {
+								i += 2;
+								continue;
+							}
+							break;
+						}
+						i++;
+					}
+					tokens.add( sql.substring( start, ++i ) );
+				}
+				else if ( c == '"' || c == '`' ) {
+					i = sql.indexOf( c, i + 1 );
+					tokens.add( sql.substring( start + 1, i++ ) );
+				}
+				else if ( c == '$' || Character.isLetter( c ) || c == '_' ) {
+					i++;
+					while ( i < sql.length() && isIdentifierPart( sql.charAt( i ) ) ) {
+						i++;
+					}
+					tokens.add( sql.substring( start, i ) );
+				}
+				else if ( Character.isDigit( c ) ) {
+					while ( i < sql.length() && ( Character.isDigit( sql.charAt( i ) ) || sql.charAt( i ) == '.' ) ) {
+						i++;
+					}
+					tokens.add( sql.substring( start, i ) );
+				}
+				else if ( i + 1 < sql.length() && isTwoCharacterOperator( c, sql.charAt( i + 1 ) ) ) {
+					i += 2;
+					tokens.add( sql.substring( start, i ) );
+				}
+				else {
+					i++;
+					tokens.add( String.valueOf( c ) );
+				}
+			}
+			return tokens;
+		}
+
+		private static boolean isIdentifierPart(char c) {
+			return Character.isLetterOrDigit( c ) || c == '_' || c == '.' || c == '$';
+		}
+
+		private static boolean isTwoCharacterOperator(char c, char d) {
+			return ( c == '<' || c == '>' || c == '!' ) && d == '=' || c == '<' && d == '>';
+		}
+
+		private boolean atEnd() {
+			return position >= tokens.size() || tokens.get( position ).equals( ";" );
+		}
+
+		private String peek() {
+			return atEnd() ? "" : tokens.get( position );
+		}
+
+		private String next() {
+			if ( atEnd() ) {
+				throw new IllegalArgumentException( "unexpected end of statement" );
+			}
+			return tokens.get( position++ );
+		}
+
+		private boolean accept(String token) {
+			if ( peek().equalsIgnoreCase( token ) ) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(String token) {
+			if ( !accept( token ) ) {
+				throw new IllegalArgumentException( "expected '" + token + "' but found '" + peek() + "'" );
+			}
+		}
+
+		private void expectEnd() {
+			if ( !atEnd() ) {
+				throw new IllegalArgumentException( "unexpected '" + peek() + "'" );
+			}
+		}
+
+		private static String name(String identifier) {
+			return identifier.toLowerCase( Locale.ROOT );
+		}
+
+		/**
+		 * A column name, without its qualifier.
+		 */
+		private String column() {
+			String identifier = next();
+			return name( identifier.substring( identifier.lastIndexOf( '.' ) + 1 ) );
+		}
+
+		private Operand operand() {
+			final String token = next();
+			if ( token.equals( "?" ) ) {
+				return new Parameter( positionalParameters++ );
+			}
+			if ( token.startsWith( "$" ) ) {
+				return new Parameter( Integer.parseInt( token.substring( 1 ) ) - 1 );
+			}
+			return new Literal( literal( token ) );
+		}
+
+		private Object literal(String token) {
+			if ( token.startsWith( "'" ) ) {
+				return token.substring( 1, token.length() - 1 ).replace( "''", "'" );
+			}
+			if ( token.equals( "-" ) ) {
+				return negate( literal( next() ) );
+			}
+			if ( Character.isDigit( token.charAt( 0 ) ) ) {
+				return token.indexOf( '.' ) < 0 ? (Object) Long.valueOf( token ) : new BigDecimal( token );
+			}
+			switch ( token.toLowerCase( Locale.ROOT ) ) {
+				case "null":
+					return null;
+				case "true":
+					return Boolean.TRUE;
+				case "false":
+					return Boolean.FALSE;
+				default:
+					throw new IllegalArgumentException( "unsupported expression '" + token + "'" );
+			}
+		}
+
+		private static Object negate(Object number) {
+			return number instanceof Long ? (Object) ( -(Long) number ) : ( (BigDecimal) number ).negate();
+		}
+
+		Statement statement() {
+			final String keyword = next().toLowerCase( Locale.ROOT );
+			switch ( keyword ) {
+				case "insert":
+					return insert();
+				case "update":
+					return update();
+				case "delete":
+					return delete();
+				case "select":
+					return select();
+				case "create":
+					if ( accept( "sequence" ) ) {
+						return createSequence();
+					}
+					return (database, parameters, undo) -> rowCount( 0 );
+				case "drop":
+					if ( accept( "table" ) ) {
+						accept( "if" );
+						accept( "exists" );
+						final String table = name( next() );
+						return (database, parameters, undo) -> {
+							database.tables.remove( table );
+							return rowCount( 0 );
+						};
+					}
+					if ( accept( "sequence" ) ) {
+						accept( "if" );
+						accept( "exists" );
+						final String sequence = name( next() );
+						return (database, parameters, undo) -> {
+							database.sequences.remove( sequence );
+							return rowCount( 0 );
+						};
+					}
+					return (database, parameters, undo) -> rowCount( 0 );
+				case "alter":
+					return (database, parameters, undo) -> rowCount( 0 );
+				default:
+					throw new IllegalArgumentException( "unsupported statement '" + keyword + "'" );
+			}
+		}
+
+		private Statement insert() {
+			expect( "into" );
+			final String table = name( next() );
+			final List<String> columns = new ArrayList<>();
+			final List<Operand[]> rows = new ArrayList<>();
+			if ( accept( "default" ) ) {
+				expect( "values" );
+				rows.add( new Operand[0] );
+			}
+			else {
+				if ( accept( "(" ) ) {
+					do {
+						columns.add( column() );
+					}
+					while ( accept( "," ) );
+					expect( ")" );
+				}
+				expect( "values" );
+				do {
+					expect( "(" );
+					Operand[] row = new Operand[columns.size()];
+					for ( int i = 0; i < row.length; i++ ) {
+						if ( i > 0 ) {
+							expect( "," );
+						}
+						//a null operand means the column takes its default
+						row[i] = accept( "default" ) ? null : operand();
+					}
+					expect( ")" );
+					rows.add( row );
+				}
+				while ( accept( "," ) );
+			}
+			final String returning = accept( "returning" ) ? column() : null;
+			expectEnd();
+			return new Insert( table, columns.toArray( new String[0] ), rows, returning );
+		}
+
+		private Statement update() {
+			final String table = name( next() );
+			expect( "set" );
+			final List<String> columns = new ArrayList<>();
+			final List<Operand> values = new ArrayList<>();
+			do {
+				columns.add( column() );
+				expect( "=" );
+				values.add( operand() );
+			}
+			while ( accept( "," ) );
+			final Predicate[] where = where();
+			expectEnd();
+			return new Update( table, columns.toArray( new String[0] ), values.toArray( new Operand[0] ), where );
+		}
+
+		private Statement delete() {
+			expect( "from" );
+			final String table = name( next() );
+			final Predicate[] where = where();
+			expectEnd();
+			return new Delete( table, where );
+		}
+
+		private Statement select() {
+			final List<String> labels = new ArrayList<>();
+			final List<String> columns = new ArrayList<>();
+			final List<String> sequences = new ArrayList<>();
+			final List<Operand> literals = new ArrayList<>();
+			do {
+				String column = null;
+				String sequence = null;
+				Operand literal = null;
+				String label;
+				if ( accept( "nextval" ) ) {
+					expect( "(" );
+					sequence = name( (String) literal( next() ) );
+					expect( ")" );
+					label = "nextval";
+				}
+				else if ( Character.isLetter( peek().charAt( 0 ) ) && !isLiteralKeyword( peek() ) ) {
+					column = column();
+					label = column;
+				}
+				else {
+					literal = operand();
+					label = "?column?";
+				}
+				if ( accept( "as" ) || isAlias( peek() ) ) {
+					label = name( next() );
+				}
+				labels.add( label );
+				columns.add( column );
+				sequences.add( sequence );
+				literals.add( literal );
+			}
+			while ( accept( "," ) );
+
+			String table = null;
+			Predicate[] where = new Predicate[0];
+			if ( accept( "from" ) ) {
+				table = name( next() );
+				if ( isAlias( peek() ) ) {
+					next();
+				}
+				if ( peek().equals( "," ) || isAlias( peek() ) ) {
+					throw new IllegalArgumentException( "joins are not supported" );
+				}
+				where = where();
+			}
+
+			final List<String> orderBy = new ArrayList<>();
+			final List<Boolean> descending = new ArrayList<>();
+			if ( accept( "order" ) ) {
+				expect( "by" );
+				do {
+					orderBy.add( column() );
+					boolean desc = accept( "desc" );
+					if ( !desc ) {
+						accept( "asc" );
+					}
+					descending.add( desc );
+				}
+				while ( accept( "," ) );
+			}
+
+			Operand limit = null;
+			Operand offset = null;
+			while ( !atEnd() ) {
+				if ( accept( "limit" ) ) {
+					limit = operand();
+				}
+				else if ( accept( "offset" ) ) {
+					offset = operand();
+				}
+				else if ( accept( "for" ) ) {
+					// locks mean nothing here, since statements
+					// are executed one at a time
+					while ( !atEnd() ) {
+						next();
+					}
+				}
+				else {
+					throw new IllegalArgumentException( "unexpected '" + peek() + "'" );
+				}
+			}
+
+			boolean[] desc = new boolean[descending.size()];
+			for ( int i = 0; i < desc.length; i++ ) {
+				desc[i] = descending.get( i );
+			}
+			return new Select(
+					table,
+					labels.toArray( new String[0] ),
+					columns.toArray( new String[0] ),
+					sequences.toArray( new String[0] ),
+					literals.toArray( new Operand[0] ),
+					where,
+					orderBy.toArray( new String[0] ),
+					desc,
+					limit,
+					offset
+			);
+		}
+
+		private static boolean isLiteralKeyword(String token) {
+			return token.equalsIgnoreCase( "null" ) || token.equalsIgnoreCase( "true" ) || token.equalsIgnoreCase( "false" );
+		}
+
+		/**
+		 * Is the token an alias, and not a keyword of the clauses which
+		 * may follow?
+		 */
+		private static boolean isAlias(String token) {
+			if ( token.isEmpty() || !( Character.isLetter( token.charAt( 0 ) ) || token.charAt( 0 ) == '_' ) ) {
+				return false;
+			}
+			switch ( token.toLowerCase( Locale.ROOT ) ) {
+				case "from":
+				case "where":
+				case "order":
+				case "limit":
+				case "offset":
+				case "for":
+				case "as":
+					return false;
+				default:
+					return true;
+			}
+		}
+
+		private Predicate[] where() {
+			final List<Predicate> predicates = new ArrayList<>();
+			if ( accept( "where" ) ) {
+				do {
+					predicates.add( predicate() );
+				}
+				while ( accept( "and" ) );
+			}
+			return predicates.toArray( new Predicate[0] );
+		}
+
+		private Predicate predicate() {
+			if ( peek().equals( "(" ) ) {
+				throw new IllegalArgumentException( "nested conditions are not supported" );
+			}
+			final String column = column();
+			if ( accept( "is" ) ) {
+				boolean not = accept( "not" );
+				expect( "null" );
+				return new Predicate( column, not ? "is not null" : "is null" );
+			}
+			if ( accept( "in" ) ) {
+				expect( "(" );
+				final List<Operand> operands = new ArrayList<>();
+				do {
+					operands.add( operand() );
+				}
+				while ( accept( "," ) );
+				expect( ")" );
+				return new Predicate( column, "in", operands.toArray( new Operand[0] ) );
+			}
+			final String operator = next();
+			switch ( operator ) {
+				case "=":
+					if ( accept( "any" ) ) {
+						expect( "(" );
+						Operand array = operand();
+						expect( ")" );
+						return new Predicate( column, "any", array );
+					}
+					//otherwise, an ordinary comparison
+				case "<>":
+				case "!=":
+				case "<":
+				case ">":
+				case "<=":
+				case ">=":
+					return new Predicate( column, operator, operand() );
+				default:
+					throw new IllegalArgumentException( "unsupported operator '" + operator + "'" );
+			}
+		}
+
+		private Statement createSequence() {
+			final String name = name( next() );
+			long start = 1;
+			long increment = 1;
+			while ( !atEnd() ) {
+				if ( accept( "start" ) ) {
+					accept( "with" );
+					start = ( (Number) literal( next() ) ).longValue();
+				}
+				else if ( accept( "increment" ) ) {
+					accept( "by" );
+					increment = ( (Number) literal( next() ) ).longValue();
+				}
+				else {
+					next();
+				}
+			}
+			final long first = start;
+			final long step = increment;
+			return (database, parameters, undo) -> {
+				database.sequences.put( name, new Sequence( first, step ) );
+				return rowCount( 0 );
+			};
+		}
+	}
+}
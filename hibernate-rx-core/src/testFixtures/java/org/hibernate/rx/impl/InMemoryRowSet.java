@@ -0,0 +1,281 @@
+package org.hibernate.rx.impl;
+
+import io.vertx.axle.core.buffer.Buffer;
+import io.vertx.axle.mysqlclient.MySQLClient;
+import io.vertx.axle.sqlclient.Row;
+import io.vertx.axle.sqlclient.RowIterator;
+import io.vertx.axle.sqlclient.RowSet;
+import io.vertx.sqlclient.PropertyKind;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * The result of a statement executed by the {@link InMemoryDatabase},
+ * presented as a Vert.x {@link RowSet}, so that it can be consumed by
+ * the same code which consumes the results of a real database.
+ * <p>
+ * There is no underlying Vert.x object, so every operation used by
+ * Hibernate Rx is implemented here.
+ */
+final class InMemoryRowSet extends RowSet<Row> {
+
+	private final String[] columns;
+	private final List<Object[]> rows;
+	private final int rowCount;
+	private final Integer lastInsertedId;
+
+	@SuppressWarnings("unchecked")
+	InMemoryRowSet(String[] columns, List<Object[]> rows, int rowCount, Integer lastInsertedId) {
+		super( (io.vertx.sqlclient.RowSet) null );
+		this.columns = columns;
+		this.rows = rows;
+		this.rowCount = rowCount;
+		this.lastInsertedId = lastInsertedId;
+	}
+
+	@Override
+	public RowIterator<Row> iterator() {
+		return new InMemoryRowIterator();
+	}
+
+	@Override
+	public int rowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int size() {
+		return rows.size();
+	}
+
+	@Override
+	public List<String> columnsNames() {
+		return Arrays.asList( columns );
+	}
+
+	@Override
+	public RowSet<Row> next() {
+		return null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <V> V property(PropertyKind<V> property) {
+		return property == MySQLClient.LAST_INSERTED_ID ? (V) lastInsertedId : null;
+	}
+
+	private final class InMemoryRowIterator extends RowIterator<Row> {
+		private int next;
+
+		@SuppressWarnings("unchecked")
+		InMemoryRowIterator() {
+			super( (io.vertx.sqlclient.RowIterator) null );
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < rows.size();
+		}
+
+		@Override
+		public Row next() {
+			if ( next >= rows.size() ) {
+				throw new NoSuchElementException();
+			}
+			return new InMemoryRow( columns, rows.get( next++ ) );
+		}
+	}
+
+	/**
+	 * A row of the result, with values of the Java types which were
+	 * bound to the parameters of the statement that stored them.
+	 */
+	private static final class InMemoryRow extends Row {
+		private final String[] columns;
+		private final Object[] values;
+
+		InMemoryRow(String[] columns, Object[] values) {
+			super( (io.vertx.sqlclient.Row) null );
+			this.columns = columns;
+			this.values = values;
+		}
+
+		@Override
+		public int size() {
+			return values.length;
+		}
+
+		@Override
+		public int getColumnIndex(String name) {
+			for ( int i = 0; i < columns.length; i++ ) {
+				if ( columns[i].equalsIgnoreCase( name ) ) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private int index(String name) {
+			int index = getColumnIndex( name );
+			if ( index < 0 ) {
+				throw new NoSuchElementException( "column not in result: " + name );
+			}
+			return index;
+		}
+
+		@Override
+		public Object getValue(int pos) {
+			return values[pos];
+		}
+
+		@Override
+		public Object getValue(String name) {
+			return values[index( name )];
+		}
+
+		@Override
+		public <T> T get(Class<T> type, int pos) {
+			Object value = values[pos];
+			if ( value instanceof Number && Number.class.isAssignableFrom( type ) ) {
+				value = InMemoryDatabase.convert( (Number) value, type );
+			}
+			return type.cast( value );
+		}
+
+		@Override
+		public String getString(int pos) {
+			Object value = values[pos];
+			return value == null ? null : value.toString();
+		}
+
+		@Override
+		public String getString(String name) {
+			return getString( index( name ) );
+		}
+
+		@Override
+		public Boolean getBoolean(int pos) {
+			return (Boolean) values[pos];
+		}
+
+		@Override
+		public Boolean getBoolean(String name) {
+			return getBoolean( index( name ) );
+		}
+
+		@Override
+		public Short getShort(int pos) {
+			Number value = (Number) values[pos];
+			return value == null ? null : value.shortValue();
+		}
+
+		@Override
+		public Short getShort(String name) {
+			return getShort( index( name ) );
+		}
+
+		@Override
+		public Integer getInteger(int pos) {
+			Number value = (Number) values[pos];
+			return value == null ? null : value.intValue();
+		}
+
+		@Override
+		public Integer getInteger(String name) {
+			return getInteger( index( name ) );
+		}
+
+		@Override
+		public Long getLong(int pos) {
+			Number value = (Number) values[pos];
+			return value == null ? null : value.longValue();
+		}
+
+		@Override
+		public Long getLong(String name) {
+			return getLong( index( name ) );
+		}
+
+		@Override
+		public Float getFloat(int pos) {
+			Number value = (Number) values[pos];
+			return value == null ? null : value.floatValue();
+		}
+
+		@Override
+		public Float getFloat(String name) {
+			return getFloat( index( name ) );
+		}
+
+		@Override
+		public Double getDouble(int pos) {
+			Number value = (Number) values[pos];
+			return value == null ? null : value.doubleValue();
+		}
+
+		@Override
+		public Double getDouble(String name) {
+			return getDouble( index( name ) );
+		}
+
+		@Override
+		public BigDecimal getBigDecimal(int pos) {
+			Object value = values[pos];
+			return value == null || value instanceof BigDecimal
+					? (BigDecimal) value
+					: new BigDecimal( value.toString() );
+		}
+
+		@Override
+		public BigDecimal getBigDecimal(String name) {
+			return getBigDecimal( index( name ) );
+		}
+
+		@Override
+		public Buffer getBuffer(int pos) {
+			Object value = values[pos];
+			return value == null ? null : Buffer.newInstance( (io.vertx.core.buffer.Buffer) value );
+		}
+
+		@Override
+		public Buffer getBuffer(String name) {
+			return getBuffer( index( name ) );
+		}
+
+		@Override
+		public LocalDate getLocalDate(int pos) {
+			return (LocalDate) values[pos];
+		}
+
+		@Override
+		public LocalDate getLocalDate(String name) {
+			return getLocalDate( index( name ) );
+		}
+
+		@Override
+		public LocalTime getLocalTime(int pos) {
+			return (LocalTime) values[pos];
+		}
+
+		@Override
+		public LocalTime getLocalTime(String name) {
+			return getLocalTime( index( name ) );
+		}
+
+		@Override
+		public LocalDateTime getLocalDateTime(int pos) {
+			return (LocalDateTime) values[pos];
+		}
+
+		@Override
+		public LocalDateTime getLocalDateTime(String name) {
+			return getLocalDateTime( index( name ) );
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package org.hibernate.rx.service;
+
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.rx.cfg.RxSettings;
+import org.hibernate.rx.impl.InMemoryConnection;
+import org.hibernate.rx.impl.InMemoryDatabase;
+import org.hibernate.rx.service.initiator.RxConnectionPoolProvider;
+import org.hibernate.rx.util.impl.RxUtil;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * A {@link RxConnectionPoolProvider} backed by an {@link InMemoryDatabase}
+ * instead of a real database, for measuring the CPU time and allocation
+ * of Hibernate Rx itself, in benchmarks and tests, without a database
+ * server, and without the noise of network and database latency.
+ * <p>
+ * To use it, set {@link RxSettings#CONNECTION_POOL_PROVIDER} to the name
+ * of this class, {@link org.hibernate.cfg.AvailableSettings#DIALECT} to
+ * a PostgreSQL dialect, and
+ * {@link org.hibernate.cfg.AvailableSettings#HBM2DDL_AUTO} to
+ * {@code none}. A round trip to a real database may be simulated by
+ * setting {@link #LATENCY}.
+ * <p>
+ * Connection checkouts and statement executions are reported to the
+ * {@link #getStatistics() statistics} and {@link RxConnectionListener
+ * listeners}, just as they are by {@link RxConnectionPoolProviderImpl}.
+ * <p>
+ * This class belongs to the test fixtures of Hibernate Rx, and is not
+ * part of the library itself.
+ */
+public class InMemoryConnectionPoolProvider implements RxConnectionPoolProvider, Configurable, Stoppable {
+
+	/**
+	 * The simulated round trip time, in microseconds, of each statement.
+	 * The default is 0, in which case each result is delivered as soon
+	 * as the statement is executed. Otherwise, the results of every
+	 * connection are delivered by a single scheduler thread.
+	 */
+	public static final String LATENCY = "hibernate.rx.in_memory.latency";
+
+	private final InMemoryDatabase database = new InMemoryDatabase();
+	private final RxPoolStatistics statistics = new RxPoolStatistics();
+	private final RxConnectionListeners listeners = new RxConnectionListeners( statistics );
+
+	private long latencyMicros;
+	private ScheduledExecutorService scheduler;
+
+	@Override
+	public void configure(Map configurationValues) {
+		if ( scheduler != null ) {
+			// already configured
+			return;
+		}
+		latencyMicros = ConfigurationHelper.getInt( LATENCY, configurationValues, 0 );
+		scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			Thread thread = new Thread( runnable, "hibernate-rx-in-memory" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		listeners.addAll( configurationValues.get( RxSettings.CONNECTION_LISTENERS ) );
+	}
+
+	/**
+	 * The database, so that its contents may be inspected or cleared.
+	 */
+	public InMemoryDatabase getDatabase() {
+		return database;
+	}
+
+	@Override
+	public RxConnection getConnection() {
+		return new InMemoryConnection( database, scheduler, latencyMicros, listeners, false );
+	}
+
+	@Override
+	public CompletionStage<RxConnection> openConnection() {
+		listeners.connectionRequested();
+		listeners.connectionAcquired( 0 );
+		return RxUtil.completedFuture( new InMemoryConnection( database, scheduler, latencyMicros, listeners, true ) );
+	}
+
+	@Override
+	public void addListener(RxConnectionListener listener) {
+		listeners.add( listener );
+	}
+
+	@Override
+	public RxPoolStatistics getStatistics() {
+		return statistics;
+	}
+
+	@Override
+	public void close() {
+		if ( scheduler != null ) {
+			scheduler.shutdownNow();
+		}
+	}
+
+	@Override
+	public void stop() {
+		close();
+	}
+}